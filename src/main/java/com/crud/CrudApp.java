@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.liquibase.LiquibaseProperties;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.DefaultProfileUtil;
@@ -25,6 +26,11 @@ public class CrudApp {
 
     private static final Logger LOG = LoggerFactory.getLogger(CrudApp.class);
 
+    /**
+     * Number of startup steps kept for the {@code startup} actuator endpoint, enough for the whole context refresh.
+     */
+    private static final int STARTUP_STEPS_CAPACITY = 8192;
+
     private final Environment env;
 
     public CrudApp(Environment env) {
@@ -67,6 +73,7 @@ public class CrudApp {
     public static void main(String[] args) {
         SpringApplication app = new SpringApplication(CrudApp.class);
         DefaultProfileUtil.addDefaultProfile(app);
+        app.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS_CAPACITY));
         Environment env = app.run(args).getEnvironment();
         logApplicationStartup(env);
     }
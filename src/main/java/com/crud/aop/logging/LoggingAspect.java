@@ -1,12 +1,22 @@
 package com.crud.aop.logging;
 
+import com.crud.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
 import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.env.Environment;
@@ -17,14 +27,41 @@ import tech.jhipster.config.JHipsterConstants;
  * Aspect for logging execution of service and repository Spring components.
  *
  * By default, it only runs with the "dev" profile.
+ * <p>
+ * With {@code application.profiling.enabled}, it also records the execution time of each method in a
+ * {@value #PROFILING_METER_NAME} timer, for a sample of the calls given by {@code application.profiling.sample-rate}.
+ * When enabled outside of the "dev" profile, it only profiles and does not log.
  */
 @Aspect
 public class LoggingAspect {
 
-    private final Environment env;
+    public static final String PROFILING_METER_NAME = "method.execution";
+    public static final String PROFILING_METER_DESCRIPTION = "Execution time of the repository, service and REST controller methods.";
+    public static final String PROFILING_METER_CLASS_DIMENSION = "class";
+    public static final String PROFILING_METER_METHOD_DIMENSION = "method";
+    public static final String PROFILING_METER_EXCEPTION_DIMENSION = "exception";
 
-    public LoggingAspect(Environment env) {
-        this.env = env;
+    private final boolean development;
+
+    private final boolean logging;
+
+    private final boolean profiling;
+
+    private final double sampleRate;
+
+    private final boolean percentileHistogram;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, JoinPointProfile> joinPointProfiles = new ConcurrentHashMap<>();
+
+    public LoggingAspect(Environment env, ApplicationProperties.Profiling profilingProperties, MeterRegistry meterRegistry) {
+        this.development = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        this.profiling = profilingProperties.isEnabled();
+        this.logging = development || !profiling;
+        this.sampleRate = profilingProperties.getSampleRate();
+        this.percentileHistogram = profilingProperties.isPercentileHistogram();
+        this.meterRegistry = meterRegistry;
     }
 
     /**
@@ -48,13 +85,15 @@ public class LoggingAspect {
     }
 
     /**
-     * Retrieves the {@link Logger} associated to the given {@link JoinPoint}.
+     * Retrieves the {@link JoinPointProfile} associated to the given {@link JoinPoint}, created on the first call.
      *
-     * @param joinPoint join point we want the logger for.
-     * @return {@link Logger} associated to the given {@link JoinPoint}.
+     * @param joinPoint join point we want the profile for.
+     * @return {@link JoinPointProfile} associated to the given {@link JoinPoint}.
      */
-    private Logger logger(JoinPoint joinPoint) {
-        return LoggerFactory.getLogger(joinPoint.getSignature().getDeclaringTypeName());
+    private JoinPointProfile profile(JoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        JoinPointProfile profile = joinPointProfiles.get(method);
+        return profile != null ? profile : joinPointProfiles.computeIfAbsent(method, JoinPointProfile::new);
     }
 
     /**
@@ -65,25 +104,29 @@ public class LoggingAspect {
      */
     @AfterThrowing(pointcut = "applicationPackagePointcut() && springBeanPointcut()", throwing = "e")
     public void logAfterThrowing(JoinPoint joinPoint, Throwable e) {
-        if (env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT))) {
-            logger(joinPoint).error(
+        if (!logging) {
+            return;
+        }
+        JoinPointProfile profile = profile(joinPoint);
+        if (development) {
+            profile.log.error(
                 "Exception in {}() with cause = '{}' and exception = '{}'",
-                joinPoint.getSignature().getName(),
+                profile.name,
                 e.getCause() != null ? e.getCause() : "NULL",
                 e.getMessage(),
                 e
             );
         } else {
-            logger(joinPoint).error(
+            profile.log.error(
                 "Exception in {}() with cause = {}",
-                joinPoint.getSignature().getName(),
+                profile.name,
                 e.getCause() != null ? String.valueOf(e.getCause()) : "NULL"
             );
         }
     }
 
     /**
-     * Advice that logs when a method is entered and exited.
+     * Advice that logs when a method is entered and exited, and times it when profiling.
      *
      * @param joinPoint join point for advice.
      * @return result.
@@ -91,19 +134,69 @@ public class LoggingAspect {
      */
     @Around("applicationPackagePointcut() && springBeanPointcut()")
     public Object logAround(ProceedingJoinPoint joinPoint) throws Throwable {
-        Logger log = logger(joinPoint);
-        if (log.isDebugEnabled()) {
-            log.debug("Enter: {}() with argument[s] = {}", joinPoint.getSignature().getName(), Arrays.toString(joinPoint.getArgs()));
+        JoinPointProfile profile = profile(joinPoint);
+        Logger log = profile.log;
+        boolean debug = logging && log.isDebugEnabled();
+        if (debug) {
+            log.debug("Enter: {}() with argument[s] = {}", profile.name, Arrays.toString(joinPoint.getArgs()));
         }
+        boolean timed = profiling && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+        long start = timed ? System.nanoTime() : 0L;
+        Object result;
         try {
-            Object result = joinPoint.proceed();
-            if (log.isDebugEnabled()) {
-                log.debug("Exit: {}() with result = {}", joinPoint.getSignature().getName(), result);
+            result = joinPoint.proceed();
+        } catch (Throwable e) {
+            if (timed) {
+                profile.failureTimer(e).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (logging && e instanceof IllegalArgumentException) {
+                log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), profile.name);
             }
-            return result;
-        } catch (IllegalArgumentException e) {
-            log.error("Illegal argument: {} in {}()", Arrays.toString(joinPoint.getArgs()), joinPoint.getSignature().getName());
             throw e;
         }
+        if (timed) {
+            profile.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (debug) {
+            log.debug("Exit: {}() with result = {}", profile.name, result);
+        }
+        return result;
+    }
+
+    /**
+     * What the advices need about a join point, computed once so that the advices allocate nothing when not logging.
+     */
+    private final class JoinPointProfile {
+
+        private final Logger log;
+
+        private final String name;
+
+        private final Tags tags;
+
+        private final Timer timer;
+
+        JoinPointProfile(Method method) {
+            this.log = LoggerFactory.getLogger(method.getDeclaringClass().getName());
+            this.name = method.getName();
+            this.tags = Tags.of(
+                PROFILING_METER_CLASS_DIMENSION,
+                method.getDeclaringClass().getSimpleName(),
+                PROFILING_METER_METHOD_DIMENSION,
+                name
+            );
+            this.timer = profiling ? timerBuilder().tag(PROFILING_METER_EXCEPTION_DIMENSION, "none").register(meterRegistry) : null;
+        }
+
+        Timer failureTimer(Throwable e) {
+            return timerBuilder().tag(PROFILING_METER_EXCEPTION_DIMENSION, e.getClass().getSimpleName()).register(meterRegistry);
+        }
+
+        private Timer.Builder timerBuilder() {
+            return Timer.builder(PROFILING_METER_NAME)
+                .description(PROFILING_METER_DESCRIPTION)
+                .tags(tags)
+                .publishPercentileHistogram(percentileHistogram);
+        }
     }
 }
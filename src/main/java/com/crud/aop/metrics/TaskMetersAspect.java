@@ -0,0 +1,103 @@
+package com.crud.aop.metrics;
+
+import com.crud.management.TaskMetersService;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.util.StringUtils;
+
+/**
+ * Aspect feeding the {@link TaskMetersService} with the {@code @Async} and {@code @Scheduled} methods.
+ * <p>
+ * {@code @Async} methods run on the executor thread, the asynchronous execution advice coming first, so they name the
+ * task being timed by the executor. {@code @Scheduled} methods are tracked against their schedule: a run overruns if it
+ * ends after the next run was due, which for fixed-delay jobs means that the run outlasted the delay.
+ */
+@Aspect
+public class TaskMetersAspect {
+
+    private final TaskMetersService taskMetersService;
+
+    private final Environment env;
+
+    private final Map<Method, UnaryOperator<Instant>> schedules = new ConcurrentHashMap<>();
+
+    public TaskMetersAspect(TaskMetersService taskMetersService, Environment env) {
+        this.taskMetersService = taskMetersService;
+        this.env = env;
+    }
+
+    @Around(
+        "@annotation(org.springframework.scheduling.annotation.Async)" +
+        " || @within(org.springframework.scheduling.annotation.Async)"
+    )
+    public Object nameAsyncTask(ProceedingJoinPoint joinPoint) throws Throwable {
+        TaskMetersService.nameRunningTask(
+            joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName()
+        );
+        return joinPoint.proceed();
+    }
+
+    @Around("@annotation(scheduled)")
+    public Object trackScheduledJob(ProceedingJoinPoint joinPoint, Scheduled scheduled) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Instant nextScheduledRun = schedules.computeIfAbsent(method, key -> schedule(scheduled)).apply(Instant.now());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            taskMetersService.trackScheduledRun(method, Instant.now(), nextScheduledRun);
+        }
+    }
+
+    /**
+     * @return the function giving, from the start of a run, when the next one is due.
+     */
+    private UnaryOperator<Instant> schedule(Scheduled scheduled) {
+        String cron = env.resolvePlaceholders(scheduled.cron());
+        if (StringUtils.hasText(cron)) {
+            if (Scheduled.CRON_DISABLED.equals(cron)) {
+                return start -> null;
+            }
+            CronExpression expression = CronExpression.parse(cron);
+            ZoneId zone = StringUtils.hasText(scheduled.zone())
+                ? ZoneId.of(env.resolvePlaceholders(scheduled.zone()))
+                : ZoneId.systemDefault();
+            return start -> {
+                ZonedDateTime next = expression.next(start.atZone(zone));
+                return next != null ? next.toInstant() : null;
+            };
+        }
+        Duration period = period(scheduled.fixedRate(), scheduled.fixedRateString(), scheduled);
+        if (period == null) {
+            period = period(scheduled.fixedDelay(), scheduled.fixedDelayString(), scheduled);
+        }
+        Duration schedulePeriod = period;
+        return start -> schedulePeriod != null ? start.plus(schedulePeriod) : null;
+    }
+
+    private Duration period(long value, String valueString, Scheduled scheduled) {
+        if (value >= 0) {
+            return Duration.of(value, scheduled.timeUnit().toChronoUnit());
+        }
+        String resolved = env.resolvePlaceholders(valueString);
+        if (!StringUtils.hasText(resolved)) {
+            return null;
+        }
+        if (resolved.startsWith("P") || resolved.startsWith("p")) {
+            return Duration.parse(resolved);
+        }
+        return Duration.of(Long.parseLong(resolved.strip()), scheduled.timeUnit().toChronoUnit());
+    }
+}
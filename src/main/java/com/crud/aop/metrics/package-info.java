@@ -0,0 +1,4 @@
+/**
+ * Metrics aspect.
+ */
+package com.crud.aop.metrics;
@@ -1,5 +1,9 @@
 package com.crud.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.event.Level;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +17,78 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final UserImport userImport = new UserImport();
+
+    private final MailOutbox mailOutbox = new MailOutbox();
+
+    private final Async async = new Async();
+
+    private final Profiling profiling = new Profiling();
+
+    private final Logging logging = new Logging();
+
+    private final SqlAccounting sqlAccounting = new SqlAccounting();
+
+    private final ReplicaDatasource replicaDatasource = new ReplicaDatasource();
+
+    private final ChangeFeed changeFeed = new ChangeFeed();
+
+    private final ChangeStream changeStream = new ChangeStream();
+
+    private final RequestCoalescing requestCoalescing = new RequestCoalescing();
+
+    private final Batch batch = new Batch();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public UserImport getUserImport() {
+        return userImport;
+    }
+
+    public MailOutbox getMailOutbox() {
+        return mailOutbox;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Profiling getProfiling() {
+        return profiling;
+    }
+
+    public Logging getLogging() {
+        return logging;
+    }
+
+    public SqlAccounting getSqlAccounting() {
+        return sqlAccounting;
+    }
+
+    public ReplicaDatasource getReplicaDatasource() {
+        return replicaDatasource;
+    }
+
+    public ChangeFeed getChangeFeed() {
+        return changeFeed;
+    }
+
+    public ChangeStream getChangeStream() {
+        return changeStream;
+    }
+
+    public RequestCoalescing getRequestCoalescing() {
+        return requestCoalescing;
+    }
+
+    public Batch getBatch() {
+        return batch;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +103,525 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    public static class UserImport {
+
+        private int chunkSize = 500;
+
+        private int hashingThreads = Runtime.getRuntime().availableProcessors();
+
+        public int getChunkSize() {
+            return chunkSize;
+        }
+
+        public void setChunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        public int getHashingThreads() {
+            return hashingThreads;
+        }
+
+        public void setHashingThreads(int hashingThreads) {
+            this.hashingThreads = hashingThreads;
+        }
+    }
+
+    public static class MailOutbox {
+
+        private Duration pollInterval = Duration.ofSeconds(5);
+
+        private int batchSize = 50;
+
+        private int maxAttempts = 10;
+
+        private Duration initialBackoff = Duration.ofSeconds(30);
+
+        private Duration maxBackoff = Duration.ofHours(1);
+
+        private Duration lease = Duration.ofMinutes(5);
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+    }
+
+    public static class Async {
+
+        private Mode mode = Mode.PLATFORM;
+
+        private boolean virtualRequestHandling = false;
+
+        private int jdbcConcurrencyLimit = 0;
+
+        public Mode getMode() {
+            return mode;
+        }
+
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+
+        public boolean isVirtualRequestHandling() {
+            return virtualRequestHandling;
+        }
+
+        public void setVirtualRequestHandling(boolean virtualRequestHandling) {
+            this.virtualRequestHandling = virtualRequestHandling;
+        }
+
+        public int getJdbcConcurrencyLimit() {
+            return jdbcConcurrencyLimit;
+        }
+
+        public void setJdbcConcurrencyLimit(int jdbcConcurrencyLimit) {
+            this.jdbcConcurrencyLimit = jdbcConcurrencyLimit;
+        }
+
+        public enum Mode {
+            /**
+             * {@code @Async} tasks run on the {@code spring.task.execution} thread pool.
+             */
+            PLATFORM,
+            /**
+             * {@code @Async} tasks each run on a new virtual thread; requires Java 21 or later.
+             */
+            VIRTUAL
+        }
+    }
+
+    public static class Profiling {
+
+        private boolean enabled = false;
+
+        private double sampleRate = 1.0;
+
+        private boolean percentileHistogram = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    /**
+     * Asynchronous console logging, used with {@code jhipster.logging.use-json-format}.
+     */
+    public static class Logging {
+
+        private int ringBufferSize = 8192;
+
+        private Level discardingLevel = Level.INFO;
+
+        private Duration appendTimeout = Duration.ofSeconds(1);
+
+        public int getRingBufferSize() {
+            return ringBufferSize;
+        }
+
+        public void setRingBufferSize(int ringBufferSize) {
+            this.ringBufferSize = ringBufferSize;
+        }
+
+        public Level getDiscardingLevel() {
+            return discardingLevel;
+        }
+
+        public void setDiscardingLevel(Level discardingLevel) {
+            this.discardingLevel = discardingLevel;
+        }
+
+        public Duration getAppendTimeout() {
+            return appendTimeout;
+        }
+
+        public void setAppendTimeout(Duration appendTimeout) {
+            this.appendTimeout = appendTimeout;
+        }
+    }
+
+    /**
+     * Accounting of the SQL statements run by each HTTP request. The detection of the repeated statements
+     * ({@code inspect-statements}) and the counting of the rows read ({@code count-read-rows}) cost more than the meters,
+     * and can be turned off on their own.
+     */
+    public static class SqlAccounting {
+
+        private boolean enabled = false;
+
+        private int statementBudget = 30;
+
+        private int repeatedStatementThreshold = 10;
+
+        private boolean inspectStatements = true;
+
+        private boolean countReadRows = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public void setStatementBudget(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+
+        public int getRepeatedStatementThreshold() {
+            return repeatedStatementThreshold;
+        }
+
+        public void setRepeatedStatementThreshold(int repeatedStatementThreshold) {
+            this.repeatedStatementThreshold = repeatedStatementThreshold;
+        }
+
+        public boolean isInspectStatements() {
+            return inspectStatements;
+        }
+
+        public void setInspectStatements(boolean inspectStatements) {
+            this.inspectStatements = inspectStatements;
+        }
+
+        public boolean isCountReadRows() {
+            return countReadRows;
+        }
+
+        public void setCountReadRows(boolean countReadRows) {
+            this.countReadRows = countReadRows;
+        }
+    }
+
+    /**
+     * Replica database used by read-only transactions, when its {@code url} is set. The other settings of its
+     * connection pool are copied from {@code spring.datasource.hikari}.
+     */
+    public static class ReplicaDatasource {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 0;
+
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
+
+    /**
+     * Change feed of the entities, see {@code ChangeFeedService}.
+     */
+    public static class ChangeFeed {
+
+        private Duration retention = Duration.ofDays(7);
+
+        private Duration cleanupInterval = Duration.ofHours(1);
+
+        private int cleanupBatchSize = 10_000;
+
+        public Duration getRetention() {
+            return retention;
+        }
+
+        public void setRetention(Duration retention) {
+            this.retention = retention;
+        }
+
+        public Duration getCleanupInterval() {
+            return cleanupInterval;
+        }
+
+        public void setCleanupInterval(Duration cleanupInterval) {
+            this.cleanupInterval = cleanupInterval;
+        }
+
+        public int getCleanupBatchSize() {
+            return cleanupBatchSize;
+        }
+
+        public void setCleanupBatchSize(int cleanupBatchSize) {
+            this.cleanupBatchSize = cleanupBatchSize;
+        }
+    }
+
+    /**
+     * Server-sent events streams of the entity changes, see {@code EntityChangeStreamService}.
+     */
+    public static class ChangeStream {
+
+        private Duration pollInterval = Duration.ofMillis(500);
+
+        private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+        private Duration timeout = Duration.ofMinutes(30);
+
+        private int bufferSize = 256;
+
+        private int senderThreads = 4;
+
+        private int catchUpThreads = 2;
+
+        private Duration writeTimeout = Duration.ofSeconds(10);
+
+        private int writerThreads = 32;
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public Duration getHeartbeatInterval() {
+            return heartbeatInterval;
+        }
+
+        public void setHeartbeatInterval(Duration heartbeatInterval) {
+            this.heartbeatInterval = heartbeatInterval;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getBufferSize() {
+            return bufferSize;
+        }
+
+        public void setBufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+        }
+
+        public int getSenderThreads() {
+            return senderThreads;
+        }
+
+        public void setSenderThreads(int senderThreads) {
+            this.senderThreads = senderThreads;
+        }
+
+        public int getCatchUpThreads() {
+            return catchUpThreads;
+        }
+
+        public void setCatchUpThreads(int catchUpThreads) {
+            this.catchUpThreads = catchUpThreads;
+        }
+
+        public Duration getWriteTimeout() {
+            return writeTimeout;
+        }
+
+        public void setWriteTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+        }
+
+        public int getWriterThreads() {
+            return writerThreads;
+        }
+
+        public void setWriterThreads(int writerThreads) {
+            this.writerThreads = writerThreads;
+        }
+    }
+
+    /**
+     * Sharing of the response of concurrent identical GET requests, see {@code RequestCoalescingFilter}.
+     */
+    public static class RequestCoalescing {
+
+        private boolean enabled = false;
+
+        private List<String> paths = new ArrayList<>(
+            List.of("/api/companies/*", "/api/employees/*", "/api/managers/*", "/api/workers/*", "/api/users")
+        );
+
+        private Duration waitTimeout = Duration.ofSeconds(2);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public Duration getWaitTimeout() {
+            return waitTimeout;
+        }
+
+        public void setWaitTimeout(Duration waitTimeout) {
+            this.waitTimeout = waitTimeout;
+        }
+    }
+
+    /**
+     * Batches of sub-requests, see {@code BatchReadService}.
+     */
+    public static class Batch {
+
+        private int threads = 8;
+
+        private int queueCapacity = 100;
+
+        private Duration timeout = Duration.ofSeconds(10);
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
@@ -1,14 +1,23 @@
 package com.crud.config;
 
+import com.crud.aop.metrics.TaskMetersAspect;
+import com.crud.management.TaskMetersService;
 import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.task.ThreadPoolTaskSchedulerCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -23,24 +32,70 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private static final Logger LOG = LoggerFactory.getLogger(AsyncConfiguration.class);
 
+    private static final String TASK_EXECUTOR_NAME = "taskExecutor";
+
+    private static final String TASK_SCHEDULER_NAME = "taskScheduler";
+
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final ApplicationProperties applicationProperties;
+
+    private final TaskMetersService taskMetersService;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        ApplicationProperties applicationProperties,
+        TaskMetersService taskMetersService
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.applicationProperties = applicationProperties;
+        this.taskMetersService = taskMetersService;
     }
 
     @Override
-    @Bean(name = "taskExecutor")
+    @Bean(name = TASK_EXECUTOR_NAME)
     public Executor getAsyncExecutor() {
+        if (applicationProperties.getAsync().getMode() == ApplicationProperties.Async.Mode.VIRTUAL) {
+            LOG.debug("Creating Async Task Executor with virtual threads");
+            VirtualThreadsConfiguration.checkVirtualThreadsSupported();
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            executor.setTaskDecorator(taskMetersService.timingTaskDecorator(TASK_EXECUTOR_NAME));
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         LOG.debug("Creating Async Task Executor");
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor() {
+            @Override
+            protected ExecutorService initializeExecutor(ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+                ExecutorService executorService = super.initializeExecutor(threadFactory, rejectedExecutionHandler);
+                taskMetersService.monitor(getThreadPoolExecutor(), TASK_EXECUTOR_NAME);
+                return executorService;
+            }
+        };
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
         executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        executor.setTaskDecorator(taskMetersService.timingTaskDecorator(TASK_EXECUTOR_NAME));
+        executor.setRejectedExecutionHandler(
+            taskMetersService.countingRejectedExecutionHandler(TASK_EXECUTOR_NAME, new ThreadPoolExecutor.AbortPolicy())
+        );
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean
+    public ThreadPoolTaskSchedulerCustomizer countingRejectionsTaskSchedulerCustomizer() {
+        return scheduler ->
+            scheduler.setRejectedExecutionHandler(
+                taskMetersService.countingRejectedExecutionHandler(TASK_SCHEDULER_NAME, new ThreadPoolExecutor.AbortPolicy())
+            );
+    }
+
+    @Bean
+    public TaskMetersAspect taskMetersAspect(Environment env) {
+        return new TaskMetersAspect(taskMetersService, env);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 import org.springframework.boot.ansi.AnsiColor;
@@ -16,6 +17,9 @@ import org.springframework.boot.ansi.AnsiStyle;
 /**
  * Log filter to prevent attackers from forging log entries by submitting input containing CRLF characters.
  * CRLF characters are replaced with a red colored _ character.
+ * <p>
+ * This runs for every log event, so messages are scanned in a single pass and returned as is when they contain no
+ * CRLF or tab character, and whether a logger is safe is only computed once per logger.
  *
  * @see <a href="https://owasp.org/www-community/attacks/Log_Injection">Log Forging Description</a>
  * @see <a href="https://github.com/jhipster/generator-jhipster/issues/14949">JHipster issue</a>
@@ -43,24 +47,53 @@ public class CRLFLogConverter extends CompositeConverter<ILoggingEvent> {
         ELEMENTS = Collections.unmodifiableMap(ansiElements);
     }
 
+    private final Map<String, Boolean> safeLoggers = new ConcurrentHashMap<>();
+
     @Override
     protected String transform(ILoggingEvent event, String in) {
-        AnsiElement element = ELEMENTS.get(getFirstOption());
         List<Marker> markers = event.getMarkerList();
         if ((markers != null && !markers.isEmpty() && markers.get(0).contains(CRLF_SAFE_MARKER)) || isLoggerSafe(event)) {
             return in;
         }
+        int first = indexOfCRLF(in, 0);
+        if (first < 0) {
+            return in;
+        }
+        AnsiElement element = ELEMENTS.get(getFirstOption());
         String replacement = element == null ? "_" : toAnsiString("_", element);
-        return in.replaceAll("[\n\r\t]", replacement);
+        StringBuilder out = new StringBuilder(in.length() + replacement.length());
+        int start = 0;
+        for (int i = first; i >= 0; i = indexOfCRLF(in, start)) {
+            out.append(in, start, i).append(replacement);
+            start = i + 1;
+        }
+        return out.append(in, start, in.length()).toString();
+    }
+
+    private static int indexOfCRLF(String in, int from) {
+        for (int i = from; i < in.length(); i++) {
+            char c = in.charAt(i);
+            if (c == '\n' || c == '\r' || c == '\t') {
+                return i;
+            }
+        }
+        return -1;
     }
 
     protected boolean isLoggerSafe(ILoggingEvent event) {
-        for (String safeLogger : SAFE_LOGS) {
-            if (event.getLoggerName().startsWith(safeLogger)) {
-                return true;
+        String loggerName = event.getLoggerName();
+        Boolean safe = safeLoggers.get(loggerName);
+        if (safe == null) {
+            safe = false;
+            for (String safeLogger : SAFE_LOGS) {
+                if (loggerName.startsWith(safeLogger)) {
+                    safe = true;
+                    break;
+                }
             }
+            safeLoggers.put(loggerName, safe);
         }
-        return false;
+        return safe;
     }
 
     protected String toAnsiString(String in, AnsiElement element) {
@@ -0,0 +1,44 @@
+package com.crud.config;
+
+import com.crud.service.UserService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * In-process Caffeine caches.
+ * <p>
+ * Cache names are declared up front so that Spring Boot binds their size, hit and miss meters
+ * ({@code cache.size}, {@code cache.gets}, ...) at startup.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    private final Caffeine<Object, Object> caffeine;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
+        JHipsterProperties.Cache.Caffeine properties = jHipsterProperties.getCache().getCaffeine();
+        this.caffeine = Caffeine.newBuilder()
+            .maximumSize(properties.getMaxEntries())
+            .expireAfterWrite(Duration.ofSeconds(properties.getTimeToLiveSeconds()))
+            .recordStats();
+    }
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(caffeine);
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(UserService.PUBLIC_USERS_CACHE, UserService.USERS_BY_LOGIN_CACHE));
+        // Evictions made by write transactions only apply on commit, so concurrent reads cannot cache data that is being changed
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,29 @@
+package com.crud.config;
+
+import com.crud.repository.changes.EntityChangeEventListener;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Appends the entity changes made through Hibernate to the change feed, in the transaction making them.
+ */
+@Configuration
+public class ChangeFeedConfiguration {
+
+    @Bean
+    public EntityChangeEventListener entityChangeEventListener(EntityManagerFactory entityManagerFactory) {
+        EntityChangeEventListener listener = new EntityChangeEventListener();
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        return listener;
+    }
+}
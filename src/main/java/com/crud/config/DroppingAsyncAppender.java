@@ -0,0 +1,94 @@
+package com.crud.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import net.logstash.logback.appender.LoggingEventAsyncDisruptorAppender;
+import net.logstash.logback.appender.listener.AppenderListener;
+
+/**
+ * Asynchronous appender handing the events to its appenders from a single thread, through a ring buffer.
+ * <p>
+ * When the ring buffer is full, events at or below the discarding level ({@code INFO} by default) are dropped right
+ * away, so that request threads never wait for the log output. More severe events wait for room, up to the append
+ * timeout. Dropped events are counted per level.
+ */
+public class DroppingAsyncAppender extends LoggingEventAsyncDisruptorAppender {
+
+    private static final Level[] LEVELS = { Level.TRACE, Level.DEBUG, Level.INFO, Level.WARN, Level.ERROR };
+
+    private final Map<Level, AtomicLong> droppedEvents = Stream.of(LEVELS).collect(
+        Collectors.toMap(Function.identity(), level -> new AtomicLong())
+    );
+
+    private Level discardingLevel = Level.INFO;
+
+    public DroppingAsyncAppender() {
+        addListener(
+            new AppenderListener<>() {
+                @Override
+                public void eventAppendFailed(Appender<ILoggingEvent> appender, ILoggingEvent event, Throwable reason) {
+                    countDropped(event);
+                }
+            }
+        );
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (isStarted() && discardingLevel.isGreaterOrEqual(event.getLevel())) {
+            prepareForDeferredProcessing(event);
+            if (!getDisruptor().getRingBuffer().tryPublishEvent(getEventTranslator(), event)) {
+                countDropped(event);
+            }
+            return;
+        }
+        super.append(event);
+    }
+
+    private void countDropped(ILoggingEvent event) {
+        AtomicLong dropped = droppedEvents.get(event.getLevel());
+        if (dropped != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return the levels of the events which may be dropped, from the least to the most severe.
+     */
+    public static Level[] getLevels() {
+        return LEVELS.clone();
+    }
+
+    /**
+     * @param level a level.
+     * @return the number of events of this level dropped since the start of the appender.
+     */
+    public long getDroppedEvents(Level level) {
+        AtomicLong dropped = droppedEvents.get(level);
+        return dropped != null ? dropped.get() : 0;
+    }
+
+    /**
+     * @return the number of events waiting in the ring buffer.
+     */
+    public long getQueueSize() {
+        if (!isStarted()) {
+            return 0;
+        }
+        return getRingBufferSize() - getDisruptor().getRingBuffer().remainingCapacity();
+    }
+
+    public Level getDiscardingLevel() {
+        return discardingLevel;
+    }
+
+    public void setDiscardingLevel(Level discardingLevel) {
+        this.discardingLevel = discardingLevel;
+    }
+}
@@ -1,6 +1,9 @@
 package com.crud.config;
 
 import com.crud.aop.logging.LoggingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.AnyNestedCondition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.*;
 import org.springframework.core.env.Environment;
 import tech.jhipster.config.JHipsterConstants;
@@ -10,8 +13,24 @@ import tech.jhipster.config.JHipsterConstants;
 public class LoggingAspectConfiguration {
 
     @Bean
-    @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
-    public LoggingAspect loggingAspect(Environment env) {
-        return new LoggingAspect(env);
+    @Conditional(LoggingOrProfilingCondition.class)
+    public LoggingAspect loggingAspect(Environment env, ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new LoggingAspect(env, applicationProperties.getProfiling(), meterRegistry);
+    }
+
+    /**
+     * The aspect logs with the "dev" profile, and profiles when {@code application.profiling.enabled} is set.
+     */
+    static class LoggingOrProfilingCondition extends AnyNestedCondition {
+
+        LoggingOrProfilingCondition() {
+            super(ConfigurationPhase.REGISTER_BEAN);
+        }
+
+        @Profile(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT)
+        static class Logging {}
+
+        @ConditionalOnProperty(name = "application.profiling.enabled", havingValue = "true")
+        static class Profiling {}
     }
 }
@@ -2,11 +2,21 @@ package com.crud.config;
 
 import static tech.jhipster.config.logging.LoggingUtils.*;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggerContextListener;
+import ch.qos.logback.core.spi.ContextAwareBase;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import net.logstash.logback.encoder.LogstashEncoder;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
@@ -18,11 +28,22 @@ import tech.jhipster.config.JHipsterProperties;
 @Configuration
 public class LoggingConfiguration {
 
+    public static final String QUEUE_SIZE_METER_NAME = "logback.async.queue.size";
+    public static final String QUEUE_CAPACITY_METER_NAME = "logback.async.queue.capacity";
+    public static final String DROPPED_EVENTS_METER_NAME = "logback.async.dropped";
+    public static final String DROPPED_EVENTS_METER_LEVEL_DIMENSION = "level";
+
+    private static final String CONSOLE_APPENDER_NAME = "CONSOLE";
+
+    private static final String ASYNC_CONSOLE_APPENDER_NAME = "ASYNC_CONSOLE";
+
     public LoggingConfiguration(
         @Value("${spring.application.name}") String appName,
         @Value("${server.port}") String serverPort,
         JHipsterProperties jHipsterProperties,
-        ObjectMapper mapper
+        ApplicationProperties applicationProperties,
+        ObjectMapper mapper,
+        MeterRegistry meterRegistry
     ) throws JsonProcessingException {
         LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
 
@@ -35,13 +56,137 @@ public class LoggingConfiguration {
         JHipsterProperties.Logging.Logstash logstashProperties = loggingProperties.getLogstash();
 
         if (loggingProperties.isUseJsonFormat()) {
-            addJsonConsoleAppender(context, customFields);
+            addAsyncJsonConsoleAppender(context, customFields, applicationProperties.getLogging());
+            bindAsyncConsoleAppenderMeters(context, meterRegistry);
         }
         if (logstashProperties.isEnabled()) {
             addLogstashTcpSocketAppender(context, customFields, logstashProperties);
         }
-        if (loggingProperties.isUseJsonFormat() || logstashProperties.isEnabled()) {
+        if (loggingProperties.isUseJsonFormat()) {
+            addAsyncJsonContextListener(context, customFields, loggingProperties, applicationProperties.getLogging());
+        } else if (logstashProperties.isEnabled()) {
             addContextListener(context, customFields, loggingProperties);
         }
     }
+
+    /**
+     * Replace the console appender with one writing JSON from a background thread, so that logging never blocks on
+     * console I/O; see {@link DroppingAsyncAppender} for what happens when the console cannot keep up.
+     */
+    private static void addAsyncJsonConsoleAppender(LoggerContext context, String customFields, ApplicationProperties.Logging properties) {
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.setCustomFields(customFields);
+        encoder.start();
+
+        StreamingConsoleAppender<ILoggingEvent> consoleAppender = new StreamingConsoleAppender<>();
+        consoleAppender.setContext(context);
+        consoleAppender.setName(CONSOLE_APPENDER_NAME);
+        consoleAppender.setEncoder(encoder);
+        consoleAppender.setImmediateFlush(false);
+
+        DroppingAsyncAppender asyncAppender = new DroppingAsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setName(ASYNC_CONSOLE_APPENDER_NAME);
+        asyncAppender.setRingBufferSize(properties.getRingBufferSize());
+        asyncAppender.setDiscardingLevel(Level.toLevel(properties.getDiscardingLevel().name()));
+        asyncAppender.setAppendTimeout(ch.qos.logback.core.util.Duration.buildByMilliseconds(properties.getAppendTimeout().toMillis()));
+        asyncAppender.addAppender(consoleAppender);
+        asyncAppender.start();
+
+        Logger rootLogger = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        rootLogger.detachAppender(CONSOLE_APPENDER_NAME);
+        rootLogger.addAppender(asyncAppender);
+    }
+
+    /**
+     * Bind the meters of the asynchronous console appender, looked up on each read as a logback reset replaces it.
+     */
+    private static void bindAsyncConsoleAppenderMeters(LoggerContext context, MeterRegistry meterRegistry) {
+        Gauge.builder(QUEUE_SIZE_METER_NAME, context, asyncConsoleAppender(DroppingAsyncAppender::getQueueSize))
+            .description("Number of log events waiting to be written to the console.")
+            .baseUnit("events")
+            .register(meterRegistry);
+        Gauge.builder(QUEUE_CAPACITY_METER_NAME, context, asyncConsoleAppender(DroppingAsyncAppender::getRingBufferSize))
+            .description("Number of log events which can wait to be written to the console.")
+            .baseUnit("events")
+            .register(meterRegistry);
+        for (Level level : DroppingAsyncAppender.getLevels()) {
+            FunctionCounter.builder(DROPPED_EVENTS_METER_NAME, context, asyncConsoleAppender(appender -> appender.getDroppedEvents(level)))
+                .description("Number of log events dropped because the console could not keep up.")
+                .baseUnit("events")
+                .tag(DROPPED_EVENTS_METER_LEVEL_DIMENSION, level.levelStr)
+                .register(meterRegistry);
+        }
+    }
+
+    private static ToDoubleFunction<LoggerContext> asyncConsoleAppender(ToDoubleFunction<DroppingAsyncAppender> value) {
+        return context ->
+            context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender(ASYNC_CONSOLE_APPENDER_NAME) instanceof DroppingAsyncAppender appender
+                ? value.applyAsDouble(appender)
+                : 0;
+    }
+
+    private static void addAsyncJsonContextListener(
+        LoggerContext context,
+        String customFields,
+        JHipsterProperties.Logging loggingProperties,
+        ApplicationProperties.Logging properties
+    ) {
+        AsyncJsonContextListener listener = new AsyncJsonContextListener(customFields, loggingProperties, properties);
+        listener.setContext(context);
+        context.addListener(listener);
+    }
+
+    /**
+     * Logback configuration is achieved by configuration file and API.
+     * When configuration file change is detected, the configuration is reset.
+     * This listener ensures that the programmatic configuration is also re-applied after reset.
+     */
+    private static class AsyncJsonContextListener extends ContextAwareBase implements LoggerContextListener {
+
+        private final String customFields;
+
+        private final JHipsterProperties.Logging loggingProperties;
+
+        private final ApplicationProperties.Logging properties;
+
+        AsyncJsonContextListener(
+            String customFields,
+            JHipsterProperties.Logging loggingProperties,
+            ApplicationProperties.Logging properties
+        ) {
+            this.customFields = customFields;
+            this.loggingProperties = loggingProperties;
+            this.properties = properties;
+        }
+
+        @Override
+        public boolean isResetResistant() {
+            return true;
+        }
+
+        @Override
+        public void onStart(LoggerContext context) {
+            // Nothing to do, the appenders are added when the application starts
+        }
+
+        @Override
+        public void onReset(LoggerContext context) {
+            addAsyncJsonConsoleAppender(context, customFields, properties);
+            if (loggingProperties.getLogstash().isEnabled()) {
+                addLogstashTcpSocketAppender(context, customFields, loggingProperties.getLogstash());
+            }
+        }
+
+        @Override
+        public void onStop(LoggerContext context) {
+            // Nothing to do
+        }
+
+        @Override
+        public void onLevelChange(Logger logger, Level level) {
+            // Nothing to do
+        }
+    }
 }
@@ -0,0 +1,87 @@
+package com.crud.config;
+
+import com.crud.domain.AbstractAuditingEntity;
+import com.crud.domain.Authority;
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.domain.EntityChange;
+import com.crud.domain.MailOutboxMessage;
+import com.crud.domain.Manager;
+import com.crud.domain.User;
+import com.crud.domain.Workers;
+import com.crud.service.dto.AdminUserDTO;
+import com.crud.service.dto.PasswordChangeDTO;
+import com.crud.service.dto.UserDTO;
+import com.crud.service.dto.UserImportResultDTO;
+import java.util.List;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reachability metadata of the native image (see the {@code native} Maven profile), for what the Spring AOT
+ * processing cannot infer. The hints are ignored on the JVM.
+ */
+@Configuration
+@ImportRuntimeHints(NativeConfiguration.CrudRuntimeHints.class)
+public class NativeConfiguration {
+
+    /**
+     * Entities, read and written by Hibernate through their fields, and serialized by Jackson and the mail templates
+     * through their accessors.
+     */
+    static final List<Class<?>> ENTITIES = List.of(
+        AbstractAuditingEntity.class,
+        Authority.class,
+        Company.class,
+        Employee.class,
+        EntityChange.class,
+        MailOutboxMessage.class,
+        Manager.class,
+        User.class,
+        Workers.class
+    );
+
+    static final List<Class<?>> DTOS = List.of(AdminUserDTO.class, PasswordChangeDTO.class, UserDTO.class, UserImportResultDTO.class);
+
+    static final List<String> RESOURCE_PATTERNS = List.of(
+        "config/liquibase/**",
+        "www.liquibase.org/xml/ns/dbchangelog/*.xsd",
+        "templates/**",
+        "i18n/*.properties"
+    );
+
+    /**
+     * Classes of Nimbus JOSE, which parses the JWT with its shaded Gson, instantiated by reflection.
+     */
+    static final List<String> REFLECTIVE_CLASS_NAMES = List.of("com.nimbusds.jose.shaded.gson.internal.LinkedTreeMap");
+
+    static class CrudRuntimeHints implements RuntimeHintsRegistrar {
+
+        private final BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            for (Class<?> entity : ENTITIES) {
+                hints
+                    .reflection()
+                    .registerType(
+                        entity,
+                        MemberCategory.DECLARED_FIELDS,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS
+                    );
+            }
+            bindingRegistrar.registerReflectionHints(hints.reflection(), ENTITIES.toArray(Class<?>[]::new));
+            bindingRegistrar.registerReflectionHints(hints.reflection(), DTOS.toArray(Class<?>[]::new));
+            RESOURCE_PATTERNS.forEach(hints.resources()::registerPattern);
+            for (String className : REFLECTIVE_CLASS_NAMES) {
+                hints.reflection().registerType(TypeReference.of(className), MemberCategory.INVOKE_DECLARED_CONSTRUCTORS);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.StringUtils;
+
+/**
+ * Configuration of the replica database, used by read-only transactions when {@code application.replica-datasource.url}
+ * is set; see {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * Both pools publish the {@code hikaricp.*} meters, tagged with their pool name. To try it locally, point the replica
+ * URL to a second database holding a copy of the primary one.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.replica-datasource.url")
+public class ReadReplicaConfiguration {
+
+    /**
+     * Order of the data source post-processors. The primary pool is first routed to with its replica pool, then each
+     * pool is limited in concurrency (see {@link VirtualThreadsConfiguration}), and the result is finally wrapped by
+     * the SQL accounting (see {@link SqlAccountingConfiguration}).
+     */
+    public static final int ROUTING_DATA_SOURCE_POST_PROCESSOR_ORDER = Ordered.HIGHEST_PRECEDENCE;
+
+    public static final String REPLICA_LAG_METER_NAME = "datasource.replica.lag";
+    public static final String READ_ONLY_CONNECTIONS_METER_NAME = "datasource.read-only.connections";
+    public static final String READ_ONLY_CONNECTIONS_METER_TARGET_DIMENSION = "target";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadReplicaConfiguration.class);
+
+    private static final String REPLICA_POOL_NAME_SUFFIX = "-replica";
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new ReadWriteRoutingDataSourcePostProcessor(applicationProperties);
+    }
+
+    @Bean
+    public MeterBinder readWriteRoutingDataSourceMeterBinder(DataSource dataSource) {
+        return registry -> {
+            ReadWriteRoutingDataSource routingDataSource;
+            try {
+                routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+            } catch (SQLException e) {
+                LOG.warn("No read-write routing data source, its meters are not bound");
+                return;
+            }
+            HikariDataSource replica = unwrapPool(routingDataSource.getReplica());
+            if (replica != null && !replica.isRunning()) {
+                replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+            Gauge.builder(REPLICA_LAG_METER_NAME, routingDataSource, ReadWriteRoutingDataSource::getLagSeconds)
+                .description("Replication lag of the replica database, as of the last check; negative when unknown.")
+                .baseUnit("seconds")
+                .register(registry);
+            FunctionCounter.builder(READ_ONLY_CONNECTIONS_METER_NAME, routingDataSource, ReadWriteRoutingDataSource::getReplicaReads)
+                .description("Number of connections of read-only transactions, by database.")
+                .baseUnit("connections")
+                .tag(READ_ONLY_CONNECTIONS_METER_TARGET_DIMENSION, "replica")
+                .register(registry);
+            FunctionCounter.builder(READ_ONLY_CONNECTIONS_METER_NAME, routingDataSource, ReadWriteRoutingDataSource::getPrimaryReads)
+                .description("Number of connections of read-only transactions, by database.")
+                .baseUnit("connections")
+                .tag(READ_ONLY_CONNECTIONS_METER_TARGET_DIMENSION, "primary")
+                .register(registry);
+        };
+    }
+
+    /**
+     * @return the connection pool, which may be wrapped in a decorating data source, or {@code null} if it is not a
+     * Hikari pool.
+     */
+    private static HikariDataSource unwrapPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Wraps the primary connection pool before any other data source post-processor, as the replica pool copies its
+     * settings.
+     */
+    private static final class ReadWriteRoutingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ApplicationProperties> applicationProperties;
+
+        private ReadWriteRoutingDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+            this.applicationProperties = applicationProperties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            ApplicationProperties.ReplicaDatasource properties = applicationProperties.getObject().getReplicaDatasource();
+            HikariDataSource replica = new HikariDataSource();
+            primary.copyStateTo(replica);
+            replica.setJdbcUrl(properties.getUrl());
+            if (StringUtils.hasText(properties.getUsername())) {
+                replica.setUsername(properties.getUsername());
+                replica.setPassword(properties.getPassword());
+            }
+            if (properties.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+            }
+            replica.setPoolName((primary.getPoolName() != null ? primary.getPoolName() : beanName) + REPLICA_POOL_NAME_SUFFIX);
+            replica.setReadOnly(true);
+            LOG.debug("Routing the read-only transactions of data source '{}' to the replica pool {}", beanName, replica.getPoolName());
+            return new ReadWriteRoutingDataSource(primary, replica, properties.getMaxLag(), properties.getLagCheckInterval());
+        }
+
+        @Override
+        public int getOrder() {
+            return ROUTING_DATA_SOURCE_POST_PROCESSOR_ORDER;
+        }
+    }
+}
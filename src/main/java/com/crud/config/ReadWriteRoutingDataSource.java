@@ -0,0 +1,191 @@
+package com.crud.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * {@link DataSource} sending read-only transactions to a replica, and everything else to the primary.
+ * <p>
+ * Connections are only fetched from a pool when the first statement runs, once the transaction is known to be
+ * read-only (see {@link LazyConnectionDataSourceProxy}). The replication lag is checked on a replica connection at most
+ * once per check interval; while it is over the tolerated lag, or unknown, read-only transactions use the primary.
+ */
+public class ReadWriteRoutingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    /**
+     * MySQL 8.0.22 or later; on a database which is not a replica, the status is empty and the lag is zero.
+     */
+    static final String REPLICA_STATUS_QUERY = "SHOW REPLICA STATUS";
+
+    static final String REPLICA_LAG_COLUMN = "Seconds_Behind_Source";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final long UNKNOWN_LAG = -1;
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final Duration maxLag;
+
+    private final Duration lagCheckInterval;
+
+    private final long maxLagSeconds;
+
+    private final long lagCheckIntervalNanos;
+
+    private final AtomicLong nextLagCheck = new AtomicLong(System.nanoTime());
+
+    private final LongAdder replicaReads = new LongAdder();
+
+    private final LongAdder primaryReads = new LongAdder();
+
+    private volatile long lagSeconds = UNKNOWN_LAG;
+
+    private volatile boolean replicaUsable;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, Duration maxLag, Duration lagCheckInterval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+        this.maxLagSeconds = maxLag.toSeconds();
+        this.lagCheckIntervalNanos = lagCheckInterval.toNanos();
+        LazyConnectionDataSourceProxy lazyDataSource = new LazyConnectionDataSourceProxy(primary);
+        lazyDataSource.setReadOnlyDataSource(
+            new DelegatingDataSource(replica) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    return getReadOnlyConnection();
+                }
+            }
+        );
+        setTargetDataSource(lazyDataSource);
+    }
+
+    private Connection getReadOnlyConnection() throws SQLException {
+        if (isReplicaUsable()) {
+            try {
+                Connection connection = replica.getConnection();
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException e) {
+                LOG.warn("Could not connect to the replica, reading from the primary: {}", e.getMessage());
+                markReplica(UNKNOWN_LAG);
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private boolean isReplicaUsable() {
+        long now = System.nanoTime();
+        long nextCheck = nextLagCheck.get();
+        if (now - nextCheck >= 0 && nextLagCheck.compareAndSet(nextCheck, now + lagCheckIntervalNanos)) {
+            markReplica(fetchLagSeconds());
+        }
+        return replicaUsable;
+    }
+
+    private long fetchLagSeconds() {
+        try (
+            Connection connection = replica.getConnection();
+            Statement statement = connection.createStatement();
+            ResultSet status = statement.executeQuery(REPLICA_STATUS_QUERY)
+        ) {
+            if (!status.next()) {
+                return 0;
+            }
+            // Null while the replication is stopped
+            return status.getObject(REPLICA_LAG_COLUMN) instanceof Number lag ? lag.longValue() : UNKNOWN_LAG;
+        } catch (SQLException e) {
+            LOG.warn("Could not check the replication lag: {}", e.getMessage());
+            return UNKNOWN_LAG;
+        }
+    }
+
+    private void markReplica(long lagSeconds) {
+        boolean usable = lagSeconds != UNKNOWN_LAG && lagSeconds <= maxLagSeconds;
+        if (usable != replicaUsable) {
+            if (usable) {
+                LOG.info("Reading from the replica, which lags {} seconds behind the primary", lagSeconds);
+            } else {
+                LOG.warn(
+                    "Reading from the primary, as the replica lags {} seconds behind it",
+                    lagSeconds == UNKNOWN_LAG ? "an unknown number of" : lagSeconds
+                );
+            }
+        }
+        this.lagSeconds = lagSeconds;
+        this.replicaUsable = usable;
+    }
+
+    /**
+     * @param decorator decorates each pool, for example to limit its concurrent connections.
+     * @return a data source routing to the decorated pools like this one does to its pools; closing it closes them.
+     */
+    public ReadWriteRoutingDataSource withDecoratedPools(UnaryOperator<DataSource> decorator) {
+        return new ReadWriteRoutingDataSource(decorator.apply(primary), decorator.apply(replica), maxLag, lagCheckInterval);
+    }
+
+    public DataSource getPrimary() {
+        return primary;
+    }
+
+    public DataSource getReplica() {
+        return replica;
+    }
+
+    /**
+     * @return the replication lag in seconds, as of the last check, or a negative value if it is unknown.
+     */
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    /**
+     * @return the number of connections of read-only transactions taken from the replica.
+     */
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    /**
+     * @return the number of connections of read-only transactions taken from the primary, as the replica was unusable.
+     */
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            close(replica);
+        } finally {
+            close(primary);
+        }
+    }
+
+    /**
+     * Close a pool, which may be wrapped in a decorating data source.
+     */
+    private static void close(DataSource pool) throws Exception {
+        if (pool instanceof AutoCloseable closeable) {
+            closeable.close();
+        } else if (pool.isWrapperFor(AutoCloseable.class)) {
+            pool.unwrap(AutoCloseable.class).close();
+        }
+    }
+}
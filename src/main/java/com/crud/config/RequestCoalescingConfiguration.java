@@ -0,0 +1,34 @@
+package com.crud.config;
+
+import com.crud.web.filter.RequestCoalescingFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration of the sharing of the response of concurrent identical GET requests, see
+ * {@link RequestCoalescingFilter}. Enabled with {@code application.request-coalescing.enabled=true}.
+ * <p>
+ * The filter runs after the Spring Security filter chain, so that each request is authenticated and authorized on its
+ * own, and is keyed with the authorities of its caller.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.request-coalescing.enabled", havingValue = "true")
+public class RequestCoalescingConfiguration {
+
+    @Bean
+    public FilterRegistrationBean<RequestCoalescingFilter> requestCoalescingFilter(
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        ApplicationProperties.RequestCoalescing properties = applicationProperties.getRequestCoalescing();
+        FilterRegistrationBean<RequestCoalescingFilter> registration = new FilterRegistrationBean<>(
+            new RequestCoalescingFilter(properties.getPaths(), properties.getWaitTimeout(), meterRegistry)
+        );
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,34 @@
+package com.crud.config;
+
+import com.crud.repository.search.PrefixSearchRepository;
+import com.crud.repository.search.SearchIndexEventListener;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Keeps the in-memory search indexes up to date with the entities committed through Hibernate.
+ */
+@Configuration
+public class SearchConfiguration {
+
+    @Bean
+    public SearchIndexEventListener searchIndexEventListener(
+        EntityManagerFactory entityManagerFactory,
+        List<PrefixSearchRepository<?>> searchRepositories
+    ) {
+        SearchIndexEventListener listener = new SearchIndexEventListener(searchRepositories);
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, listener);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, listener);
+        return listener;
+    }
+}
@@ -0,0 +1,84 @@
+package com.crud.config;
+
+import com.crud.management.SqlMetersService;
+import com.crud.web.filter.SqlAccountingFilter;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import tech.jhipster.config.JHipsterConstants;
+
+/**
+ * Configuration of the accounting of the SQL statements run by each HTTP request, see {@link SqlAccountingFilter}.
+ * <p>
+ * Hibernate reports the statements it prepares to a {@link SqlStatementInspector}, and the data source is wrapped in a
+ * {@link SqlAccountingDataSource} measuring their execution. The statistics are returned in response headers with the
+ * "dev" profile. Enabled with {@code application.sql-accounting.enabled=true}. Production keeps the meters, whose cost
+ * is a proxy call around each statement execution, but skips the shaping of every statement by the inspector and the
+ * proxies around the result sets, with {@code inspect-statements} and {@code count-read-rows} set to {@code false}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.sql-accounting.enabled", havingValue = "true")
+public class SqlAccountingConfiguration {
+
+    /**
+     * Runs last, so that the statements of every pool are accounted for, see
+     * {@link ReadReplicaConfiguration#ROUTING_DATA_SOURCE_POST_PROCESSOR_ORDER}.
+     */
+    public static final int SQL_ACCOUNTING_DATA_SOURCE_POST_PROCESSOR_ORDER =
+        VirtualThreadsConfiguration.CONCURRENCY_LIMIT_DATA_SOURCE_POST_PROCESSOR_ORDER + 10;
+
+    @Bean
+    public static BeanPostProcessor sqlAccountingDataSourcePostProcessor(Environment env) {
+        return new SqlAccountingDataSourcePostProcessor(env.getProperty("application.sql-accounting.count-read-rows", Boolean.class, true));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.sql-accounting.inspect-statements", havingValue = "true", matchIfMissing = true)
+    public HibernatePropertiesCustomizer sqlStatementInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlAccountingFilter> sqlAccountingFilter(
+        SqlMetersService sqlMetersService,
+        ApplicationProperties applicationProperties,
+        Environment env
+    ) {
+        boolean responseHeaders = env.acceptsProfiles(Profiles.of(JHipsterConstants.SPRING_PROFILE_DEVELOPMENT));
+        FilterRegistrationBean<SqlAccountingFilter> registration = new FilterRegistrationBean<>(
+            new SqlAccountingFilter(sqlMetersService, applicationProperties.getSqlAccounting(), responseHeaders)
+        );
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    private static final class SqlAccountingDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final boolean countReadRows;
+
+        SqlAccountingDataSourcePostProcessor(boolean countReadRows) {
+            this.countReadRows = countReadRows;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof SqlAccountingDataSource) {
+                return bean;
+            }
+            return new SqlAccountingDataSource(dataSource, countReadRows);
+        }
+
+        @Override
+        public int getOrder() {
+            return SQL_ACCOUNTING_DATA_SOURCE_POST_PROCESSOR_ORDER;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.crud.config;
+
+import com.crud.management.SqlStatementStatistics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * {@link DataSource} recording, in the {@link SqlStatementStatistics} of the current thread, how many statements are
+ * executed, how long they take and how many rows they read or write.
+ * <p>
+ * Statements executed outside of an HTTP request are not recorded, and their result sets are not wrapped. Counting the
+ * rows read wraps the result sets, whose every {@code next()} call then goes through a proxy: it can be turned off to
+ * only count the rows written.
+ */
+public class SqlAccountingDataSource extends DelegatingDataSource {
+
+    private final boolean countReadRows;
+
+    public SqlAccountingDataSource(DataSource targetDataSource) {
+        this(targetDataSource, true);
+    }
+
+    public SqlAccountingDataSource(DataSource targetDataSource, boolean countReadRows) {
+        super(targetDataSource);
+        this.countReadRows = countReadRows;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return accounting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return accounting(super.getConnection(username, password));
+    }
+
+    private Connection accounting(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> accounting(Statement.class, (Statement) result);
+                case "prepareStatement" -> accounting(PreparedStatement.class, (PreparedStatement) result);
+                case "prepareCall" -> accounting(CallableStatement.class, (CallableStatement) result);
+                default -> result;
+            };
+        });
+    }
+
+    private <S extends Statement> S accounting(Class<S> type, S statement) {
+        return proxy(type, (proxy, method, args) -> {
+            SqlStatementStatistics statistics = SqlStatementStatistics.current();
+            if (statistics == null) {
+                return invoke(statement, method, args);
+            }
+            if (method.getName().startsWith("execute")) {
+                long start = System.nanoTime();
+                Object result = invoke(statement, method, args);
+                statistics.recordExecution(System.nanoTime() - start, updatedRows(result));
+                return countReadRows && result instanceof ResultSet resultSet ? counting(resultSet, statistics) : result;
+            }
+            Object result = invoke(statement, method, args);
+            return countReadRows && "getResultSet".equals(method.getName()) && result instanceof ResultSet resultSet
+                ? counting(resultSet, statistics)
+                : result;
+        });
+    }
+
+    private static ResultSet counting(ResultSet resultSet, SqlStatementStatistics statistics) {
+        return proxy(ResultSet.class, (proxy, method, args) -> {
+            Object result = invoke(resultSet, method, args);
+            if ("next".equals(method.getName()) && Boolean.TRUE.equals(result)) {
+                statistics.recordRows(1);
+            }
+            return result;
+        });
+    }
+
+    private static long updatedRows(Object result) {
+        long rows = 0;
+        if (result instanceof Integer count) {
+            rows = count;
+        } else if (result instanceof Long count) {
+            rows = count;
+        } else if (result instanceof int[] counts) {
+            for (int count : counts) {
+                rows += Math.max(count, 0);
+            }
+        } else if (result instanceof long[] counts) {
+            for (long count : counts) {
+                rows += Math.max(count, 0);
+            }
+        }
+        return Math.max(rows, 0);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlAccountingDataSource.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+}
@@ -0,0 +1,20 @@
+package com.crud.config;
+
+import com.crud.management.SqlStatementStatistics;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} recording the shape of each statement prepared during an HTTP request, to
+ * detect the statements repeated once per entity.
+ */
+public class SqlStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementStatistics statistics = SqlStatementStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,50 @@
+package com.crud.config;
+
+import java.util.List;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.type.MethodMetadata;
+
+/**
+ * Shortens the startup by initializing the beans which no request needs right away on first use.
+ * <p>
+ * The beans of the {@link #LAZY_BEAN_PACKAGES} are made lazy; the mail beans are lazy themselves. The Thymeleaf engine
+ * stays eager, as the view resolvers need it for the error page. The steps of the startup are listed by the
+ * {@code /management/startup} endpoint.
+ */
+@Configuration
+public class StartupConfiguration {
+
+    /**
+     * Packages of the beans, or of the configurations declaring them, initialized on first use; springdoc only serves
+     * the API documentation.
+     */
+    static final List<String> LAZY_BEAN_PACKAGES = List.of("org.springdoc.");
+
+    @Bean
+    public static BeanFactoryPostProcessor lazyBeansPostProcessor() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (definition.isSingleton() && !definition.isAbstract() && isInLazyPackage(definition)) {
+                    definition.setLazyInit(true);
+                }
+            }
+        };
+    }
+
+    /**
+     * Only looks at class names, so that no bean class is loaded before its time.
+     */
+    static boolean isInLazyPackage(BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition instanceof AnnotatedBeanDefinition annotated) {
+            MethodMetadata factoryMethod = annotated.getFactoryMethodMetadata();
+            className = factoryMethod != null ? factoryMethod.getDeclaringClassName() : null;
+        }
+        return className != null && LAZY_BEAN_PACKAGES.stream().anyMatch(className::startsWith);
+    }
+}
@@ -0,0 +1,70 @@
+package com.crud.config;
+
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+import ch.qos.logback.core.status.ErrorStatus;
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import net.logstash.logback.encoder.StreamingEncoder;
+
+/**
+ * Console appender writing to a buffered standard output.
+ * <p>
+ * A {@link StreamingEncoder}, such as the Logstash JSON encoders, writes each event straight to the stream from its
+ * reusable buffer, instead of returning a new byte array. This appender is meant to run behind a
+ * {@link DroppingAsyncAppender} with {@code immediateFlush} disabled, which flushes the stream after each batch of events.
+ *
+ * @param <E> the type of the events.
+ */
+public class StreamingConsoleAppender<E> extends OutputStreamAppender<E> {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public void start() {
+        setOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER_SIZE));
+        super.start();
+    }
+
+    @Override
+    protected void closeOutputStream() {
+        // The standard output outlives the appender, so it is only flushed
+        OutputStream outputStream = getOutputStream();
+        if (outputStream != null) {
+            try {
+                outputStream.flush();
+            } catch (IOException e) {
+                addStatus(new ErrorStatus("Could not flush the standard output", this, e));
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void subAppend(E event) {
+        if (!isStarted() || !(encoder instanceof StreamingEncoder<?>)) {
+            super.subAppend(event);
+            return;
+        }
+        StreamingEncoder<E> streamingEncoder = (StreamingEncoder<E>) encoder;
+        if (event instanceof DeferredProcessingAware deferredProcessingAware) {
+            deferredProcessingAware.prepareForDeferredProcessing();
+        }
+        streamWriteLock.lock();
+        try {
+            OutputStream outputStream = getOutputStream();
+            streamingEncoder.encode(event, outputStream);
+            if (isImmediateFlush()) {
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            started = false;
+            addStatus(new ErrorStatus("IO failure in appender", this, e));
+        } finally {
+            streamWriteLock.unlock();
+        }
+    }
+}
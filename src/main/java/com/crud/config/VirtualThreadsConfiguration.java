@@ -0,0 +1,101 @@
+package com.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.undertow.UndertowDeploymentInfoCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Configuration of the {@code application.async.mode=virtual} mode, which requires Java 21 or later.
+ * <p>
+ * {@code @Async} tasks and the asynchronous Liquibase start run on virtual threads (see {@link AsyncConfiguration}),
+ * and so do HTTP requests if {@code application.async.virtual-request-handling} is enabled. The number of JDBC
+ * connections borrowed at the same time is limited to the size of the connection pool; with a replica database, to the
+ * size of each pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "application.async.mode", havingValue = "virtual")
+public class VirtualThreadsConfiguration {
+
+    /**
+     * Runs after the read-write routing, see {@link ReadReplicaConfiguration#ROUTING_DATA_SOURCE_POST_PROCESSOR_ORDER}.
+     */
+    public static final int CONCURRENCY_LIMIT_DATA_SOURCE_POST_PROCESSOR_ORDER =
+        ReadReplicaConfiguration.ROUTING_DATA_SOURCE_POST_PROCESSOR_ORDER + 10;
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadsConfiguration.class);
+
+    private static final Duration DEFAULT_CONNECTION_TIMEOUT = Duration.ofSeconds(30);
+
+    static void checkVirtualThreadsSupported() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException(
+                "application.async.mode=virtual requires Java 21 or later, the application runs on Java " + Runtime.version()
+            );
+        }
+    }
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+        return new ConcurrencyLimitedDataSourcePostProcessor(applicationProperties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "application.async.virtual-request-handling", havingValue = "true")
+    public UndertowDeploymentInfoCustomizer virtualThreadsDeploymentInfoCustomizer() {
+        checkVirtualThreadsSupported();
+        LOG.debug("Handling HTTP requests with virtual threads");
+        return deploymentInfo -> deploymentInfo.setExecutor(new VirtualThreadTaskExecutor("crud-request-"));
+    }
+
+    /**
+     * Limits the concurrent connections of each connection pool, including both pools of a read-write routing.
+     */
+    private static final class ConcurrencyLimitedDataSourcePostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ApplicationProperties> applicationProperties;
+
+        private ConcurrencyLimitedDataSourcePostProcessor(ObjectProvider<ApplicationProperties> applicationProperties) {
+            this.applicationProperties = applicationProperties;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof ReadWriteRoutingDataSource routingDataSource) {
+                return routingDataSource.withDecoratedPools(pool -> limit(pool, beanName));
+            }
+            return bean instanceof DataSource dataSource ? limit(dataSource, beanName) : bean;
+        }
+
+        private DataSource limit(DataSource dataSource, String beanName) {
+            if (dataSource instanceof ConcurrencyLimitedDataSource) {
+                return dataSource;
+            }
+            int limit = applicationProperties.getObject().getAsync().getJdbcConcurrencyLimit();
+            Duration timeout = DEFAULT_CONNECTION_TIMEOUT;
+            if (dataSource instanceof HikariDataSource hikariDataSource) {
+                limit = limit > 0 ? limit : hikariDataSource.getMaximumPoolSize();
+                timeout = Duration.ofMillis(hikariDataSource.getConnectionTimeout());
+            }
+            if (limit <= 0) {
+                return dataSource;
+            }
+            LOG.debug("Limiting data source '{}' ({}) to {} concurrent connections", beanName, dataSource, limit);
+            return new ConcurrencyLimitedDataSource(dataSource, limit, timeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return CONCURRENCY_LIMIT_DATA_SOURCE_POST_PROCESSOR_ORDER;
+        }
+    }
+}
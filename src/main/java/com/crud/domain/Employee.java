@@ -30,7 +30,7 @@ public class Employee implements Serializable {
     @Column(name = "gender")
     private String gender;
 
-    @Column(name = "pancard")
+    @Column(name = "pancard", unique = true)
     private Long pancard;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -0,0 +1,105 @@
+package com.crud.domain;
+
+import com.crud.domain.enumeration.ChangeOperation;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A change of an entity in the change feed.
+ * <p>
+ * Changes are appended with JDBC by {@link com.crud.repository.changes.EntityChangeLog}, in the transaction of the
+ * change, and only read through JPA.
+ */
+@Entity
+@Table(name = "entity_change")
+public class EntityChange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "seq")
+    private Long seq;
+
+    @Column(name = "entity_type", length = 20, nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", length = 36, nullable = false)
+    private String entityId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", length = 10, nullable = false)
+    private ChangeOperation operation;
+
+    @Column(name = "created_date", nullable = false)
+    private Instant createdDate;
+
+    public Long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public String getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public String getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(String entityId) {
+        this.entityId = entityId;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    public Instant getCreatedDate() {
+        return createdDate;
+    }
+
+    public void setCreatedDate(Instant createdDate) {
+        this.createdDate = createdDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EntityChange)) {
+            return false;
+        }
+        return getSeq() != null && getSeq().equals(((EntityChange) o).getSeq());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChange{" +
+            "seq=" + getSeq() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId='" + getEntityId() + "'" +
+            ", operation='" + getOperation() + "'" +
+            ", createdDate='" + getCreatedDate() + "'" +
+            "}";
+    }
+}
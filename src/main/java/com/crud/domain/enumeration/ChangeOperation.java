@@ -0,0 +1,9 @@
+package com.crud.domain.enumeration;
+
+/**
+ * The ChangeOperation enumeration.
+ */
+public enum ChangeOperation {
+    UPSERT,
+    DELETE
+}
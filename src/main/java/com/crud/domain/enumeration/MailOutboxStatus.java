@@ -0,0 +1,9 @@
+package com.crud.domain.enumeration;
+
+/**
+ * The MailOutboxStatus enumeration.
+ */
+public enum MailOutboxStatus {
+    PENDING,
+    FAILED
+}
@@ -0,0 +1,69 @@
+package com.crud.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters of the SQL statements run by the HTTP requests, tagged like {@code http.server.requests} with the
+ * {@code method} and the {@code uri} template of the endpoint.
+ * <p>
+ * Percentiles can be published with the standard {@code management.metrics.distribution.*} properties.
+ */
+@Service
+public class SqlMetersService {
+
+    public static final String STATEMENTS_METER_NAME = "http.server.requests.sql.statements";
+    public static final String STATEMENTS_METER_DESCRIPTION = "Number of SQL statements run by each HTTP request.";
+    public static final String ROWS_METER_NAME = "http.server.requests.sql.rows";
+    public static final String ROWS_METER_DESCRIPTION = "Number of rows read or written by the SQL statements of each HTTP request.";
+    public static final String TIME_METER_NAME = "http.server.requests.sql.time";
+    public static final String TIME_METER_DESCRIPTION = "Time spent running the SQL statements of each HTTP request.";
+    public static final String METHOD_DIMENSION = "method";
+    public static final String URI_DIMENSION = "uri";
+
+    private final MeterRegistry registry;
+
+    private final Map<String, RequestMeters> requestMeters = new ConcurrentHashMap<>();
+
+    public SqlMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Record the SQL statements run by an HTTP request.
+     *
+     * @param method the HTTP method of the request.
+     * @param uri the URI template of the endpoint, for example {@code /api/employees/{id}}.
+     * @param statistics the statements run by the request.
+     */
+    public void record(String method, String uri, SqlStatementStatistics statistics) {
+        RequestMeters meters = requestMeters.computeIfAbsent(method + ' ' + uri, key -> registerRequestMeters(method, uri));
+        meters.statements.record(statistics.getStatements());
+        meters.rows.record(statistics.getRows());
+        meters.time.record(statistics.getNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private RequestMeters registerRequestMeters(String method, String uri) {
+        Tags tags = Tags.of(METHOD_DIMENSION, method, URI_DIMENSION, uri);
+        DistributionSummary statements = DistributionSummary.builder(STATEMENTS_METER_NAME)
+            .description(STATEMENTS_METER_DESCRIPTION)
+            .baseUnit("statements")
+            .tags(tags)
+            .register(registry);
+        DistributionSummary rows = DistributionSummary.builder(ROWS_METER_NAME)
+            .description(ROWS_METER_DESCRIPTION)
+            .baseUnit("rows")
+            .tags(tags)
+            .register(registry);
+        Timer time = Timer.builder(TIME_METER_NAME).description(TIME_METER_DESCRIPTION).tags(tags).register(registry);
+        return new RequestMeters(statements, rows, time);
+    }
+
+    private record RequestMeters(DistributionSummary statements, DistributionSummary rows, Timer time) {}
+}
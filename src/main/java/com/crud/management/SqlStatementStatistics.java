@@ -0,0 +1,191 @@
+package com.crud.management;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements run by the current thread while it handles an HTTP request.
+ * <p>
+ * Statements are counted by shape: the SQL with its literals and in-lists replaced by a single {@code ?}, so that the
+ * same query run once per entity of a list, the usual N+1 pattern, shows up as one shape repeated N times.
+ */
+public final class SqlStatementStatistics implements AutoCloseable {
+
+    private static final ThreadLocal<SqlStatementStatistics> CURRENT = new ThreadLocal<>();
+
+    private final SqlStatementStatistics previous;
+
+    private final Map<String, Integer> shapes = new HashMap<>();
+
+    private int statements;
+
+    private long rows;
+
+    private long nanos;
+
+    private String mostRepeatedShape;
+
+    private int mostRepeatedShapeCount;
+
+    private SqlStatementStatistics(SqlStatementStatistics previous) {
+        this.previous = previous;
+    }
+
+    /**
+     * Start recording the statements run by the current thread, until {@link #close()}.
+     *
+     * @return the statistics of the statements.
+     */
+    public static SqlStatementStatistics start() {
+        SqlStatementStatistics statistics = new SqlStatementStatistics(CURRENT.get());
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * @return the statistics recorded by the current thread, {@code null} if it does not record any.
+     */
+    public static SqlStatementStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Record a statement about to be prepared.
+     *
+     * @param sql the SQL of the statement.
+     */
+    public void recordStatement(String sql) {
+        String shape = shapeOf(sql);
+        int count = shapes.merge(shape, 1, Integer::sum);
+        if (count > mostRepeatedShapeCount) {
+            mostRepeatedShape = shape;
+            mostRepeatedShapeCount = count;
+        }
+    }
+
+    /**
+     * Record the execution of a statement.
+     *
+     * @param nanos how long the execution took, in nanoseconds.
+     * @param rows the number of rows written.
+     */
+    public void recordExecution(long nanos, long rows) {
+        this.statements++;
+        this.nanos += nanos;
+        this.rows += rows;
+    }
+
+    /**
+     * Record rows read from a result set.
+     *
+     * @param rows the number of rows read.
+     */
+    public void recordRows(long rows) {
+        this.rows += rows;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return the shape of the statement prepared the most times, {@code null} if no statement was prepared.
+     */
+    public String getMostRepeatedShape() {
+        return mostRepeatedShape;
+    }
+
+    public int getMostRepeatedShapeCount() {
+        return mostRepeatedShapeCount;
+    }
+
+    @Override
+    public void close() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Replace the string and number literals of a SQL statement, and its lists of parameters, with a single {@code ?}.
+     *
+     * @param sql the SQL of a statement.
+     * @return the shape of the statement.
+     */
+    static String shapeOf(String sql) {
+        StringBuilder shape = new StringBuilder(sql.length());
+        int i = 0;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\'') {
+                i = endOfStringLiteral(sql, i);
+                appendPlaceholder(shape);
+            } else if (Character.isDigit(c) && (i == 0 || !isIdentifierPart(sql.charAt(i - 1)))) {
+                while (i < sql.length() && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                appendPlaceholder(shape);
+            } else if (c == '?') {
+                i++;
+                appendPlaceholder(shape);
+            } else if (Character.isWhitespace(c)) {
+                i++;
+                if (!shape.isEmpty() && shape.charAt(shape.length() - 1) != ' ') {
+                    shape.append(' ');
+                }
+            } else {
+                i++;
+                shape.append(c);
+            }
+        }
+        return shape.toString();
+    }
+
+    private static int endOfStringLiteral(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            if (sql.charAt(i) == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                    continue;
+                }
+                return i + 1;
+            }
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean isIdentifierPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '.';
+    }
+
+    private static void appendPlaceholder(StringBuilder shape) {
+        // "?, ?" collapses into "?", so that in-lists of any length have the same shape
+        int end = shape.length();
+        while (end > 0 && shape.charAt(end - 1) == ' ') {
+            end--;
+        }
+        if (end > 0 && shape.charAt(end - 1) == ',') {
+            int beforeComma = end - 1;
+            while (beforeComma > 0 && shape.charAt(beforeComma - 1) == ' ') {
+                beforeComma--;
+            }
+            if (beforeComma > 0 && shape.charAt(beforeComma - 1) == '?') {
+                shape.setLength(beforeComma);
+                return;
+            }
+        }
+        shape.append('?');
+    }
+}
@@ -0,0 +1,183 @@
+package com.crud.management;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.stereotype.Service;
+
+/**
+ * Meters of the task executors and of the scheduled jobs.
+ * <p>
+ * Pool meters ({@code executor.active}, {@code executor.queued}, ...) come from Micrometer's
+ * {@link ExecutorServiceMetrics}, tagged with the {@code name} of the executor. Spring Boot binds them for the task
+ * scheduler, and {@link #monitor(ThreadPoolExecutor, String)} binds them for the executors it cannot see. The duration
+ * of the scheduled jobs is recorded by Spring as {@code tasks.scheduled.execution}; the scheduled job meters below use
+ * the same {@code code.namespace} and {@code code.function} tags.
+ */
+@Service
+public class TaskMetersService {
+
+    public static final String QUEUE_WAIT_METER_NAME = "executor.task.queue-wait";
+    public static final String QUEUE_WAIT_METER_DESCRIPTION = "Time spent by the tasks in the queue of the executor.";
+    public static final String EXECUTION_METER_NAME = "executor.task.execution";
+    public static final String EXECUTION_METER_DESCRIPTION = "Time spent by the executor running the tasks.";
+    public static final String REJECTIONS_METER_NAME = "executor.rejections";
+    public static final String REJECTIONS_METER_DESCRIPTION = "Number of tasks rejected by the executor.";
+    public static final String EXECUTOR_DIMENSION = "name";
+    public static final String TASK_DIMENSION = "task";
+
+    public static final String SCHEDULED_LAST_RUN_METER_NAME = "tasks.scheduled.last-run";
+    public static final String SCHEDULED_LAST_RUN_METER_DESCRIPTION =
+        "When the scheduled job last completed, in seconds since the epoch.";
+    public static final String SCHEDULED_OVERRUNS_METER_NAME = "tasks.scheduled.overruns";
+    public static final String SCHEDULED_OVERRUNS_METER_DESCRIPTION =
+        "Number of runs of the scheduled job which outlasted its period.";
+    public static final String SCHEDULED_NAMESPACE_DIMENSION = "code.namespace";
+    public static final String SCHEDULED_FUNCTION_DIMENSION = "code.function";
+
+    /**
+     * Tasks which are not {@code @Async} methods, such as the asynchronous Liquibase start.
+     */
+    public static final String UNNAMED_TASK = "other";
+
+    private static final ThreadLocal<RunningTask> RUNNING_TASK = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    private final Map<Method, ScheduledJobMeters> scheduledJobMeters = new ConcurrentHashMap<>();
+
+    public TaskMetersService(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Bind the pool meters of an executor.
+     *
+     * @param executor the executor.
+     * @param executorName the name of the executor, for example {@code taskExecutor}.
+     */
+    public void monitor(ThreadPoolExecutor executor, String executorName) {
+        new ExecutorServiceMetrics(executor, executorName, Tags.empty()).bindTo(registry);
+    }
+
+    /**
+     * Create a decorator recording how long each task waits in the queue, and how long it runs.
+     * <p>
+     * Tasks are tagged with the name given by {@link #nameRunningTask(String)}, or {@link #UNNAMED_TASK}.
+     *
+     * @param executorName the name of the executor.
+     * @return the decorator.
+     */
+    public TaskDecorator timingTaskDecorator(String executorName) {
+        return runnable -> {
+            long submitted = System.nanoTime();
+            return () -> {
+                RunningTask task = new RunningTask();
+                long started = System.nanoTime();
+                RUNNING_TASK.set(task);
+                try {
+                    runnable.run();
+                } finally {
+                    RUNNING_TASK.remove();
+                    long ended = System.nanoTime();
+                    Tags tags = Tags.of(EXECUTOR_DIMENSION, executorName, TASK_DIMENSION, task.name);
+                    Timer.builder(QUEUE_WAIT_METER_NAME)
+                        .description(QUEUE_WAIT_METER_DESCRIPTION)
+                        .tags(tags)
+                        .register(registry)
+                        .record(started - submitted, TimeUnit.NANOSECONDS);
+                    Timer.builder(EXECUTION_METER_NAME)
+                        .description(EXECUTION_METER_DESCRIPTION)
+                        .tags(tags)
+                        .register(registry)
+                        .record(ended - started, TimeUnit.NANOSECONDS);
+                }
+            };
+        };
+    }
+
+    /**
+     * Name the task running on the current thread, if it was decorated by {@link #timingTaskDecorator(String)}.
+     *
+     * @param name the name of the task, for example {@code MailService.sendEmail}.
+     */
+    public static void nameRunningTask(String name) {
+        RunningTask task = RUNNING_TASK.get();
+        if (task != null) {
+            task.name = name;
+        }
+    }
+
+    /**
+     * Count the tasks rejected by an executor.
+     *
+     * @param executorName the name of the executor.
+     * @param delegate the handler deciding what happens to the rejected tasks.
+     * @return the counting handler.
+     */
+    public RejectedExecutionHandler countingRejectedExecutionHandler(String executorName, RejectedExecutionHandler delegate) {
+        Counter rejections = Counter.builder(REJECTIONS_METER_NAME)
+            .description(REJECTIONS_METER_DESCRIPTION)
+            .baseUnit("tasks")
+            .tag(EXECUTOR_DIMENSION, executorName)
+            .register(registry);
+        return (runnable, executor) -> {
+            rejections.increment();
+            delegate.rejectedExecution(runnable, executor);
+        };
+    }
+
+    /**
+     * Record a run of a scheduled job.
+     *
+     * @param method the scheduled method.
+     * @param ended when the run ended.
+     * @param nextScheduledRun when the next run was due, as of the start of this one, {@code null} if unknown.
+     */
+    public void trackScheduledRun(Method method, Instant ended, Instant nextScheduledRun) {
+        ScheduledJobMeters meters = scheduledJobMeters.computeIfAbsent(method, this::registerScheduledJobMeters);
+        meters.lastRun.set(ended.toEpochMilli());
+        if (nextScheduledRun != null && ended.isAfter(nextScheduledRun)) {
+            meters.overruns.increment();
+        }
+    }
+
+    private ScheduledJobMeters registerScheduledJobMeters(Method method) {
+        Tags tags = Tags.of(
+            SCHEDULED_NAMESPACE_DIMENSION,
+            method.getDeclaringClass().getName(),
+            SCHEDULED_FUNCTION_DIMENSION,
+            method.getName()
+        );
+        AtomicLong lastRun = new AtomicLong();
+        TimeGauge.builder(SCHEDULED_LAST_RUN_METER_NAME, lastRun, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description(SCHEDULED_LAST_RUN_METER_DESCRIPTION)
+            .tags(tags)
+            .register(registry);
+        Counter overruns = Counter.builder(SCHEDULED_OVERRUNS_METER_NAME)
+            .description(SCHEDULED_OVERRUNS_METER_DESCRIPTION)
+            .baseUnit("runs")
+            .tags(tags)
+            .register(registry);
+        return new ScheduledJobMeters(lastRun, overruns);
+    }
+
+    private static final class RunningTask {
+
+        private String name = UNNAMED_TASK;
+    }
+
+    private record ScheduledJobMeters(AtomicLong lastRun, Counter overruns) {}
+}
@@ -1,6 +1,9 @@
 package com.crud.repository;
 
 import com.crud.domain.Company;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +12,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CompanyRepository extends JpaRepository<Company, Long> {}
+public interface CompanyRepository extends JpaRepository<Company, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select company from Company company")
+    List<Company> findAllReadOnly();
+}
@@ -1,7 +1,14 @@
 package com.crud.repository;
 
 import com.crud.domain.Employee;
+import jakarta.persistence.QueryHint;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +16,51 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {}
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryWithUpsert {
+    /**
+     * Stream the searchable fields of all employees, row by row, to build the search index.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+        }
+    )
+    @Query("select employee.id, employee.name from Employee employee")
+    Stream<Object[]> streamSearchFields();
+
+    /**
+     * Load all the employees as read-only entities, for which Hibernate keeps no snapshot to detect changes, even when
+     * called from a read-write transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select employee from Employee employee")
+    List<Employee> findAllReadOnly();
+
+    /**
+     * Load a page of the employees of a company as read-only entities, by increasing id, starting after the given id.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select employee from Employee employee where employee.company.id = :companyId and employee.id > :afterId order by employee.id"
+    )
+    List<Employee> findByCompanyIdAfter(@Param("companyId") Long companyId, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Same as {@link #findByCompanyIdAfter(Long, long, Limit)}, with the company fetched by the same query.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select employee from Employee employee join fetch employee.company " +
+        "where employee.company.id = :companyId and employee.id > :afterId order by employee.id"
+    )
+    List<Employee> findWithCompanyByCompanyIdAfter(@Param("companyId") Long companyId, @Param("afterId") long afterId, Limit limit);
+
+    long countByCompanyId(Long companyId);
+
+    /**
+     * Find the id of the employee with the given pancard, without loading it.
+     */
+    @Query("select employee.id from Employee employee where employee.pancard = :pancard")
+    Optional<Long> findIdByPancard(@Param("pancard") Long pancard);
+}
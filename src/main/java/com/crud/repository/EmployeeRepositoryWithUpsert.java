@@ -0,0 +1,21 @@
+package com.crud.repository;
+
+import com.crud.domain.Employee;
+import java.util.List;
+
+/**
+ * Upsert support for the {@link Employee} entity, keyed by its unique pancard.
+ * <p>
+ * Loading each employee to decide between an insert and an update costs several round trips per row, so upserts go
+ * through multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE} statements instead.
+ */
+public interface EmployeeRepositoryWithUpsert {
+    /**
+     * Insert the employees whose pancard is unknown and replace all the fields of the others, then set the ids on the
+     * given employees.
+     *
+     * @param employees the employees to upsert, with distinct, non-null pancards.
+     * @return the number of employees inserted, the others having been updated.
+     */
+    int upsertAllByPancard(List<Employee> employees);
+}
@@ -0,0 +1,75 @@
+package com.crud.repository;
+
+import com.crud.domain.Employee;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC implementation of {@link EmployeeRepositoryWithUpsert}.
+ */
+public class EmployeeRepositoryWithUpsertImpl implements EmployeeRepositoryWithUpsert {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String UPSERT_SQL_PREFIX = "insert into employee (name, age, gender, pancard, company_id) values ";
+
+    private static final String UPSERT_SQL_ROW = "(?, ?, ?, ?, ?)";
+
+    private static final String UPSERT_SQL_SUFFIX =
+        " as new on duplicate key update name = new.name, age = new.age, gender = new.gender, company_id = new.company_id";
+
+    private static final String SELECT_IDS_SQL = "select id, pancard from employee where pancard in (:pancards)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EmployeeRepositoryWithUpsertImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public int upsertAllByPancard(List<Employee> employees) {
+        int inserted = 0;
+        for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+            inserted += upsertBatch(employees.subList(from, Math.min(from + BATCH_SIZE, employees.size())));
+        }
+        return inserted;
+    }
+
+    private int upsertBatch(List<Employee> employees) {
+        Map<Long, Employee> employeesByPancard = employees.stream().collect(Collectors.toMap(Employee::getPancard, Function.identity()));
+        // The affected rows of a multi-row statement do not tell inserts from updates, so look the pancards up first
+        Set<Long> existing = new HashSet<>();
+        jdbcTemplate.query(SELECT_IDS_SQL, Map.of("pancards", employeesByPancard.keySet()), rs -> {
+            existing.add(rs.getLong("pancard"));
+        });
+
+        jdbcTemplate
+            .getJdbcOperations()
+            .update(upsertSql(employees.size()), ps -> {
+                int index = 1;
+                for (Employee employee : employees) {
+                    ps.setString(index++, employee.getName());
+                    ps.setObject(index++, employee.getAge(), Types.INTEGER);
+                    ps.setString(index++, employee.getGender());
+                    ps.setLong(index++, employee.getPancard());
+                    ps.setObject(index++, employee.getCompany() == null ? null : employee.getCompany().getId(), Types.BIGINT);
+                }
+            });
+
+        jdbcTemplate.query(SELECT_IDS_SQL, Map.of("pancards", employeesByPancard.keySet()), rs -> {
+            employeesByPancard.get(rs.getLong("pancard")).setId(rs.getLong("id"));
+        });
+        return employees.size() - existing.size();
+    }
+
+    static String upsertSql(int rows) {
+        return UPSERT_SQL_PREFIX + String.join(", ", Collections.nCopies(rows, UPSERT_SQL_ROW)) + UPSERT_SQL_SUFFIX;
+    }
+}
@@ -0,0 +1,84 @@
+package com.crud.repository;
+
+import com.crud.domain.EntityChange;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link EntityChange} entity.
+ * <p>
+ * Changes are appended by {@link com.crud.repository.changes.EntityChangeLog}; this repository reads them, and
+ * removes the ones no longer needed.
+ */
+@Repository
+public interface EntityChangeRepository extends JpaRepository<EntityChange, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select entityChange from EntityChange entityChange where entityChange.seq > :since order by entityChange.seq")
+    List<EntityChange> findAllAfter(@Param("since") long since, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select entityChange from EntityChange entityChange where entityChange.entityType = :entityType and entityChange.seq > :since " +
+        "order by entityChange.seq"
+    )
+    List<EntityChange> findAllByEntityTypeAfter(@Param("entityType") String entityType, @Param("since") long since, Limit limit);
+
+    @Query(value = "select last_seq from change_sequence where id = 1", nativeQuery = true)
+    long findLastSeq();
+
+    /**
+     * @return the sequence number of the last change removed by the retention: the changes after it are all available.
+     */
+    @Query(value = "select purged_seq from change_sequence where id = 1", nativeQuery = true)
+    long findPurgedSeq();
+
+    @Query("select max(entityChange.seq) from EntityChange entityChange where entityChange.createdDate < :before")
+    Long findLastSeqBefore(@Param("before") Instant before);
+
+    /**
+     * @return the sequence number of the last change compacted: the changes superseded by a change up to it are removed.
+     */
+    @Query(value = "select compacted_seq from change_sequence where id = 1", nativeQuery = true)
+    long findCompactedSeq();
+
+    /**
+     * Remove up to {@code limit} changes, up to the given sequence number, the oldest first.
+     *
+     * @return the number of changes removed.
+     */
+    @Modifying
+    @Query(value = "delete from entity_change where seq <= :upTo order by seq limit :limit", nativeQuery = true)
+    int deleteUpTo(@Param("upTo") long upTo, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "update change_sequence set purged_seq = greatest(purged_seq, :seq) where id = 1", nativeQuery = true)
+    int updatePurgedSeq(@Param("seq") long seq);
+
+    @Modifying
+    @Query(value = "update change_sequence set compacted_seq = greatest(compacted_seq, :seq) where id = 1", nativeQuery = true)
+    int updateCompactedSeq(@Param("seq") long seq);
+
+    /**
+     * Remove the changes followed by a later change of the same entity in the given range, which supersedes them for
+     * the consumers.
+     *
+     * @return the number of changes removed.
+     */
+    @Modifying
+    @Query(
+        value = "delete superseded from entity_change superseded join entity_change later " +
+        "on later.entity_type = superseded.entity_type and later.entity_id = superseded.entity_id and later.seq > superseded.seq " +
+        "where later.seq > :from and later.seq <= :to",
+        nativeQuery = true
+    )
+    int deleteSupersededBetween(@Param("from") long from, @Param("to") long to);
+}
@@ -0,0 +1,36 @@
+package com.crud.repository;
+
+import com.crud.domain.MailOutboxMessage;
+import com.crud.domain.enumeration.MailOutboxStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link MailOutboxMessage} entity.
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutboxMessage, Long> {
+    /**
+     * Lock the pending messages due for delivery, skipping the ones already locked by another instance: a lock timeout
+     * of {@code -2} makes Hibernate render {@code SKIP LOCKED}.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))
+    @Query(
+        "select message from MailOutboxMessage message where message.status = :status and message.nextAttemptDate <= :now " +
+        "order by message.nextAttemptDate"
+    )
+    List<MailOutboxMessage> findDueForUpdate(@Param("status") MailOutboxStatus status, @Param("now") Instant now, Limit limit);
+
+    long countByStatus(MailOutboxStatus status);
+}
@@ -1,7 +1,10 @@
 package com.crud.repository;
 
 import com.crud.domain.Manager;
+import jakarta.persistence.QueryHint;
+import java.util.List;
 import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +13,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface ManagerRepository extends JpaRepository<Manager, UUID> {}
+public interface ManagerRepository extends JpaRepository<Manager, UUID> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select manager from Manager manager")
+    List<Manager> findAllReadOnly();
+}
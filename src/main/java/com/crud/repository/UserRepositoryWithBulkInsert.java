@@ -0,0 +1,21 @@
+package com.crud.repository;
+
+import com.crud.domain.User;
+import java.util.List;
+
+/**
+ * Bulk insert support for the {@link User} entity.
+ * <p>
+ * {@code jhi_user} uses identity ids, which prevents Hibernate from batching inserts,
+ * so bulk creation goes through JDBC batches instead.
+ */
+public interface UserRepositoryWithBulkInsert {
+    /**
+     * Insert new users and their authorities using JDBC batches, then set the generated ids on the given users.
+     * <p>
+     * Auditing is not applied: the audit fields must already be set on the users.
+     *
+     * @param users the new users, without ids.
+     */
+    void insertAll(List<User> users);
+}
@@ -0,0 +1,85 @@
+package com.crud.repository;
+
+import com.crud.domain.Authority;
+import com.crud.domain.User;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * JDBC implementation of {@link UserRepositoryWithBulkInsert}.
+ */
+public class UserRepositoryWithBulkInsertImpl implements UserRepositoryWithBulkInsert {
+
+    private static final int BATCH_SIZE = 500;
+
+    // Same as hibernate.jdbc.time_zone, so that rows read back through JPA are not shifted
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final String INSERT_USER_SQL =
+        "insert into jhi_user (login, password_hash, first_name, last_name, email, image_url, activated, lang_key, " +
+        "activation_key, reset_key, reset_date, created_by, created_date, last_modified_by, last_modified_date) " +
+        "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_USER_AUTHORITY_SQL = "insert into jhi_user_authority (user_id, authority_name) values (?, ?)";
+
+    private static final String SELECT_IDS_SQL = "select id, login from jhi_user where login in (:logins)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public UserRepositoryWithBulkInsertImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void insertAll(List<User> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate
+            .getJdbcOperations()
+            .batchUpdate(INSERT_USER_SQL, users, BATCH_SIZE, (ps, user) -> {
+                ps.setString(1, user.getLogin());
+                ps.setString(2, user.getPassword());
+                ps.setString(3, user.getFirstName());
+                ps.setString(4, user.getLastName());
+                ps.setString(5, user.getEmail());
+                ps.setString(6, user.getImageUrl());
+                ps.setBoolean(7, user.isActivated());
+                ps.setString(8, user.getLangKey());
+                ps.setString(9, user.getActivationKey());
+                ps.setString(10, user.getResetKey());
+                setInstant(ps, 11, user.getResetDate());
+                ps.setString(12, user.getCreatedBy());
+                setInstant(ps, 13, user.getCreatedDate());
+                ps.setString(14, user.getLastModifiedBy());
+                setInstant(ps, 15, user.getLastModifiedDate());
+            });
+
+        Map<String, User> usersByLogin = users.stream().collect(Collectors.toMap(User::getLogin, Function.identity()));
+        jdbcTemplate.query(SELECT_IDS_SQL, Map.of("logins", usersByLogin.keySet()), rs -> {
+            usersByLogin.get(rs.getString("login")).setId(rs.getLong("id"));
+        });
+
+        List<Object[]> userAuthorities = new ArrayList<>();
+        for (User user : users) {
+            for (Authority authority : user.getAuthorities()) {
+                userAuthorities.add(new Object[] { user.getId(), authority.getName() });
+            }
+        }
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_USER_AUTHORITY_SQL, userAuthorities);
+    }
+
+    private static void setInstant(PreparedStatement ps, int index, Instant instant) throws SQLException {
+        ps.setTimestamp(index, instant == null ? null : Timestamp.from(instant), Calendar.getInstance(UTC));
+    }
+}
@@ -1,7 +1,15 @@
 package com.crud.repository;
 
 import com.crud.domain.Workers;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +17,69 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface WorkersRepository extends JpaRepository<Workers, Long> {}
+public interface WorkersRepository extends JpaRepository<Workers, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select workers from Workers workers")
+    List<Workers> findAllReadOnly();
+
+    /**
+     * Load a page of the workers of a manager as read-only entities, by increasing id, starting after the given id.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("select workers from Workers workers where workers.manager.id = :managerId and workers.id > :afterId order by workers.id")
+    List<Workers> findByManagerIdAfter(@Param("managerId") UUID managerId, @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Same as {@link #findByManagerIdAfter(UUID, long, Limit)}, with the manager fetched by the same query.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query(
+        "select workers from Workers workers join fetch workers.manager " +
+        "where workers.manager.id = :managerId and workers.id > :afterId order by workers.id"
+    )
+    List<Workers> findWithManagerByManagerIdAfter(@Param("managerId") UUID managerId, @Param("afterId") long afterId, Limit limit);
+
+    long countByManagerId(UUID managerId);
+
+    /**
+     * Lock the workers of a manager until the end of the transaction, and the range of the index on their manager, so
+     * that no worker is added to or removed from the manager meanwhile.
+     *
+     * @param managerId the id of the manager, as stored in {@code workers.manager_id}.
+     * @return the number of workers of the manager.
+     */
+    @Query(value = "select count(*) from workers where manager_id = :managerId for update", nativeQuery = true)
+    int countByManagerIdForUpdate(@Param("managerId") String managerId);
+
+    /**
+     * Lock the given workers of a manager until the end of the transaction.
+     *
+     * @return the ids of the workers of the manager among the given ones.
+     * @see #countByManagerIdForUpdate(String)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select workers.id from Workers workers where workers.manager.id = :managerId and workers.id in :ids")
+    List<Long> findIdsByManagerIdAndIdInForUpdate(@Param("managerId") UUID managerId, @Param("ids") Collection<Long> ids);
+
+    /**
+     * Move all the workers of a manager to another one, in a single statement.
+     * <p>
+     * The persistence context is flushed before and cleared after, so that no stale {@code Manager.ids} collection
+     * or {@code Workers.manager} reference outlives the update.
+     *
+     * @return the number of workers moved.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Workers workers set workers.manager.id = :targetId where workers.manager.id = :sourceId")
+    int reassignAll(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId);
+
+    /**
+     * Move the given workers of a manager to another one, in a single statement; the other workers are left as they are.
+     *
+     * @return the number of workers moved.
+     * @see #reassignAll(UUID, UUID)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Workers workers set workers.manager.id = :targetId where workers.manager.id = :sourceId and workers.id in :ids")
+    int reassign(@Param("sourceId") UUID sourceId, @Param("targetId") UUID targetId, @Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,69 @@
+package com.crud.repository.changes;
+
+import com.crud.domain.enumeration.ChangeOperation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener appending the entity changes flushed by a transaction to the {@link EntityChangeLog}.
+ * <p>
+ * The changes of a transaction are collected as they are flushed, and appended together right before it commits,
+ * after the last flush, so that the {@code change_sequence} row is only locked for the duration of the commit. They
+ * are collected by Hibernate session, as each transaction has its own, including a transaction started while another
+ * one is suspended.
+ */
+public class EntityChangeEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+    private final Map<EventSource, List<EntityChangeLog.Change>> pendingChangesBySession = new ConcurrentHashMap<>();
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId(), ChangeOperation.UPSERT);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId(), ChangeOperation.UPSERT);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId(), ChangeOperation.DELETE);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void collect(EventSource session, EntityPersister persister, Object id, ChangeOperation operation) {
+        String entityType = EntityChangeLog.ENTITY_TYPES.get(persister.getMappedClass());
+        if (entityType == null) {
+            return;
+        }
+        pendingChanges(session).add(new EntityChangeLog.Change(entityType, id.toString(), operation));
+    }
+
+    private List<EntityChangeLog.Change> pendingChanges(EventSource session) {
+        return pendingChangesBySession.computeIfAbsent(session, key -> {
+            List<EntityChangeLog.Change> changes = new ArrayList<>();
+            ActionQueue actionQueue = session.getActionQueue();
+            actionQueue.registerProcess(beforeCommitSession ->
+                beforeCommitSession.doWork(connection -> EntityChangeLog.append(connection, changes))
+            );
+            actionQueue.registerProcess((success, completedSession) -> pendingChangesBySession.remove(session));
+            return changes;
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.crud.repository.changes;
+
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.domain.Manager;
+import com.crud.domain.Workers;
+import com.crud.domain.enumeration.ChangeOperation;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.UUID;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Append-only log of the changes of the {@link Company}, {@link Employee}, {@link Manager} and {@link Workers}
+ * entities, read through the change feed.
+ * <p>
+ * Changes are appended in the transaction of the entity change. Their sequence numbers are taken from the single
+ * {@code change_sequence} row, which stays locked until the transaction ends: transactions appending changes commit in
+ * the order of their sequence numbers, so a consumer reading the changes after a sequence number never misses one
+ * committed later with a lower number.
+ */
+@Repository
+public class EntityChangeLog {
+
+    /**
+     * The entity type of the changes of each entity class.
+     */
+    public static final Map<Class<?>, String> ENTITY_TYPES = Map.of(
+        Company.class,
+        "company",
+        Employee.class,
+        "employee",
+        Manager.class,
+        "manager",
+        Workers.class,
+        "workers"
+    );
+
+    static final int BATCH_SIZE = 500;
+
+    // Same as hibernate.jdbc.time_zone, so that rows read back through JPA are not shifted
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    static final String NEXT_SEQ_SQL = "update change_sequence set last_seq = last_insert_id(last_seq + ?) where id = 1";
+
+    private static final String INSERT_SQL_PREFIX =
+        "insert into entity_change (seq, entity_type, entity_id, operation, created_date) values ";
+
+    private static final String INSERT_SQL_ROW = "(last_insert_id() - ?, ?, ?, ?, ?)";
+
+    static final String INSERT_MANAGER_WORKERS_SQL =
+        "insert into entity_change (seq, entity_type, entity_id, operation, created_date) " +
+        "select last_insert_id() - ? + row_number() over (order by id), ?, id, ?, ? from workers where manager_id = ?";
+
+    /**
+     * A change to append.
+     */
+    public static final class Change {
+
+        private final String entityType;
+
+        private final String entityId;
+
+        private final ChangeOperation operation;
+
+        /**
+         * @param entityType the entity type, from {@link #ENTITY_TYPES}.
+         * @param entityId the id of the entity.
+         * @param operation the change.
+         */
+        public Change(String entityType, String entityId, ChangeOperation operation) {
+            this.entityType = entityType;
+            this.entityId = entityId;
+            this.operation = operation;
+        }
+
+        public String getEntityType() {
+            return entityType;
+        }
+
+        public String getEntityId() {
+            return entityId;
+        }
+
+        public ChangeOperation getOperation() {
+            return operation;
+        }
+    }
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public EntityChangeLog(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Append the upserts of entities written without Hibernate, which {@link EntityChangeEventListener} does not see.
+     *
+     * @param entityClass the class of the entities.
+     * @param ids the ids of the entities.
+     */
+    public void appendUpserts(Class<?> entityClass, Collection<?> ids) {
+        String entityType = ENTITY_TYPES.get(entityClass);
+        List<Change> changes = ids.stream().map(id -> new Change(entityType, id.toString(), ChangeOperation.UPSERT)).toList();
+        jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Void>) connection -> {
+            append(connection, changes);
+            return null;
+        });
+    }
+
+    /**
+     * Append the upserts of all the workers of a manager, moved by a bulk update, with a single insert selecting them
+     * rather than loading their ids. It must run before the workers are moved.
+     *
+     * @param managerId the id of the manager.
+     * @param count the number of workers of the manager, which the caller has locked so that it does not change.
+     */
+    public void appendManagerWorkersUpserts(UUID managerId, int count) {
+        jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Void>) connection -> {
+            appendManagerWorkers(connection, managerId, count);
+            return null;
+        });
+    }
+
+    static void appendManagerWorkers(Connection connection, UUID managerId, int count) throws SQLException {
+        if (count == 0) {
+            return;
+        }
+        try (PreparedStatement nextSeq = connection.prepareStatement(NEXT_SEQ_SQL)) {
+            nextSeq.setInt(1, count);
+            nextSeq.executeUpdate();
+        }
+        try (PreparedStatement insert = connection.prepareStatement(INSERT_MANAGER_WORKERS_SQL)) {
+            // The workers take the sequence numbers reserved, the last one being last_insert_id()
+            insert.setInt(1, count);
+            insert.setString(2, ENTITY_TYPES.get(Workers.class));
+            insert.setString(3, ChangeOperation.UPSERT.name());
+            insert.setTimestamp(4, Timestamp.from(Instant.now()), Calendar.getInstance(UTC));
+            insert.setString(5, managerId.toString());
+            insert.executeUpdate();
+        }
+    }
+
+    /**
+     * Append changes on a connection, in its current transaction.
+     *
+     * @param connection the connection of the transaction making the changes.
+     * @param changes the changes, in order.
+     * @throws SQLException if the changes could not be appended.
+     */
+    public static void append(Connection connection, List<Change> changes) throws SQLException {
+        Instant now = Instant.now();
+        for (int from = 0; from < changes.size(); from += BATCH_SIZE) {
+            List<Change> batch = changes.subList(from, Math.min(from + BATCH_SIZE, changes.size()));
+            try (PreparedStatement nextSeq = connection.prepareStatement(NEXT_SEQ_SQL)) {
+                nextSeq.setInt(1, batch.size());
+                nextSeq.executeUpdate();
+            }
+            try (PreparedStatement insert = connection.prepareStatement(insertSql(batch.size()))) {
+                int index = 1;
+                for (int i = 0; i < batch.size(); i++) {
+                    Change change = batch.get(i);
+                    insert.setInt(index++, batch.size() - 1 - i);
+                    insert.setString(index++, change.getEntityType());
+                    insert.setString(index++, change.getEntityId());
+                    insert.setString(index++, change.getOperation().name());
+                    insert.setTimestamp(index++, Timestamp.from(now), Calendar.getInstance(UTC));
+                }
+                insert.executeUpdate();
+            }
+        }
+    }
+
+    static String insertSql(int rows) {
+        return INSERT_SQL_PREFIX + String.join(", ", Collections.nCopies(rows, INSERT_SQL_ROW));
+    }
+}
@@ -0,0 +1,43 @@
+package com.crud.repository.search;
+
+import com.crud.domain.Employee;
+import com.crud.repository.EmployeeRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * In-memory prefix search over the name of the {@link Employee} entity.
+ */
+@Repository
+public class EmployeeSearchRepository extends PrefixSearchRepository<Employee> {
+
+    private final EmployeeRepository employeeRepository;
+
+    public EmployeeSearchRepository(EmployeeRepository employeeRepository) {
+        super(Employee.class);
+        this.employeeRepository = employeeRepository;
+    }
+
+    @Override
+    protected Long getId(Employee employee) {
+        return employee.getId();
+    }
+
+    @Override
+    protected String[] getFields(Employee employee) {
+        return new String[] { employee.getName() };
+    }
+
+    /**
+     * Build the index from the database once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexAll() {
+        reindex(employeeRepository::streamSearchFields);
+    }
+}
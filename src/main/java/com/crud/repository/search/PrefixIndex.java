@@ -0,0 +1,235 @@
+package com.crud.repository.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index answering prefix queries over a few text fields of an entity.
+ * <p>
+ * Field values and queries are lower-cased and split into terms on any character that is not a letter or a digit,
+ * so that {@code john.doe@} matches the email {@code john.doe@localhost}. Terms are kept in a sorted dictionary, so a
+ * prefix query is a range scan, and each term points to a growable {@code int[]} of internal document numbers.
+ * <p>
+ * Updates never rewrite postings: the old document is marked dead and a new one is appended. Dead documents are
+ * skipped at query time and dropped when they outnumber the live ones.
+ * <p>
+ * This class is thread-safe: queries share a read lock, updates take the write lock.
+ */
+public class PrefixIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NavigableMap<String, Postings> terms = new TreeMap<>();
+
+    private Map<Long, Integer> documentsById = new HashMap<>();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+
+    private String[][] documentTerms = new String[INITIAL_CAPACITY][];
+
+    private BitSet live = new BitSet();
+
+    private int documentCount;
+
+    /**
+     * Index an entity, replacing its previous version if any.
+     *
+     * @param id     the id of the entity.
+     * @param fields the searchable values of the entity, {@code null} values being ignored.
+     */
+    public void put(long id, String... fields) {
+        String[] entityTerms = tokenize(fields);
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+            addDocument(id, entityTerms);
+            if (documentCount > INITIAL_CAPACITY && documentsById.size() * 2 < documentCount) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove an entity from the index.
+     *
+     * @param id the id of the entity.
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find the entities having, for every term of the query, a term starting with it.
+     * <p>
+     * Results are ordered by how close the first matching term is to the longest query term: an exact match comes first,
+     * then the other terms in lexicographic order, so shorter completions rank higher.
+     *
+     * @param query the query.
+     * @param limit the maximum number of results.
+     * @return the ids of the matching entities, at most {@code limit} of them.
+     */
+    public long[] search(String query, int limit) {
+        String[] queryTerms = tokenize(query);
+        if (queryTerms.length == 0 || limit <= 0) {
+            return new long[0];
+        }
+        // The longest term is the most selective one, so it drives the scan and the others only filter
+        String driver = queryTerms[0];
+        for (String queryTerm : queryTerms) {
+            if (queryTerm.length() > driver.length()) {
+                driver = queryTerm;
+            }
+        }
+        lock.readLock().lock();
+        try {
+            long[] results = new long[Math.min(limit, documentsById.size())];
+            int resultCount = 0;
+            BitSet seen = new BitSet();
+            for (Map.Entry<String, Postings> entry : terms.tailMap(driver, true).entrySet()) {
+                if (!entry.getKey().startsWith(driver)) {
+                    break;
+                }
+                Postings postings = entry.getValue();
+                for (int i = 0; i < postings.size && resultCount < results.length; i++) {
+                    int document = postings.documents[i];
+                    if (live.get(document) && !seen.get(document) && matchesAll(document, queryTerms)) {
+                        seen.set(document);
+                        results[resultCount++] = ids[document];
+                    }
+                }
+                if (resultCount == results.length) {
+                    break;
+                }
+            }
+            return resultCount == results.length ? results : Arrays.copyOf(results, resultCount);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the number of indexed entities.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String[] tokenize(String... values) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String value : values) {
+            if (value == null) {
+                continue;
+            }
+            String lowerCase = value.toLowerCase(Locale.ROOT).strip();
+            int start = -1;
+            for (int i = 0; i <= lowerCase.length(); i++) {
+                boolean wordCharacter = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+                if (wordCharacter && start < 0) {
+                    start = i;
+                } else if (!wordCharacter && start >= 0) {
+                    tokens.add(lowerCase.substring(start, i));
+                    start = -1;
+                }
+            }
+        }
+        return tokens.toArray(String[]::new);
+    }
+
+    private boolean matchesAll(int document, String[] queryTerms) {
+        for (String queryTerm : queryTerms) {
+            boolean matches = false;
+            for (String term : documentTerms[document]) {
+                if (term.startsWith(queryTerm)) {
+                    matches = true;
+                    break;
+                }
+            }
+            if (!matches) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void addDocument(long id, String[] entityTerms) {
+        int document = documentCount++;
+        if (document == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            documentTerms = Arrays.copyOf(documentTerms, documentTerms.length * 2);
+        }
+        ids[document] = id;
+        documentTerms[document] = entityTerms;
+        live.set(document);
+        documentsById.put(id, document);
+        for (String term : entityTerms) {
+            terms.computeIfAbsent(term, key -> new Postings()).add(document);
+        }
+    }
+
+    private void removeDocument(long id) {
+        Integer document = documentsById.remove(id);
+        if (document != null) {
+            live.clear(document);
+            documentTerms[document] = null;
+        }
+    }
+
+    private void compact() {
+        long[] liveIds = new long[documentsById.size()];
+        String[][] liveTerms = new String[documentsById.size()][];
+        int count = 0;
+        for (int document = live.nextSetBit(0); document >= 0; document = live.nextSetBit(document + 1)) {
+            liveIds[count] = ids[document];
+            liveTerms[count++] = documentTerms[document];
+        }
+        terms = new TreeMap<>();
+        documentsById = new HashMap<>();
+        ids = new long[Math.max(INITIAL_CAPACITY, count * 2)];
+        documentTerms = new String[ids.length][];
+        live = new BitSet();
+        documentCount = 0;
+        for (int i = 0; i < count; i++) {
+            addDocument(liveIds[i], liveTerms[i]);
+        }
+    }
+
+    /**
+     * The documents containing a term, in increasing order.
+     */
+    private static final class Postings {
+
+        private int[] documents = new int[2];
+
+        private int size;
+
+        void add(int document) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+            }
+            documents[size++] = document;
+        }
+    }
+}
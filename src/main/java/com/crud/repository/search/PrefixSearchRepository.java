@@ -0,0 +1,170 @@
+package com.crud.repository.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base class of the repositories keeping an entity in a {@link PrefixIndex}.
+ * <p>
+ * Changes made through Hibernate are applied once committed by {@link SearchIndexEventListener}. A rebuild scans the
+ * table into a new index while the current one keeps serving queries; the changes committed in the meantime are
+ * replayed on the new index before it replaces the current one.
+ *
+ * @param <T> the indexed entity type.
+ */
+public abstract class PrefixSearchRepository<T> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PrefixSearchRepository.class);
+
+    private final Class<T> entityClass;
+
+    private volatile PrefixIndex index = new PrefixIndex();
+
+    private Queue<Consumer<PrefixIndex>> pendingChanges;
+
+    protected PrefixSearchRepository(Class<T> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    /**
+     * @return the id of an entity.
+     */
+    protected abstract Long getId(T entity);
+
+    /**
+     * @return the searchable values of an entity.
+     */
+    protected abstract String[] getFields(T entity);
+
+    public boolean supports(Class<?> type) {
+        return entityClass.isAssignableFrom(type);
+    }
+
+    public void index(T entity) {
+        long id = getId(entity);
+        String[] fields = getFields(entity);
+        apply(index -> index.put(id, fields));
+    }
+
+    /**
+     * Index entities once the current transaction commits, or right away if there is none.
+     * <p>
+     * This is meant for rows written without Hibernate, which {@link SearchIndexEventListener} does not see.
+     *
+     * @param entities the entities to index.
+     */
+    public void indexAfterCommit(Collection<T> entities) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            entities.forEach(this::index);
+            return;
+        }
+        List<T> toIndex = List.copyOf(entities);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    toIndex.forEach(PrefixSearchRepository.this::index);
+                }
+            }
+        );
+    }
+
+    public void delete(Long id) {
+        apply(index -> index.remove(id));
+    }
+
+    /**
+     * Search the index.
+     *
+     * @param query the prefixes to look for.
+     * @param limit the maximum number of results.
+     * @return the ids of the best matches, best first.
+     */
+    public long[] search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * @return the number of indexed entities.
+     */
+    public int count() {
+        return index.size();
+    }
+
+    /**
+     * Replace the index with one built from a scan of the table.
+     * <p>
+     * The scan is only started once the changes are recorded for the new index, so that a change committed before the
+     * scan sees it is replayed rather than lost.
+     *
+     * @param scan opens the stream of the id followed by the searchable values of each entity.
+     */
+    protected void reindex(Supplier<Stream<Object[]>> scan) {
+        long start = System.currentTimeMillis();
+        PrefixIndex rebuilt = new PrefixIndex();
+        synchronized (this) {
+            pendingChanges = new ArrayDeque<>();
+        }
+        boolean scanned = false;
+        try (Stream<Object[]> rows = scan.get()) {
+            rows.forEach(row -> {
+                String[] fields = new String[row.length - 1];
+                for (int i = 1; i < row.length; i++) {
+                    fields[i - 1] = (String) row[i];
+                }
+                rebuilt.put((Long) row[0], fields);
+            });
+            scanned = true;
+        } finally {
+            synchronized (this) {
+                if (scanned) {
+                    pendingChanges.forEach(change -> change.accept(rebuilt));
+                    index = rebuilt;
+                }
+                pendingChanges = null;
+            }
+        }
+        LOG.info("Indexed {} {} in {} ms", rebuilt.size(), entityClass.getSimpleName(), System.currentTimeMillis() - start);
+    }
+
+    private synchronized void apply(Consumer<PrefixIndex> change) {
+        change.accept(index);
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    /**
+     * Order entities loaded by id like the ids returned by {@link #search(String, int)}.
+     *
+     * @param ids      the ids, best match first.
+     * @param entities the entities, in any order.
+     * @param getId    the id of an entity.
+     * @return the entities, best match first.
+     */
+    public static <E> List<E> inSearchOrder(long[] ids, Collection<E> entities, Function<E, Long> getId) {
+        Map<Long, E> entitiesById = new HashMap<>();
+        entities.forEach(entity -> entitiesById.put(getId.apply(entity), entity));
+        List<E> ordered = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            E entity = entitiesById.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
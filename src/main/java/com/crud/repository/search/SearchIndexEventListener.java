@@ -0,0 +1,78 @@
+package com.crud.repository.search;
+
+import java.util.List;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Hibernate listener keeping the {@link PrefixSearchRepository} indexes in sync with committed entity changes.
+ */
+public class SearchIndexEventListener
+    implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    private final List<PrefixSearchRepository<?>> searchRepositories;
+
+    public SearchIndexEventListener(List<PrefixSearchRepository<?>> searchRepositories) {
+        this.searchRepositories = searchRepositories;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        index(event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        PrefixSearchRepository<?> searchRepository = findSearchRepository(event.getEntity().getClass());
+        if (searchRepository != null) {
+            searchRepository.delete((Long) event.getId());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was indexed before the commit
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was indexed before the commit
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was indexed before the commit
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return findSearchRepository(persister.getMappedClass()) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void index(T entity) {
+        PrefixSearchRepository<T> searchRepository = (PrefixSearchRepository<T>) findSearchRepository(entity.getClass());
+        if (searchRepository != null) {
+            searchRepository.index(entity);
+        }
+    }
+
+    private PrefixSearchRepository<?> findSearchRepository(Class<?> type) {
+        for (PrefixSearchRepository<?> searchRepository : searchRepositories) {
+            if (searchRepository.supports(type)) {
+                return searchRepository;
+            }
+        }
+        return null;
+    }
+}
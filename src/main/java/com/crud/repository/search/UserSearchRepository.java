@@ -0,0 +1,43 @@
+package com.crud.repository.search;
+
+import com.crud.domain.User;
+import com.crud.repository.UserRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * In-memory prefix search over the login, names and email of the {@link User} entity.
+ */
+@Repository
+public class UserSearchRepository extends PrefixSearchRepository<User> {
+
+    private final UserRepository userRepository;
+
+    public UserSearchRepository(UserRepository userRepository) {
+        super(User.class);
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    protected Long getId(User user) {
+        return user.getId();
+    }
+
+    @Override
+    protected String[] getFields(User user) {
+        return new String[] { user.getLogin(), user.getFirstName(), user.getLastName(), user.getEmail() };
+    }
+
+    /**
+     * Build the index from the database once the application has started.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexAll() {
+        reindex(userRepository::streamSearchFields);
+    }
+}
@@ -2,6 +2,8 @@ package com.crud.security;
 
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
@@ -57,6 +59,16 @@ public final class SecurityUtils {
             .map(authentication -> (String) authentication.getCredentials());
     }
 
+    /**
+     * Get the authorities of the current user, as granted by its authentication (the JWT claims for a bearer token).
+     *
+     * @return the authorities of the current user.
+     */
+    public static Set<String> getCurrentUserAuthorities() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null ? Set.of() : getAuthorities(authentication).collect(Collectors.toSet());
+    }
+
     /**
      * Check if a user is authenticated.
      *
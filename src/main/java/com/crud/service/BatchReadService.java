@@ -0,0 +1,124 @@
+package com.crud.service;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.domain.Manager;
+import com.crud.domain.Workers;
+import com.crud.repository.CompanyRepository;
+import com.crud.repository.EmployeeRepository;
+import com.crud.repository.ManagerRepository;
+import com.crud.repository.WorkersRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceUnitUtil;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service loading the entities read by a batch of sub-requests.
+ * <p>
+ * The ids of each type of entity are loaded with a single {@code IN (...)} query, and the types are loaded in
+ * parallel, each in its own read-only transaction, on a pool bounding the number of connections a batch can take.
+ * The pool queues a bounded number of loads, and the batches taking longer than the configured timeout fail, so that a
+ * slow database makes the batches fail fast rather than pile up.
+ */
+@Service
+public class BatchReadService {
+
+    private final Map<Class<?>, JpaRepository<?, ?>> repositories;
+
+    private final PersistenceUnitUtil persistenceUnitUtil;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolTaskExecutor executor;
+
+    private final long timeoutMillis;
+
+    public BatchReadService(
+        CompanyRepository companyRepository,
+        EmployeeRepository employeeRepository,
+        ManagerRepository managerRepository,
+        WorkersRepository workersRepository,
+        EntityManagerFactory entityManagerFactory,
+        PlatformTransactionManager transactionManager,
+        ApplicationProperties applicationProperties
+    ) {
+        this.repositories = Map.of(
+            Company.class,
+            companyRepository,
+            Employee.class,
+            employeeRepository,
+            Manager.class,
+            managerRepository,
+            Workers.class,
+            workersRepository
+        );
+        this.persistenceUnitUtil = entityManagerFactory.getPersistenceUnitUtil();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        ApplicationProperties.Batch batch = applicationProperties.getBatch();
+        this.timeoutMillis = batch.getTimeout().toMillis();
+        // The loads have the same timeout, so that a slow query is cancelled rather than holding a thread and a connection
+        this.transactionTemplate.setTimeout((int) Math.max(1, batch.getTimeout().toSeconds()));
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(batch.getThreads());
+        this.executor.setMaxPoolSize(batch.getThreads());
+        this.executor.setQueueCapacity(batch.getQueueCapacity());
+        this.executor.setThreadNamePrefix("crud-batch-");
+        this.executor.initialize();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Find entities of several types by id.
+     *
+     * @param idsByType the ids to find, by entity class.
+     * @return the entities found, by entity class and id, once they are all loaded, or completed with a
+     * {@link java.util.concurrent.TimeoutException} if they are not loaded within the configured timeout.
+     * @throws TaskRejectedException if the pool has too many loads queued already.
+     */
+    public CompletableFuture<Map<Class<?>, Map<Object, Object>>> findAllById(Map<Class<?>, ? extends Collection<?>> idsByType) {
+        Map<Class<?>, CompletableFuture<Map<Object, Object>>> loads = new HashMap<>();
+        idsByType.forEach((entityClass, ids) ->
+            loads.put(
+                entityClass,
+                CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> findAllById(entityClass, ids)), executor)
+            )
+        );
+        return CompletableFuture.allOf(loads.values().toArray(CompletableFuture[]::new))
+            .thenApply(loaded -> {
+                Map<Class<?>, Map<Object, Object>> entitiesByType = new HashMap<>();
+                loads.forEach((entityClass, load) -> entitiesByType.put(entityClass, load.join()));
+                return entitiesByType;
+            })
+            .orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<Object, Object> findAllById(Class<?> entityClass, Collection<?> ids) {
+        JpaRepository<Object, Object> repository = (JpaRepository<Object, Object>) repositories.get(entityClass);
+        if (repository == null) {
+            throw new IllegalArgumentException("Not an entity read in batches: " + entityClass);
+        }
+        List<Object> entities = repository.findAllById((Collection<Object>) ids);
+        return entities.stream().collect(Collectors.toMap(persistenceUnitUtil::getIdentifier, Function.identity()));
+    }
+}
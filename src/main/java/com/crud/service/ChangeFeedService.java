@@ -0,0 +1,245 @@
+package com.crud.service;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.domain.EntityChange;
+import com.crud.domain.Manager;
+import com.crud.domain.Workers;
+import com.crud.domain.enumeration.ChangeOperation;
+import com.crud.repository.CompanyRepository;
+import com.crud.repository.EmployeeRepository;
+import com.crud.repository.EntityChangeRepository;
+import com.crud.repository.ManagerRepository;
+import com.crud.repository.WorkersRepository;
+import com.crud.service.dto.EntityChangeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service reading the change feed, and removing the changes it no longer needs.
+ * <p>
+ * Consumers read the changes after the last sequence number they have seen, in order. The log only holds the type and
+ * the id of each changed entity: upserts are returned with the current state of their entity, loaded with one query
+ * per entity type. As a consumer only needs the last change of each entity, the changes followed by a later change of
+ * the same entity are compacted away; the changes older than the retention are removed, and the consumers which have
+ * not read them must download all the entities again.
+ */
+@Service
+public class ChangeFeedService {
+
+    public static final String HEAD_METER_NAME = "changes.feed.head";
+    public static final String SIZE_METER_NAME = "changes.feed.size";
+    public static final String READ_LAG_METER_NAME = "changes.feed.read.lag";
+    public static final String REMOVED_METER_NAME = "changes.feed.removed";
+    public static final String REMOVED_METER_REASON_DIMENSION = "reason";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedService.class);
+
+    private final EntityChangeRepository entityChangeRepository;
+
+    private final CompanyRepository companyRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    private final ManagerRepository managerRepository;
+
+    private final WorkersRepository workersRepository;
+
+    private final ApplicationProperties.ChangeFeed properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLong lastSeq = new AtomicLong();
+
+    private final AtomicLong size = new AtomicLong();
+
+    private final DistributionSummary readLagSummary;
+
+    private final Counter expiredCounter;
+
+    private final Counter supersededCounter;
+
+    public ChangeFeedService(
+        EntityChangeRepository entityChangeRepository,
+        CompanyRepository companyRepository,
+        EmployeeRepository employeeRepository,
+        ManagerRepository managerRepository,
+        WorkersRepository workersRepository,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.entityChangeRepository = entityChangeRepository;
+        this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
+        this.managerRepository = managerRepository;
+        this.workersRepository = workersRepository;
+        this.properties = applicationProperties.getChangeFeed();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        Gauge.builder(HEAD_METER_NAME, lastSeq, AtomicLong::get)
+            .description("Sequence number of the last change of the change feed, as of the last read or cleanup.")
+            .register(meterRegistry);
+        Gauge.builder(SIZE_METER_NAME, size, AtomicLong::get)
+            .description("Number of changes kept in the change feed, as of the last cleanup.")
+            .baseUnit("changes")
+            .register(meterRegistry);
+        this.readLagSummary = DistributionSummary.builder(READ_LAG_METER_NAME)
+            .description("Number of changes between the sequence number read from by a consumer and the last change.")
+            .baseUnit("changes")
+            .register(meterRegistry);
+        this.expiredCounter = removedCounterForReason("expired").register(meterRegistry);
+        this.supersededCounter = removedCounterForReason("superseded").register(meterRegistry);
+    }
+
+    private Counter.Builder removedCounterForReason(String reason) {
+        return Counter.builder(REMOVED_METER_NAME)
+            .baseUnit("changes")
+            .description("Number of changes removed from the change feed.")
+            .tag(REMOVED_METER_REASON_DIMENSION, reason);
+    }
+
+    /**
+     * @return the sequence number of the last change.
+     */
+    @Transactional(readOnly = true)
+    public long getLastSeq() {
+        long seq = entityChangeRepository.findLastSeq();
+        lastSeq.set(seq);
+        return seq;
+    }
+
+    /**
+     * Get the changes after a sequence number, in order.
+     *
+     * @param since the sequence number of the last change seen by the consumer, or {@code 0} to read from the start.
+     * @param limit the maximum number of changes to return.
+     * @return the changes, or empty if some changes after {@code since} were removed by the retention.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<EntityChangeDTO>> getChangesAfter(long since, int limit) {
+        if (since < entityChangeRepository.findPurgedSeq()) {
+            return Optional.empty();
+        }
+        readLagSummary.record(Math.max(0, getLastSeq() - since));
+        if (limit == 0) {
+            return Optional.of(List.of());
+        }
+        return Optional.of(toDtos(entityChangeRepository.findAllAfter(since, Limit.of(limit))));
+    }
+
+    /**
+     * Get the changes of a type of entity after a sequence number, in order.
+     *
+     * @param entityType the type of the entities, for example {@code employee}.
+     * @param since the sequence number of the last change seen by the consumer.
+     * @param limit the maximum number of changes to return.
+     * @return the changes, or empty if some changes after {@code since} were removed by the retention.
+     */
+    @Transactional(readOnly = true)
+    public Optional<List<EntityChangeDTO>> getChangesAfter(String entityType, long since, int limit) {
+        if (since < entityChangeRepository.findPurgedSeq()) {
+            return Optional.empty();
+        }
+        return Optional.of(toDtos(entityChangeRepository.findAllByEntityTypeAfter(entityType, since, Limit.of(limit))));
+    }
+
+    private List<EntityChangeDTO> toDtos(List<EntityChange> changes) {
+        Map<String, List<String>> upsertedIdsByType = changes
+            .stream()
+            .filter(change -> change.getOperation() == ChangeOperation.UPSERT)
+            .collect(
+                Collectors.groupingBy(EntityChange::getEntityType, Collectors.mapping(EntityChange::getEntityId, Collectors.toList()))
+            );
+        Map<String, Map<String, Object>> entitiesByType = new HashMap<>();
+        upsertedIdsByType.forEach((entityType, ids) -> entitiesByType.put(entityType, findAllById(entityType, ids)));
+        return changes
+            .stream()
+            .map(change ->
+                new EntityChangeDTO(
+                    change.getSeq(),
+                    change.getEntityType(),
+                    change.getEntityId(),
+                    change.getOperation(),
+                    entitiesByType.getOrDefault(change.getEntityType(), Map.of()).get(change.getEntityId())
+                )
+            )
+            .toList();
+    }
+
+    private Map<String, Object> findAllById(String entityType, List<String> ids) {
+        return switch (entityType) {
+            case "company" -> byId(companyRepository.findAllById(ids.stream().map(Long::valueOf).toList()), Company::getId);
+            case "employee" -> byId(employeeRepository.findAllById(ids.stream().map(Long::valueOf).toList()), Employee::getId);
+            case "manager" -> byId(managerRepository.findAllById(ids.stream().map(UUID::fromString).toList()), Manager::getId);
+            case "workers" -> byId(workersRepository.findAllById(ids.stream().map(Long::valueOf).toList()), Workers::getId);
+            default -> Map.of();
+        };
+    }
+
+    private static <T> Map<String, Object> byId(List<T> entities, Function<T, ?> idGetter) {
+        return entities.stream().collect(Collectors.toMap(entity -> idGetter.apply(entity).toString(), Function.identity()));
+    }
+
+    /**
+     * Remove the changes older than the retention, then the changes superseded by a later change of the same entity.
+     * <p>
+     * Deletes are made in batches, each in its own transaction, so that writers are never blocked for long. Only the
+     * changes appended since the last run are scanned for the changes they supersede: the sequence number compacted
+     * up to is saved with each batch.
+     */
+    @Scheduled(
+        initialDelayString = "${application.change-feed.cleanup-interval:PT1H}",
+        fixedDelayString = "${application.change-feed.cleanup-interval:PT1H}"
+    )
+    public void removeExpiredAndSupersededChanges() {
+        int batchSize = properties.getCleanupBatchSize();
+        Long expiredSeq = entityChangeRepository.findLastSeqBefore(Instant.now().minus(properties.getRetention()));
+        if (expiredSeq != null) {
+            // Marked as purged first, so that consumers reading meanwhile are told to start over rather than miss changes
+            transactionTemplate.executeWithoutResult(status -> entityChangeRepository.updatePurgedSeq(expiredSeq));
+            int removed;
+            do {
+                removed = transactionTemplate.execute(status -> entityChangeRepository.deleteUpTo(expiredSeq, batchSize));
+                expiredCounter.increment(removed);
+            } while (removed == batchSize);
+        }
+
+        // The changes up to the purged sequence number, and the ones they superseded, are gone
+        long compactedSeq = Math.max(entityChangeRepository.findCompactedSeq(), entityChangeRepository.findPurgedSeq());
+        long last = entityChangeRepository.findLastSeq();
+        long superseded = 0;
+        for (long from = compactedSeq; from < last; from += batchSize) {
+            long start = from;
+            long end = Math.min(from + batchSize, last);
+            superseded += transactionTemplate.execute(status -> {
+                int removed = entityChangeRepository.deleteSupersededBetween(start, end);
+                entityChangeRepository.updateCompactedSeq(end);
+                return removed;
+            });
+        }
+        supersededCounter.increment(superseded);
+        lastSeq.set(last);
+        size.set(entityChangeRepository.count());
+        LOG.debug("Removed {} superseded changes from the change feed, up to {}", superseded, last);
+    }
+}
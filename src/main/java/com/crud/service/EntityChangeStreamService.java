@@ -0,0 +1,427 @@
+package com.crud.service;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.repository.changes.EntityChangeLog;
+import com.crud.service.dto.EntityChangeDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service pushing the changes of the change feed to server-sent events subscribers, by type of entity.
+ * <p>
+ * A single poller reads the new changes from the change feed, whatever the number of subscribers, and offers them to
+ * the bounded buffer of each subscriber of their type without waiting. Buffers are sent by a small pool of sender
+ * threads, and the HTTP requests are asynchronous, so that no thread is held per connection while it is idle. A
+ * subscriber whose buffer is full is too slow: its events are dropped and it is disconnected. The id of each event is
+ * the sequence number of its change, so that a client reconnecting with {@code Last-Event-ID} first catches up from
+ * the change feed, then receives the new changes.
+ * <p>
+ * Writing to a client which stopped reading blocks, so the writes are made by writer threads, and a sender only waits
+ * for them up to the write timeout: a subscriber whose write times out is disconnected, and only holds its writer
+ * thread until the connection fails. The writer threads are bounded: once they are all held by stuck clients, the
+ * subscribers which need one are disconnected too, rather than the stuck clients taking ever more threads. The
+ * catch-up reads of the change feed are made on their own pool, so that they never hold up the senders either.
+ * <p>
+ * The poller and the heartbeats run on their own scheduler thread rather than on the shared Spring scheduler, so that
+ * the other scheduled jobs, such as the mail deliveries or the change feed retention, never delay the events.
+ */
+@Service
+public class EntityChangeStreamService {
+
+    public static final String SUBSCRIBERS_METER_NAME = "changes.stream.subscribers";
+    public static final String DROPPED_METER_NAME = "changes.stream.dropped";
+    public static final String ENTITY_DIMENSION = "entity";
+
+    private static final Logger LOG = LoggerFactory.getLogger(EntityChangeStreamService.class);
+
+    private static final int PAGE_SIZE = 1000;
+
+    /**
+     * Marks a heartbeat in the buffers, sent as a comment to keep idle connections open through proxies.
+     */
+    private static final EntityChangeDTO HEARTBEAT = new EntityChangeDTO();
+
+    private final ChangeFeedService changeFeedService;
+
+    private final ApplicationProperties.ChangeStream properties;
+
+    private final ExecutorService senderExecutor;
+
+    private final ExecutorService catchUpExecutor;
+
+    private final ThreadPoolExecutor writerExecutor;
+
+    private final ScheduledExecutorService pollerExecutor;
+
+    private final Map<String, Set<Subscriber>> subscribersByType = new HashMap<>();
+
+    private final Map<String, Counter> droppedCounters = new HashMap<>();
+
+    /**
+     * Sequence number of the last change published, or {@code -1} until the first poll.
+     */
+    private long position = -1;
+
+    public EntityChangeStreamService(
+        ChangeFeedService changeFeedService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.changeFeedService = changeFeedService;
+        this.properties = applicationProperties.getChangeStream();
+        this.senderExecutor = Executors.newFixedThreadPool(
+            properties.getSenderThreads(),
+            new CustomizableThreadFactory("crud-change-stream-")
+        );
+        this.catchUpExecutor = Executors.newFixedThreadPool(
+            properties.getCatchUpThreads(),
+            new CustomizableThreadFactory("crud-change-stream-catch-up-")
+        );
+        // No queue: a write waiting for a thread would only time out
+        this.writerExecutor = new ThreadPoolExecutor(
+            0,
+            properties.getWriterThreads(),
+            1,
+            TimeUnit.MINUTES,
+            new SynchronousQueue<>(),
+            new CustomizableThreadFactory("crud-change-stream-writer-")
+        );
+        this.pollerExecutor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("crud-change-stream-poller-"));
+        for (String entityType : EntityChangeLog.ENTITY_TYPES.values()) {
+            Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+            subscribersByType.put(entityType, subscribers);
+            Gauge.builder(SUBSCRIBERS_METER_NAME, subscribers, Set::size)
+                .description("Number of subscribers to the stream of the changes of an entity.")
+                .tag(ENTITY_DIMENSION, entityType)
+                .register(meterRegistry);
+            droppedCounters.put(
+                entityType,
+                Counter.builder(DROPPED_METER_NAME)
+                    .description("Number of changes dropped as the buffer of a slow subscriber was full.")
+                    .baseUnit("changes")
+                    .tag(ENTITY_DIMENSION, entityType)
+                    .register(meterRegistry)
+            );
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        long pollInterval = properties.getPollInterval().toMillis();
+        long heartbeatInterval = properties.getHeartbeatInterval().toMillis();
+        pollerExecutor.scheduleWithFixedDelay(() -> run(this::publishNewChanges), pollInterval, pollInterval, TimeUnit.MILLISECONDS);
+        pollerExecutor.scheduleWithFixedDelay(() -> run(this::sendHeartbeats), heartbeatInterval, heartbeatInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Run a scheduled job, logging its failure: a job of a {@link ScheduledExecutorService} which throws is not run
+     * again.
+     */
+    private static void run(Runnable job) {
+        try {
+            job.run();
+        } catch (RuntimeException e) {
+            LOG.error("Change stream job failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pollerExecutor.shutdownNow();
+        subscribersByType.values().forEach(subscribers -> subscribers.forEach(Subscriber::disconnect));
+        senderExecutor.shutdownNow();
+        catchUpExecutor.shutdownNow();
+        // Let the writers complete the emitters
+        writerExecutor.shutdown();
+    }
+
+    /**
+     * @return whether the changes of the type of entity can be streamed.
+     */
+    public boolean isStreamed(String entityType) {
+        return subscribersByType.containsKey(entityType);
+    }
+
+    /**
+     * Subscribe to the changes of a type of entity.
+     *
+     * @param entityType the type of the entities, for example {@code employee}.
+     * @param lastEventId the sequence number of the last change received, to resume from; or {@code null} to receive
+     * the changes made from now on.
+     * @return the emitter of the events, or empty if some changes after {@code lastEventId} were removed by the
+     * retention.
+     */
+    public Optional<SseEmitter> subscribe(String entityType, Long lastEventId) {
+        long since;
+        if (lastEventId == null) {
+            since = changeFeedService.getLastSeq();
+        } else if (changeFeedService.getChangesAfter(lastEventId, 0).isPresent()) {
+            since = lastEventId;
+        } else {
+            return Optional.empty();
+        }
+        Set<Subscriber> subscribers = subscribersByType.get(entityType);
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(entityType, emitter, since);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        LOG.debug("Subscribed to the changes of {} after {}", entityType, since);
+        subscriber.scheduleSend();
+        return Optional.of(emitter);
+    }
+
+    SseEmitter createEmitter() {
+        return new SseEmitter(properties.getTimeout().toMillis());
+    }
+
+    /**
+     * @return the number of writer threads, idle or not.
+     */
+    int writerThreads() {
+        return writerExecutor.getPoolSize();
+    }
+
+    /**
+     * Read the new changes of the change feed, and offer them to the subscribers of their type.
+     */
+    public synchronized void publishNewChanges() {
+        if (subscribersByType.values().stream().allMatch(Set::isEmpty)) {
+            // The next subscribers catch up from the change feed, and are published to from where they subscribed
+            position = -1;
+            return;
+        }
+        long lastSeq = changeFeedService.getLastSeq();
+        // Read after the last sequence number: the changes up to it are caught up by the subscribers coming later
+        List<Subscriber> subscribers = subscribersByType.values().stream().flatMap(Set::stream).toList();
+        if (subscribers.isEmpty()) {
+            position = -1;
+            return;
+        }
+        if (position < 0) {
+            position = subscribers.stream().mapToLong(subscriber -> subscriber.since).min().orElseThrow();
+        }
+        while (position < lastSeq) {
+            Optional<List<EntityChangeDTO>> changes = changeFeedService.getChangesAfter(position, PAGE_SIZE);
+            if (changes.isEmpty()) {
+                // Reconnecting, the subscribers catch up from the change feed or are told to start over
+                LOG.warn("Changes after {} were removed before being published, disconnecting the subscribers", position);
+                subscribers.forEach(Subscriber::disconnect);
+                position = lastSeq;
+                return;
+            }
+            List<EntityChangeDTO> page = changes.orElseThrow();
+            if (page.isEmpty()) {
+                break;
+            }
+            for (EntityChangeDTO change : page) {
+                subscribersByType.get(change.getEntity()).forEach(subscriber -> subscriber.offer(change));
+            }
+            position = page.get(page.size() - 1).getSeq();
+        }
+    }
+
+    /**
+     * Offer a heartbeat to all the subscribers.
+     */
+    public void sendHeartbeats() {
+        subscribersByType.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT)));
+    }
+
+    /**
+     * A subscriber and its buffer. Only one sender thread at a time writes to the emitter, through a writer thread, so
+     * that offering a change never waits for a slow client. The first send catches up on the catch-up pool.
+     */
+    private final class Subscriber {
+
+        private final String entityType;
+
+        private final SseEmitter emitter;
+
+        private final long since;
+
+        private final BlockingQueue<EntityChangeDTO> buffer;
+
+        private final AtomicBoolean sending = new AtomicBoolean();
+
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile boolean disconnected;
+
+        private volatile boolean caughtUp;
+
+        private volatile boolean writeTimedOut;
+
+        private long lastSentSeq;
+
+        Subscriber(String entityType, SseEmitter emitter, long since) {
+            this.entityType = entityType;
+            this.emitter = emitter;
+            this.since = since;
+            this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+            this.lastSentSeq = since;
+        }
+
+        void offer(EntityChangeDTO change) {
+            if (disconnected) {
+                return;
+            }
+            if (!buffer.offer(change)) {
+                long dropped = buffer.stream().filter(buffered -> buffered != HEARTBEAT).count() + (change != HEARTBEAT ? 1 : 0);
+                droppedCounters.get(entityType).increment(dropped);
+                LOG.debug("Disconnecting a slow subscriber to the changes of {}, dropping {} changes", entityType, dropped);
+                disconnect();
+                return;
+            }
+            scheduleSend();
+        }
+
+        void disconnect() {
+            close(null);
+        }
+
+        /**
+         * Remove the subscriber and complete its emitter, once. The emitter is completed by a writer thread, as
+         * completing it waits for the write in progress, if any. Without a writer thread left, it is completed right
+         * away, unless a write is stuck: the connection is then closed when that write fails.
+         */
+        private void close(Throwable error) {
+            disconnected = true;
+            subscribersByType.get(entityType).remove(this);
+            buffer.clear();
+            if (closed.compareAndSet(false, true)) {
+                Runnable completion = () -> {
+                    if (error == null) {
+                        emitter.complete();
+                    } else {
+                        emitter.completeWithError(error);
+                    }
+                };
+                try {
+                    writerExecutor.execute(completion);
+                } catch (RejectedExecutionException e) {
+                    if (writeTimedOut) {
+                        LOG.debug("Not completing a stuck subscriber to the changes of {}: no writer thread left", entityType);
+                    } else {
+                        completion.run();
+                    }
+                }
+            }
+        }
+
+        void scheduleSend() {
+            if (sending.compareAndSet(false, true)) {
+                try {
+                    (caughtUp ? senderExecutor : catchUpExecutor).execute(this::send);
+                } catch (RejectedExecutionException e) {
+                    sending.set(false);
+                }
+            }
+        }
+
+        private void send() {
+            try {
+                sendPending();
+            } catch (IOException | IllegalStateException | RejectedExecutionException e) {
+                LOG.debug("Subscriber to the changes of {} disconnected: {}", entityType, e.getMessage());
+                close(e);
+            }
+            sending.set(false);
+            // A change offered while sending could not schedule a send
+            if (!disconnected && !buffer.isEmpty()) {
+                scheduleSend();
+            }
+        }
+
+        private void sendPending() throws IOException {
+            if (!caughtUp) {
+                catchUp();
+            }
+            EntityChangeDTO change;
+            while (!disconnected && (change = buffer.poll()) != null) {
+                if (change == HEARTBEAT) {
+                    write(SseEmitter.event().comment("heartbeat"));
+                } else if (change.getSeq() > lastSentSeq) {
+                    sendChange(change);
+                }
+            }
+        }
+
+        /**
+         * Send the changes made since the subscription from the change feed: the buffer only holds the ones published
+         * after it started.
+         */
+        private void catchUp() throws IOException {
+            List<EntityChangeDTO> page;
+            do {
+                Optional<List<EntityChangeDTO>> changes = changeFeedService.getChangesAfter(entityType, lastSentSeq, PAGE_SIZE);
+                if (changes.isEmpty()) {
+                    disconnect();
+                    return;
+                }
+                page = changes.orElseThrow();
+                for (EntityChangeDTO change : page) {
+                    sendChange(change);
+                }
+            } while (page.size() == PAGE_SIZE && !disconnected);
+            caughtUp = true;
+        }
+
+        private void sendChange(EntityChangeDTO change) throws IOException {
+            write(SseEmitter.event().id(Long.toString(change.getSeq())).data(change, MediaType.APPLICATION_JSON));
+            lastSentSeq = change.getSeq();
+        }
+
+        private void write(SseEmitter.SseEventBuilder event) throws IOException {
+            Future<?> write = writerExecutor.submit(() -> {
+                emitter.send(event);
+                return null;
+            });
+            try {
+                write.get(properties.getWriteTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeTimedOut = true;
+                // Interrupting the writer may abort the blocked write
+                write.cancel(true);
+                throw new IOException("Write not done after " + properties.getWriteTimeout());
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof IOException cause) {
+                    throw cause;
+                }
+                throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while writing", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.crud.service;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.MailOutboxMessage;
+import com.crud.domain.enumeration.MailOutboxStatus;
+import com.crud.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Service storing emails in the mail outbox, and delivering them.
+ * <p>
+ * Delivery claims a batch of due messages with {@code SELECT ... FOR UPDATE SKIP LOCKED}, so that several instances
+ * never claim the same message, and pushes the messages back by the configured lease before sending them: a message
+ * claimed by an instance which dies is retried once the lease expires. A batch is sent over a single SMTP connection.
+ * Failed messages are retried with an exponential backoff, and kept as {@link MailOutboxStatus#FAILED} after the last
+ * attempt.
+ */
+@Service
+public class MailOutboxService {
+
+    public static final String DELIVERIES_METER_NAME = "mail.outbox.deliveries";
+    public static final String DELIVERIES_METER_OUTCOME_DIMENSION = "outcome";
+    public static final String QUEUE_AGE_METER_NAME = "mail.outbox.queue.age";
+    public static final String PENDING_METER_NAME = "mail.outbox.pending";
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailOutboxService.class);
+
+    private static final int LAST_ERROR_MAX_LENGTH = 512;
+
+    private final MailOutboxRepository mailOutboxRepository;
+
+    private final JavaMailSender javaMailSender;
+
+    private final JHipsterProperties jHipsterProperties;
+
+    private final ApplicationProperties.MailOutbox properties;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter sentCounter;
+
+    private final Counter retriedCounter;
+
+    private final Counter abandonedCounter;
+
+    private final Timer queueAgeTimer;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    public MailOutboxService(
+        MailOutboxRepository mailOutboxRepository,
+        JavaMailSender javaMailSender,
+        JHipsterProperties jHipsterProperties,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager,
+        MeterRegistry meterRegistry
+    ) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.javaMailSender = javaMailSender;
+        this.jHipsterProperties = jHipsterProperties;
+        this.properties = applicationProperties.getMailOutbox();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sentCounter = deliveriesCounterForOutcome("sent").register(meterRegistry);
+        this.retriedCounter = deliveriesCounterForOutcome("retried").register(meterRegistry);
+        this.abandonedCounter = deliveriesCounterForOutcome("abandoned").register(meterRegistry);
+        this.queueAgeTimer = Timer.builder(QUEUE_AGE_METER_NAME)
+            .description("Time spent by the sent emails in the mail outbox.")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        Gauge.builder(PENDING_METER_NAME, pendingCount, AtomicLong::get)
+            .description("Number of emails waiting in the mail outbox, as of the last delivery run.")
+            .baseUnit("emails")
+            .register(meterRegistry);
+    }
+
+    private Counter.Builder deliveriesCounterForOutcome(String outcome) {
+        return Counter.builder(DELIVERIES_METER_NAME)
+            .baseUnit("emails")
+            .description("Number of email delivery attempts made from the mail outbox.")
+            .tag(DELIVERIES_METER_OUTCOME_DIMENSION, outcome);
+    }
+
+    /**
+     * Store an email in the outbox, to be sent by {@link #deliverPendingMails()}, in the current transaction if any:
+     * the callers enqueue the email of a change in the transaction making it, so that it is sent if and only if the
+     * change is committed.
+     *
+     * @param message the message to store, built with {@link #newMessage(String, String, String, boolean, boolean)}.
+     */
+    @Transactional
+    public void enqueue(MailOutboxMessage message) {
+        mailOutboxRepository.save(message);
+    }
+
+    /**
+     * Store emails in the outbox, in a single transaction, or in the current one if any.
+     *
+     * @param messages the messages to store, built with {@link #newMessage(String, String, String, boolean, boolean)}.
+     */
+    @Transactional
+    public void enqueueAll(List<MailOutboxMessage> messages) {
+        mailOutboxRepository.saveAll(messages);
+    }
+
+    public MailOutboxMessage newMessage(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
+        MailOutboxMessage message = new MailOutboxMessage();
+        message.setRecipient(to);
+        message.setSubject(subject);
+        message.setContent(content);
+        message.setMultipart(isMultipart);
+        message.setHtml(isHtml);
+        return message;
+    }
+
+    /**
+     * Send the due emails of the outbox, batch after batch, until none is left.
+     */
+    @Scheduled(fixedDelayString = "${application.mail-outbox.poll-interval:PT5S}")
+    public void deliverPendingMails() {
+        List<MailOutboxMessage> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claimBatch());
+            if (!batch.isEmpty()) {
+                deliver(batch);
+            }
+        } while (batch.size() == properties.getBatchSize());
+        pendingCount.set(mailOutboxRepository.countByStatus(MailOutboxStatus.PENDING));
+    }
+
+    private List<MailOutboxMessage> claimBatch() {
+        Instant now = Instant.now();
+        List<MailOutboxMessage> batch = mailOutboxRepository.findDueForUpdate(
+            MailOutboxStatus.PENDING,
+            now,
+            Limit.of(properties.getBatchSize())
+        );
+        for (MailOutboxMessage message : batch) {
+            message.setAttempts(message.getAttempts() + 1);
+            message.setNextAttemptDate(now.plus(properties.getLease()));
+        }
+        return batch;
+    }
+
+    private void deliver(List<MailOutboxMessage> batch) {
+        Map<MimeMessage, MailOutboxMessage> messagesByMimeMessage = new LinkedHashMap<>();
+        Map<MailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        for (MailOutboxMessage message : batch) {
+            try {
+                messagesByMimeMessage.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+        if (!messagesByMimeMessage.isEmpty()) {
+            try {
+                javaMailSender.send(messagesByMimeMessage.keySet().toArray(MimeMessage[]::new));
+            } catch (MailSendException e) {
+                if (e.getFailedMessages().isEmpty()) {
+                    messagesByMimeMessage.values().forEach(message -> failures.put(message, e));
+                } else {
+                    e.getFailedMessages().forEach((mimeMessage, cause) -> failures.put(messagesByMimeMessage.get(mimeMessage), cause));
+                }
+            } catch (MailException e) {
+                messagesByMimeMessage.values().forEach(message -> failures.put(message, e));
+            }
+        }
+        transactionTemplate.executeWithoutResult(status -> saveOutcomes(batch, failures));
+    }
+
+    private void saveOutcomes(List<MailOutboxMessage> batch, Map<MailOutboxMessage, Exception> failures) {
+        Instant now = Instant.now();
+        List<Long> sentIds = new ArrayList<>();
+        List<MailOutboxMessage> failedMessages = new ArrayList<>();
+        for (MailOutboxMessage message : batch) {
+            Exception failure = failures.get(message);
+            if (failure == null) {
+                sentIds.add(message.getId());
+                queueAgeTimer.record(Duration.between(message.getCreatedDate(), now));
+                LOG.debug("Sent email to User '{}'", message.getRecipient());
+                continue;
+            }
+            message.setLastError(StringUtils.abbreviate(String.valueOf(failure.getMessage()), LAST_ERROR_MAX_LENGTH));
+            if (message.getAttempts() >= properties.getMaxAttempts()) {
+                message.setStatus(MailOutboxStatus.FAILED);
+                abandonedCounter.increment();
+                LOG.warn("Email could not be sent to user '{}' after {} attempts", message.getRecipient(), message.getAttempts(), failure);
+            } else {
+                message.setNextAttemptDate(now.plus(backoff(message.getAttempts())));
+                retriedCounter.increment();
+                LOG.info("Email could not be sent to user '{}', will retry: {}", message.getRecipient(), failure.getMessage());
+            }
+            failedMessages.add(message);
+        }
+        mailOutboxRepository.deleteAllByIdInBatch(sentIds);
+        mailOutboxRepository.saveAll(failedMessages);
+        sentCounter.increment(sentIds.size());
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    private MimeMessage toMimeMessage(MailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, message.isMultipart(), StandardCharsets.UTF_8.name());
+        helper.setTo(message.getRecipient());
+        helper.setFrom(jHipsterProperties.getMail().getFrom());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getContent(), message.isHtml());
+        return mimeMessage;
+    }
+}
@@ -1,120 +1,99 @@
 package com.crud.service;
 
+import com.crud.domain.MailOutboxMessage;
 import com.crud.domain.User;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
-import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.context.MessageSource;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring6.SpringTemplateEngine;
 import tech.jhipster.config.JHipsterProperties;
 
 /**
- * Service for sending emails asynchronously.
+ * Service for sending emails.
  * <p>
- * We use the {@link Async} annotation to send emails asynchronously.
+ * Emails are rendered right away and stored in the mail outbox; {@link MailOutboxService} sends them in the background,
+ * retrying until the mail server accepts them.
+ * <p>
+ * Lazy, along with its template renderer, as no email is sent during startup.
  */
 @Service
+@Lazy
 public class MailService {
 
     private static final Logger LOG = LoggerFactory.getLogger(MailService.class);
 
-    private static final String USER = "user";
-
-    private static final String BASE_URL = "baseUrl";
-
     private final JHipsterProperties jHipsterProperties;
 
-    private final JavaMailSender javaMailSender;
+    private final MailOutboxService mailOutboxService;
 
-    private final MessageSource messageSource;
-
-    private final SpringTemplateEngine templateEngine;
+    private final MailTemplateRenderer mailTemplateRenderer;
 
     public MailService(
         JHipsterProperties jHipsterProperties,
-        JavaMailSender javaMailSender,
-        MessageSource messageSource,
-        SpringTemplateEngine templateEngine
+        MailOutboxService mailOutboxService,
+        MailTemplateRenderer mailTemplateRenderer
     ) {
         this.jHipsterProperties = jHipsterProperties;
-        this.javaMailSender = javaMailSender;
-        this.messageSource = messageSource;
-        this.templateEngine = templateEngine;
+        this.mailOutboxService = mailOutboxService;
+        this.mailTemplateRenderer = mailTemplateRenderer;
     }
 
-    @Async
     public void sendEmail(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
-        this.sendEmailSync(to, subject, content, isMultipart, isHtml);
-    }
-
-    private void sendEmailSync(String to, String subject, String content, boolean isMultipart, boolean isHtml) {
         LOG.debug(
-            "Send email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
+            "Queue email[multipart '{}' and html '{}'] to '{}' with subject '{}' and content={}",
             isMultipart,
             isHtml,
             to,
             subject,
             content
         );
-
-        // Prepare message using a Spring helper
-        MimeMessage mimeMessage = javaMailSender.createMimeMessage();
-        try {
-            MimeMessageHelper message = new MimeMessageHelper(mimeMessage, isMultipart, StandardCharsets.UTF_8.name());
-            message.setTo(to);
-            message.setFrom(jHipsterProperties.getMail().getFrom());
-            message.setSubject(subject);
-            message.setText(content, isHtml);
-            javaMailSender.send(mimeMessage);
-            LOG.debug("Sent email to User '{}'", to);
-        } catch (MailException | MessagingException e) {
-            LOG.warn("Email could not be sent to user '{}'", to, e);
-        }
+        mailOutboxService.enqueue(mailOutboxService.newMessage(to, subject, content, isMultipart, isHtml));
     }
 
-    @Async
     public void sendEmailFromTemplate(User user, String templateName, String titleKey) {
-        this.sendEmailFromTemplateSync(user, templateName, titleKey);
+        renderEmailFromTemplate(user, templateName, titleKey).ifPresent(mailOutboxService::enqueue);
     }
 
-    private void sendEmailFromTemplateSync(User user, String templateName, String titleKey) {
+    private Optional<MailOutboxMessage> renderEmailFromTemplate(User user, String templateName, String titleKey) {
         if (user.getEmail() == null) {
             LOG.debug("Email doesn't exist for user '{}'", user.getLogin());
-            return;
+            return Optional.empty();
         }
         Locale locale = Locale.forLanguageTag(user.getLangKey());
-        Context context = new Context(locale);
-        context.setVariable(USER, user);
-        context.setVariable(BASE_URL, jHipsterProperties.getMail().getBaseUrl());
-        String content = templateEngine.process(templateName, context);
-        String subject = messageSource.getMessage(titleKey, null, locale);
-        this.sendEmailSync(user.getEmail(), subject, content, false, true);
+        String content = mailTemplateRenderer.render(templateName, locale, user, jHipsterProperties.getMail().getBaseUrl());
+        String subject = mailTemplateRenderer.getSubject(titleKey, locale);
+        return Optional.of(mailOutboxService.newMessage(user.getEmail(), subject, content, false, true));
     }
 
-    @Async
     public void sendActivationEmail(User user) {
         LOG.debug("Sending activation email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/activationEmail", "email.activation.title");
+        this.sendEmailFromTemplate(user, "mail/activationEmail", "email.activation.title");
     }
 
-    @Async
     public void sendCreationEmail(User user) {
         LOG.debug("Sending creation email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/creationEmail", "email.activation.title");
+        this.sendEmailFromTemplate(user, "mail/creationEmail", "email.activation.title");
+    }
+
+    /**
+     * Send the creation emails of users created in bulk, storing them in the outbox in a single transaction.
+     *
+     * @param users the created users.
+     */
+    public void sendCreationEmails(List<User> users) {
+        LOG.debug("Sending creation emails to {} users", users.size());
+        List<MailOutboxMessage> messages = users
+            .stream()
+            .flatMap(user -> renderEmailFromTemplate(user, "mail/creationEmail", "email.activation.title").stream())
+            .toList();
+        mailOutboxService.enqueueAll(messages);
     }
 
-    @Async
     public void sendPasswordResetMail(User user) {
         LOG.debug("Sending password reset email to '{}'", user.getEmail());
-        this.sendEmailFromTemplateSync(user, "mail/passwordResetEmail", "email.reset.title");
+        this.sendEmailFromTemplate(user, "mail/passwordResetEmail", "email.reset.title");
     }
 }
@@ -0,0 +1,220 @@
+package com.crud.service;
+
+import com.crud.domain.User;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.unbescape.html.HtmlEscape;
+
+/**
+ * Renders the email templates, processing each template only once per locale.
+ * <p>
+ * A template is compiled by processing it with placeholder values for the user-specific variables (login, keys and
+ * base URL), then splitting the output around the placeholders. Rendering an email only concatenates the literal
+ * parts with the HTML-escaped values of the user. A compiled template is only used if it renders a probe user exactly
+ * like Thymeleaf does; otherwise, and when Thymeleaf caching is disabled, templates are processed for every email.
+ * Subjects are cached per locale as well.
+ */
+@Component
+@Lazy
+public class MailTemplateRenderer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MailTemplateRenderer.class);
+
+    private static final String USER = "user";
+
+    private static final String BASE_URL = "baseUrl";
+
+    private static final String PROBE_BASE_URL = "http://probe.example.com:8080/path?a=1&b=2";
+
+    private static final User PROBE_USER = newUser("o'brien&<co>\"", "probe<activation>key", "probe<reset>key");
+
+    private final SpringTemplateEngine templateEngine;
+
+    private final MessageSource messageSource;
+
+    private final boolean cacheEnabled;
+
+    private final Map<Slot, String> placeholders = new EnumMap<>(Slot.class);
+
+    private final Map<String, Slot> slotsByPlaceholder;
+
+    private final Pattern placeholderPattern;
+
+    private final User placeholderUser;
+
+    private final Map<TemplateKey, Optional<CompiledTemplate>> compiledTemplates = new ConcurrentHashMap<>();
+
+    private final Map<TemplateKey, String> subjects = new ConcurrentHashMap<>();
+
+    public MailTemplateRenderer(SpringTemplateEngine templateEngine, MessageSource messageSource, ThymeleafProperties thymeleafProperties) {
+        this.templateEngine = templateEngine;
+        this.messageSource = messageSource;
+        this.cacheEnabled = thymeleafProperties.isCache();
+        // Lower-case letters and digits go through HTML escaping, URL building and login normalization unchanged
+        String prefix = "mailslot" + RandomStringUtils.randomAlphanumeric(12).toLowerCase(Locale.ENGLISH);
+        for (Slot slot : Slot.values()) {
+            placeholders.put(slot, prefix + slot.ordinal() + "x");
+        }
+        this.slotsByPlaceholder = placeholders.entrySet().stream().collect(Collectors.toMap(Map.Entry::getValue, Map.Entry::getKey));
+        this.placeholderPattern = Pattern.compile(prefix + "\\d+x");
+        this.placeholderUser = newUser(
+            placeholders.get(Slot.LOGIN),
+            placeholders.get(Slot.ACTIVATION_KEY),
+            placeholders.get(Slot.RESET_KEY)
+        );
+    }
+
+    /**
+     * Render an email template for a user.
+     *
+     * @param templateName the name of the template, for example {@code mail/activationEmail}.
+     * @param locale the locale of the user.
+     * @param user the user, available as {@code ${user}} in the template.
+     * @param baseUrl the base URL of the application, available as {@code ${baseUrl}} in the template.
+     * @return the rendered email.
+     */
+    public String render(String templateName, Locale locale, User user, String baseUrl) {
+        if (cacheEnabled) {
+            CompiledTemplate compiledTemplate = compiledTemplates
+                .computeIfAbsent(new TemplateKey(templateName, locale), this::compile)
+                .orElse(null);
+            if (compiledTemplate != null && compiledTemplate.canRender(user, baseUrl)) {
+                return compiledTemplate.render(user, baseUrl);
+            }
+        }
+        return process(templateName, locale, user, baseUrl);
+    }
+
+    /**
+     * Get the subject of an email.
+     *
+     * @param titleKey the message key of the subject.
+     * @param locale the locale of the user.
+     * @return the subject.
+     */
+    public String getSubject(String titleKey, Locale locale) {
+        if (!cacheEnabled) {
+            return messageSource.getMessage(titleKey, null, locale);
+        }
+        return subjects.computeIfAbsent(new TemplateKey(titleKey, locale), key -> messageSource.getMessage(titleKey, null, locale));
+    }
+
+    boolean isCompiled(String templateName, Locale locale) {
+        return compiledTemplates.getOrDefault(new TemplateKey(templateName, locale), Optional.empty()).isPresent();
+    }
+
+    private String process(String templateName, Locale locale, User user, String baseUrl) {
+        Context context = new Context(locale);
+        context.setVariable(USER, user);
+        context.setVariable(BASE_URL, baseUrl);
+        return templateEngine.process(templateName, context);
+    }
+
+    private Optional<CompiledTemplate> compile(TemplateKey key) {
+        String output = process(key.name(), key.locale(), placeholderUser, placeholders.get(Slot.BASE_URL));
+        List<String> literals = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        Matcher matcher = placeholderPattern.matcher(output);
+        int literalStart = 0;
+        while (matcher.find()) {
+            literals.add(output.substring(literalStart, matcher.start()));
+            slots.add(slotsByPlaceholder.get(matcher.group()));
+            literalStart = matcher.end();
+        }
+        literals.add(output.substring(literalStart));
+        CompiledTemplate compiledTemplate = new CompiledTemplate(literals.toArray(String[]::new), slots.toArray(Slot[]::new));
+        String probe = process(key.name(), key.locale(), PROBE_USER, PROBE_BASE_URL);
+        if (!compiledTemplate.render(PROBE_USER, PROBE_BASE_URL).equals(probe)) {
+            LOG.warn("Mail template '{}' cannot be compiled for locale '{}', it is processed for every email", key.name(), key.locale());
+            return Optional.empty();
+        }
+        LOG.debug("Compiled mail template '{}' for locale '{}' with {} variables", key.name(), key.locale(), slots.size());
+        return Optional.of(compiledTemplate);
+    }
+
+    private static User newUser(String login, String activationKey, String resetKey) {
+        User user = new User();
+        user.setLogin(login);
+        user.setActivationKey(activationKey);
+        user.setResetKey(resetKey);
+        return user;
+    }
+
+    private record TemplateKey(String name, Locale locale) {}
+
+    /**
+     * The variables which may change from one email to the next.
+     */
+    private enum Slot {
+        LOGIN,
+        ACTIVATION_KEY,
+        RESET_KEY,
+        BASE_URL;
+
+        String getValue(User user, String baseUrl) {
+            return switch (this) {
+                case LOGIN -> user.getLogin();
+                case ACTIVATION_KEY -> user.getActivationKey();
+                case RESET_KEY -> user.getResetKey();
+                case BASE_URL -> baseUrl;
+            };
+        }
+    }
+
+    /**
+     * A template output, split around its variables: {@code literals[i]} comes before {@code slots[i]}.
+     */
+    private static final class CompiledTemplate {
+
+        private final String[] literals;
+
+        private final Slot[] slots;
+
+        private final int literalsLength;
+
+        CompiledTemplate(String[] literals, Slot[] slots) {
+            this.literals = literals;
+            this.slots = slots;
+            int length = 0;
+            for (String literal : literals) {
+                length += literal.length();
+            }
+            this.literalsLength = length;
+        }
+
+        boolean canRender(User user, String baseUrl) {
+            // Thymeleaf renders a null value differently depending on the expression, so let it do so
+            for (Slot slot : slots) {
+                if (slot.getValue(user, baseUrl) == null) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        String render(User user, String baseUrl) {
+            StringBuilder content = new StringBuilder(literalsLength + 64 * slots.length);
+            for (int i = 0; i < slots.length; i++) {
+                content.append(literals[i]).append(HtmlEscape.escapeHtml4Xml(slots[i].getValue(user, baseUrl)));
+            }
+            return content.append(literals[slots.length]).toString();
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.crud.service;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.User;
+import com.crud.repository.UserRepository;
+import com.crud.service.dto.AdminUserDTO;
+import com.crud.service.dto.UserImportResultDTO;
+import com.crud.service.dto.UserImportResultDTO.Status;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import tech.jhipster.security.RandomUtil;
+
+/**
+ * Service for importing users in bulk.
+ * <p>
+ * Rows are read as a stream and processed in chunks: each chunk is checked for login and email uniqueness with
+ * one query per column, its passwords are hashed on a bounded pool, and it is inserted in its own transaction
+ * using JDBC batches, along with the creation emails in the mail outbox. Results are reported per row, in input order,
+ * as soon as their chunk is done.
+ */
+@Service
+public class UserImportService {
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        /**
+         * One JSON {@link AdminUserDTO} per line.
+         */
+        NDJSON,
+        /**
+         * A header row naming {@link AdminUserDTO} properties, with authorities separated by {@code |}.
+         */
+        CSV
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(UserImportService.class);
+
+    private final UserService userService;
+
+    private final UserRepository userRepository;
+
+    private final MailService mailService;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final Validator validator;
+
+    private final ObjectReader jsonReader;
+
+    private final ObjectReader csvReader;
+
+    private final int chunkSize;
+
+    private final ExecutorService hashingExecutor;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public UserImportService(
+        UserService userService,
+        UserRepository userRepository,
+        @Lazy MailService mailService,
+        PasswordEncoder passwordEncoder,
+        Validator validator,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.userService = userService;
+        this.userRepository = userRepository;
+        this.mailService = mailService;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.jsonReader = objectMapper.readerFor(AdminUserDTO.class);
+        this.csvReader = CsvMapper.builder()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build()
+            .readerFor(AdminUserDTO.class)
+            .with(CsvSchema.emptySchema().withHeader().withArrayElementSeparator("|"));
+        ApplicationProperties.UserImport properties = applicationProperties.getUserImport();
+        this.chunkSize = properties.getChunkSize();
+        this.hashingExecutor = Executors.newFixedThreadPool(
+            properties.getHashingThreads(),
+            new CustomizableThreadFactory("crud-user-import-")
+        );
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdownNow();
+    }
+
+    /**
+     * Import users from a stream of rows.
+     *
+     * @param in      the rows to import.
+     * @param format  the format of the rows.
+     * @param results receives one result per row, in input order.
+     * @throws IOException if the stream can't be read.
+     */
+    public void importUsers(InputStream in, Format format, Consumer<UserImportResultDTO> results) throws IOException {
+        ObjectReader reader = format == Format.CSV ? csvReader : jsonReader;
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        long rowNumber = 0;
+        try (MappingIterator<AdminUserDTO> rows = reader.readValues(in)) {
+            while (true) {
+                rowNumber++;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    chunk.add(new Row(rowNumber, rows.nextValue(), null));
+                } catch (JsonParseException e) {
+                    // Syntax errors leave the parser in an unknown state, so nothing after them can be trusted
+                    chunk.add(new Row(rowNumber, null, e.getOriginalMessage()));
+                    break;
+                } catch (JsonMappingException e) {
+                    chunk.add(new Row(rowNumber, null, e.getOriginalMessage()));
+                }
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, results);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(chunk, results);
+        LOG.debug("Finished importing users");
+    }
+
+    private void importChunk(List<Row> chunk, Consumer<UserImportResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        UserImportResultDTO[] chunkResults = new UserImportResultDTO[chunk.size()];
+        List<Integer> accepted = validate(chunk, chunkResults);
+        if (!accepted.isEmpty()) {
+            List<AdminUserDTO> userDTOs = accepted.stream().map(index -> chunk.get(index).userDTO()).toList();
+            try {
+                List<String> encryptedPasswords = encodeRandomPasswords(userDTOs.size());
+                List<User> users = transactionTemplate.execute(status -> {
+                    List<User> created = userService.createUsers(userDTOs, encryptedPasswords);
+                    mailService.sendCreationEmails(created);
+                    return created;
+                });
+                for (int i = 0; i < users.size(); i++) {
+                    User user = users.get(i);
+                    int index = accepted.get(i);
+                    long number = chunk.get(index).number();
+                    chunkResults[index] = new UserImportResultDTO(number, user.getLogin(), Status.CREATED, user.getId(), null);
+                }
+            } catch (DataAccessException e) {
+                LOG.warn("Could not import users from row {}", chunk.get(0).number(), e);
+                for (int index : accepted) {
+                    Row row = chunk.get(index);
+                    String login = row.userDTO().getLogin();
+                    chunkResults[index] = new UserImportResultDTO(row.number(), login, Status.FAILED, null, e.getMessage());
+                }
+            }
+        }
+        Arrays.stream(chunkResults).forEach(results);
+    }
+
+    /**
+     * Check the rows of a chunk, fill the results of the rejected ones, and return the indexes of the others.
+     */
+    private List<Integer> validate(List<Row> chunk, UserImportResultDTO[] chunkResults) {
+        Set<String> logins = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.userDTO() != null && row.userDTO().getLogin() != null) {
+                logins.add(row.userDTO().getLogin().toLowerCase());
+            }
+            if (row.userDTO() != null && row.userDTO().getEmail() != null) {
+                emails.add(row.userDTO().getEmail().toLowerCase());
+            }
+        }
+        Set<String> usedLogins = logins.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingLogins(logins));
+        Set<String> usedEmails = emails.isEmpty() ? new HashSet<>() : new HashSet<>(userRepository.findExistingEmails(emails));
+
+        List<Integer> accepted = new ArrayList<>(chunk.size());
+        for (int index = 0; index < chunk.size(); index++) {
+            Row row = chunk.get(index);
+            AdminUserDTO userDTO = row.userDTO();
+            String error = userDTO == null ? row.error() : validationError(userDTO);
+            String login = userDTO == null ? null : userDTO.getLogin();
+            if (error != null) {
+                chunkResults[index] = new UserImportResultDTO(row.number(), login, Status.INVALID, null, error);
+            } else if (!usedLogins.add(login.toLowerCase())) {
+                chunkResults[index] = new UserImportResultDTO(row.number(), login, Status.LOGIN_ALREADY_USED, null, null);
+            } else if (userDTO.getEmail() != null && !usedEmails.add(userDTO.getEmail().toLowerCase())) {
+                chunkResults[index] = new UserImportResultDTO(row.number(), login, Status.EMAIL_ALREADY_USED, null, null);
+            } else {
+                accepted.add(index);
+            }
+        }
+        return accepted;
+    }
+
+    private String validationError(AdminUserDTO userDTO) {
+        if (userDTO.getId() != null) {
+            return "A new user cannot already have an ID";
+        }
+        Set<ConstraintViolation<AdminUserDTO>> violations = validator.validate(userDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations
+            .stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining(", "));
+    }
+
+    private List<String> encodeRandomPasswords(int count) {
+        List<CompletableFuture<String>> passwords = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            passwords.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(RandomUtil.generatePassword()), hashingExecutor));
+        }
+        return passwords.stream().map(CompletableFuture::join).toList();
+    }
+
+    private record Row(long number, AdminUserDTO userDTO, String error) {}
+}
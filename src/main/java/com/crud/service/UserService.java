@@ -5,6 +5,8 @@ import com.crud.domain.Authority;
 import com.crud.domain.User;
 import com.crud.repository.AuthorityRepository;
 import com.crud.repository.UserRepository;
+import com.crud.repository.search.PrefixSearchRepository;
+import com.crud.repository.search.UserSearchRepository;
 import com.crud.security.AuthoritiesConstants;
 import com.crud.security.SecurityUtils;
 import com.crud.service.dto.AdminUserDTO;
@@ -12,9 +14,13 @@ import com.crud.service.dto.UserDTO;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -30,6 +36,10 @@ import tech.jhipster.security.RandomUtil;
 @Transactional
 public class UserService {
 
+    public static final String PUBLIC_USERS_CACHE = "publicUsers";
+
+    public static final String USERS_BY_LOGIN_CACHE = "usersByLogin";
+
     private static final Logger LOG = LoggerFactory.getLogger(UserService.class);
 
     private final UserRepository userRepository;
@@ -38,10 +48,22 @@ public class UserService {
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final CacheManager cacheManager;
+
+    private final UserSearchRepository userSearchRepository;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordEncoder passwordEncoder,
+        AuthorityRepository authorityRepository,
+        CacheManager cacheManager,
+        UserSearchRepository userSearchRepository
+    ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
+        this.cacheManager = cacheManager;
+        this.userSearchRepository = userSearchRepository;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -52,6 +74,7 @@ public class UserService {
                 // activate given user for the registration key.
                 user.setActivated(true);
                 user.setActivationKey(null);
+                this.clearUserCaches(user);
                 LOG.debug("Activated user: {}", user);
                 return user;
             });
@@ -66,6 +89,7 @@ public class UserService {
                 user.setPassword(passwordEncoder.encode(newPassword));
                 user.setResetKey(null);
                 user.setResetDate(null);
+                this.clearUserCaches(user);
                 return user;
             });
     }
@@ -77,6 +101,7 @@ public class UserService {
             .map(user -> {
                 user.setResetKey(RandomUtil.generateResetKey());
                 user.setResetDate(Instant.now());
+                this.clearUserCaches(user);
                 return user;
             });
     }
@@ -128,10 +153,71 @@ public class UserService {
         }
         userRepository.delete(existingUser);
         userRepository.flush();
+        this.clearUserCaches(existingUser);
         return true;
     }
 
     public User createUser(AdminUserDTO userDTO) {
+        User user = newActivatedUser(userDTO);
+        String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
+        user.setPassword(encryptedPassword);
+        if (userDTO.getAuthorities() != null) {
+            Set<Authority> authorities = userDTO
+                .getAuthorities()
+                .stream()
+                .map(authorityRepository::findById)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .collect(Collectors.toSet());
+            user.setAuthorities(authorities);
+        }
+        userRepository.save(user);
+        this.clearUserCaches(user);
+        LOG.debug("Created Information for User: {}", user);
+        return user;
+    }
+
+    /**
+     * Create users in bulk, for imports.
+     * <p>
+     * Unlike {@link #createUser(AdminUserDTO)}, login and email uniqueness must already have been checked by the caller,
+     * and the passwords already encoded, so that the expensive hashing can run outside of the transaction.
+     *
+     * @param userDTOs           users to create.
+     * @param encryptedPasswords encoded passwords, in the same order as {@code userDTOs}.
+     * @return the created users, with their ids.
+     */
+    public List<User> createUsers(List<AdminUserDTO> userDTOs, List<String> encryptedPasswords) {
+        Map<String, Authority> authoritiesByName = authorityRepository
+            .findAll()
+            .stream()
+            .collect(Collectors.toMap(Authority::getName, Function.identity()));
+        String currentLogin = SecurityUtils.getCurrentUserLogin().orElse(Constants.SYSTEM);
+        List<User> users = new ArrayList<>(userDTOs.size());
+        for (int i = 0; i < userDTOs.size(); i++) {
+            AdminUserDTO userDTO = userDTOs.get(i);
+            User user = newActivatedUser(userDTO);
+            user.setPassword(encryptedPasswords.get(i));
+            user.setCreatedBy(currentLogin);
+            user.setLastModifiedBy(currentLogin);
+            if (userDTO.getAuthorities() != null) {
+                user.setAuthorities(
+                    userDTO.getAuthorities().stream().map(authoritiesByName::get).filter(Objects::nonNull).collect(Collectors.toSet())
+                );
+            }
+            users.add(user);
+        }
+        userRepository.insertAll(users);
+        Cache usersByLoginCache = Objects.requireNonNull(cacheManager.getCache(USERS_BY_LOGIN_CACHE));
+        users.forEach(user -> usersByLoginCache.evict(user.getLogin()));
+        Objects.requireNonNull(cacheManager.getCache(PUBLIC_USERS_CACHE)).clear();
+        // The rows are inserted with JDBC, so Hibernate does not notify the search index
+        userSearchRepository.indexAfterCommit(users);
+        LOG.debug("Created Information for {} Users", users.size());
+        return users;
+    }
+
+    private User newActivatedUser(AdminUserDTO userDTO) {
         User user = new User();
         user.setLogin(userDTO.getLogin().toLowerCase());
         user.setFirstName(userDTO.getFirstName());
@@ -145,23 +231,9 @@ public class UserService {
         } else {
             user.setLangKey(userDTO.getLangKey());
         }
-        String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
-        user.setPassword(encryptedPassword);
         user.setResetKey(RandomUtil.generateResetKey());
         user.setResetDate(Instant.now());
         user.setActivated(true);
-        if (userDTO.getAuthorities() != null) {
-            Set<Authority> authorities = userDTO
-                .getAuthorities()
-                .stream()
-                .map(authorityRepository::findById)
-                .filter(Optional::isPresent)
-                .map(Optional::get)
-                .collect(Collectors.toSet());
-            user.setAuthorities(authorities);
-        }
-        userRepository.save(user);
-        LOG.debug("Created Information for User: {}", user);
         return user;
     }
 
@@ -176,6 +248,8 @@ public class UserService {
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(user -> {
+                // The login may change, so the entry cached under the previous one must go too
+                this.clearUserCaches(user);
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -195,6 +269,7 @@ public class UserService {
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
                 userRepository.save(user);
+                this.clearUserCaches(user);
                 LOG.debug("Changed Information for User: {}", user);
                 return user;
             })
@@ -206,6 +281,7 @@ public class UserService {
             .findOneByLogin(login)
             .ifPresent(user -> {
                 userRepository.delete(user);
+                this.clearUserCaches(user);
                 LOG.debug("Deleted User: {}", user);
             });
     }
@@ -231,6 +307,7 @@ public class UserService {
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
                 userRepository.save(user);
+                this.clearUserCaches(user);
                 LOG.debug("Changed Information for User: {}", user);
             });
     }
@@ -246,6 +323,7 @@ public class UserService {
                 }
                 String encryptedPassword = passwordEncoder.encode(newPassword);
                 user.setPassword(encryptedPassword);
+                this.clearUserCaches(user);
                 LOG.debug("Changed password for User: {}", user);
             });
     }
@@ -256,11 +334,38 @@ public class UserService {
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PUBLIC_USERS_CACHE)
     public Page<UserDTO> getAllPublicUsers(Pageable pageable) {
         return userRepository.findAllByIdNotNullAndActivatedIsTrue(pageable).map(UserDTO::new);
     }
 
+    /**
+     * Search users by prefixes of their login, first name, last name or email.
+     *
+     * @param query the prefixes to look for.
+     * @param limit the maximum number of users to return.
+     * @return the best matching users, best first.
+     */
     @Transactional(readOnly = true)
+    public List<AdminUserDTO> searchUsers(String query, int limit) {
+        long[] ids = userSearchRepository.search(query, limit);
+        if (ids.length == 0) {
+            return Collections.emptyList();
+        }
+        List<User> users = userRepository.findAllWithAuthoritiesByIdIn(Arrays.stream(ids).boxed().toList());
+        return PrefixSearchRepository.inSearchOrder(ids, users, User::getId).stream().map(AdminUserDTO::new).toList();
+    }
+
+    /**
+     * Get a user and its authorities, from the {@link #USERS_BY_LOGIN_CACHE} cache when possible.
+     * <p>
+     * The returned user is shared by all callers and must not be modified.
+     *
+     * @param login the login of the user.
+     * @return the user, if found.
+     */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = USERS_BY_LOGIN_CACHE, unless = "#result == null")
     public Optional<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
     }
@@ -282,6 +387,7 @@ public class UserService {
             .forEach(user -> {
                 LOG.debug("Deleting not activated user {}", user.getLogin());
                 userRepository.delete(user);
+                this.clearUserCaches(user);
             });
     }
 
@@ -293,4 +399,10 @@ public class UserService {
     public List<String> getAuthorities() {
         return authorityRepository.findAll().stream().map(Authority::getName).toList();
     }
+
+    private void clearUserCaches(User user) {
+        Objects.requireNonNull(cacheManager.getCache(USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        // Public pages are keyed by pageable, so any change to an activated user invalidates all of them
+        Objects.requireNonNull(cacheManager.getCache(PUBLIC_USERS_CACHE)).clear();
+    }
 }
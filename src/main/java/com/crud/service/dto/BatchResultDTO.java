@@ -0,0 +1,50 @@
+package com.crud.service.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO representing the response to a sub-request of a batch: its HTTP status, and its body if any.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int status;
+
+    private transient Object body;
+
+    public BatchResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public BatchResultDTO(int status, Object body) {
+        this.status = status;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public Object getBody() {
+        return body;
+    }
+
+    public void setBody(Object body) {
+        this.body = body;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchResultDTO{" +
+            "status=" + status +
+            "}";
+    }
+}
@@ -0,0 +1,49 @@
+package com.crud.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of a bulk employee upsert.
+ */
+public class EmployeeUpsertResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int created;
+
+    private int updated;
+
+    public EmployeeUpsertResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EmployeeUpsertResultDTO(int created, int updated) {
+        this.created = created;
+        this.updated = updated;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(int updated) {
+        this.updated = updated;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EmployeeUpsertResultDTO{" +
+            "created=" + created +
+            ", updated=" + updated +
+            "}";
+    }
+}
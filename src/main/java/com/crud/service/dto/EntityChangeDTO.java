@@ -0,0 +1,91 @@
+package com.crud.service.dto;
+
+import com.crud.domain.enumeration.ChangeOperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.io.Serializable;
+
+/**
+ * A DTO representing a change of the change feed: an upsert, with the current state of the entity, or a delete.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EntityChangeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long seq;
+
+    private String entity;
+
+    private String id;
+
+    private ChangeOperation operation;
+
+    private transient Object data;
+
+    public EntityChangeDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public EntityChangeDTO(long seq, String entity, String id, ChangeOperation operation, Object data) {
+        this.seq = seq;
+        this.entity = entity;
+        this.id = id;
+        this.operation = operation;
+        this.data = data;
+    }
+
+    public long getSeq() {
+        return seq;
+    }
+
+    public void setSeq(long seq) {
+        this.seq = seq;
+    }
+
+    public String getEntity() {
+        return entity;
+    }
+
+    public void setEntity(String entity) {
+        this.entity = entity;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public ChangeOperation getOperation() {
+        return operation;
+    }
+
+    public void setOperation(ChangeOperation operation) {
+        this.operation = operation;
+    }
+
+    /**
+     * @return the current state of the entity for an upsert, or {@code null} for a delete, or if the entity was
+     * deleted since: its delete follows in the feed.
+     */
+    public Object getData() {
+        return data;
+    }
+
+    public void setData(Object data) {
+        this.data = data;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityChangeDTO{" +
+            "seq=" + seq +
+            ", entity='" + entity + '\'' +
+            ", id='" + id + '\'' +
+            ", operation=" + operation +
+            "}";
+    }
+}
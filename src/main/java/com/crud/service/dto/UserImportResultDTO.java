@@ -0,0 +1,93 @@
+package com.crud.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of importing one row of a bulk user import.
+ */
+public class UserImportResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        LOGIN_ALREADY_USED,
+        EMAIL_ALREADY_USED,
+        FAILED
+    }
+
+    private long row;
+
+    private String login;
+
+    private Status status;
+
+    private Long id;
+
+    private String message;
+
+    public UserImportResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public UserImportResultDTO(long row, String login, Status status, Long id, String message) {
+        this.row = row;
+        this.login = login;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "UserImportResultDTO{" +
+            "row=" + row +
+            ", login='" + login + '\'' +
+            ", status=" + status +
+            ", id=" + id +
+            ", message='" + message + '\'' +
+            "}";
+    }
+}
@@ -0,0 +1,37 @@
+package com.crud.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO representing the outcome of moving workers to another manager.
+ */
+public class WorkersReassignmentResultDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private int reassigned;
+
+    public WorkersReassignmentResultDTO() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public WorkersReassignmentResultDTO(int reassigned) {
+        this.reassigned = reassigned;
+    }
+
+    public int getReassigned() {
+        return reassigned;
+    }
+
+    public void setReassigned(int reassigned) {
+        this.reassigned = reassigned;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "WorkersReassignmentResultDTO{" +
+            "reassigned=" + reassigned +
+            "}";
+    }
+}
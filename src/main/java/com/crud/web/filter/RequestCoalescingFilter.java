@@ -0,0 +1,269 @@
+package com.crud.web.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Filter sharing the response of concurrent identical GET requests.
+ * <p>
+ * The first request for a key runs; the identical requests arriving while it runs wait for its response, and are sent
+ * a copy of its status, headers and body rather than loading the same data and serializing it again. The key is the
+ * path, the query and the {@code Accept} header of the request, plus the authorities of the caller, so that callers
+ * are only ever sent a response they would have got themselves. Only the configured paths are coalesced, and not the
+ * conditional requests. Only the headers set after this filter are shared: the ones set before it, such as the CORS
+ * headers for the origin of the first request, are set for each request by the filters it went through. Cookies are
+ * never shared; a response which is not complete when the first request returns, such as an error sent by the
+ * container or an asynchronous response, is not shared either, and the waiting requests run on their own. So do the
+ * requests which waited longer than the wait timeout, so that a stuck request does not hold up the identical ones.
+ */
+public class RequestCoalescingFilter extends OncePerRequestFilter {
+
+    public static final String METER_NAME = "http.server.requests.coalescing";
+    public static final String METER_OUTCOME_DIMENSION = "outcome";
+    public static final String METER_PATH_DIMENSION = "path";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestCoalescingFilter.class);
+
+    private final List<String> paths;
+
+    private final long waitTimeoutMillis;
+
+    private final MeterRegistry meterRegistry;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    private final ConcurrentMap<String, CompletableFuture<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> executedCounters = new ConcurrentHashMap<>();
+
+    private final Map<String, Counter> coalescedCounters = new ConcurrentHashMap<>();
+
+    public RequestCoalescingFilter(List<String> paths, Duration waitTimeout, MeterRegistry meterRegistry) {
+        this.paths = List.copyOf(paths);
+        this.waitTimeoutMillis = waitTimeout.toMillis();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String path = coalescedPath(request);
+        if (path == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = key(request);
+        CompletableFuture<SharedResponse> ownResponse = new CompletableFuture<>();
+        CompletableFuture<SharedResponse> inFlightResponse = inFlight.putIfAbsent(key, ownResponse);
+        if (inFlightResponse != null) {
+            SharedResponse sharedResponse = await(inFlightResponse);
+            if (sharedResponse != null) {
+                counter(coalescedCounters, "coalesced", path).increment();
+                sharedResponse.writeTo(response);
+                return;
+            }
+            LOG.debug("Response of {} could not be shared, running the request", key);
+            counter(executedCounters, "executed", path).increment();
+            filterChain.doFilter(request, response);
+            return;
+        }
+        counter(executedCounters, "executed", path).increment();
+        HeaderRecordingResponseWrapper headerRecorder = new HeaderRecordingResponseWrapper(response);
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(headerRecorder);
+        SharedResponse sharedResponse = null;
+        try {
+            filterChain.doFilter(request, responseWrapper);
+            if (!request.isAsyncStarted() && !response.isCommitted()) {
+                sharedResponse = SharedResponse.of(responseWrapper, headerRecorder.headerWrites);
+            }
+        } finally {
+            inFlight.remove(key, ownResponse);
+            ownResponse.complete(sharedResponse);
+        }
+        if (!request.isAsyncStarted()) {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * @return the estimated number of requests waiting for the response of an identical request.
+     */
+    int waitingRequests() {
+        return inFlight.values().stream().mapToInt(CompletableFuture::getNumberOfDependents).sum();
+    }
+
+    private String coalescedPath(HttpServletRequest request) {
+        if (
+            !"GET".equals(request.getMethod()) ||
+            request.getHeader(HttpHeaders.IF_NONE_MATCH) != null ||
+            request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null
+        ) {
+            return null;
+        }
+        String requestPath = urlPathHelper.getPathWithinApplication(request);
+        return paths.stream().filter(path -> pathMatcher.match(path, requestPath)).findFirst().orElse(null);
+    }
+
+    private static String key(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        String authorities = authentication == null
+            ? ""
+            : authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).sorted().collect(Collectors.joining(","));
+        return (
+            request.getRequestURI() +
+            "?" +
+            (request.getQueryString() == null ? "" : request.getQueryString()) +
+            "\n" +
+            request.getHeader(HttpHeaders.ACCEPT) +
+            "\n" +
+            authorities
+        );
+    }
+
+    private SharedResponse await(CompletableFuture<SharedResponse> inFlightResponse) throws IOException {
+        try {
+            return inFlightResponse.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a coalesced response", e);
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String outcome, String path) {
+        return counters.computeIfAbsent(path, key ->
+            Counter.builder(METER_NAME)
+                .description("Number of GET requests run, or sent the response of an identical concurrent request.")
+                .tag(METER_OUTCOME_DIMENSION, outcome)
+                .tag(METER_PATH_DIMENSION, path)
+                .register(meterRegistry)
+        );
+    }
+
+    /**
+     * Response recording the headers set by the rest of the chain, but the cookies and the content length, to set them
+     * again in the same order on the responses of the coalesced requests.
+     */
+    private static final class HeaderRecordingResponseWrapper extends HttpServletResponseWrapper {
+
+        private final List<Consumer<HttpServletResponse>> headerWrites = new ArrayList<>();
+
+        HeaderRecordingResponseWrapper(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value);
+            record(name, response -> response.setHeader(name, value));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value);
+            record(name, response -> response.addHeader(name, value));
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            super.setIntHeader(name, value);
+            record(name, response -> response.setIntHeader(name, value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            super.addIntHeader(name, value);
+            record(name, response -> response.addIntHeader(name, value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            super.setDateHeader(name, date);
+            record(name, response -> response.setDateHeader(name, date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            super.addDateHeader(name, date);
+            record(name, response -> response.addDateHeader(name, date));
+        }
+
+        private void record(String name, Consumer<HttpServletResponse> headerWrite) {
+            if (!HttpHeaders.SET_COOKIE.equalsIgnoreCase(name) && !HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                headerWrites.add(headerWrite);
+            }
+        }
+    }
+
+    /**
+     * Copy of a complete response, sent to the coalesced requests.
+     */
+    private static final class SharedResponse {
+
+        private final int status;
+
+        private final String contentType;
+
+        private final List<Consumer<HttpServletResponse>> headerWrites;
+
+        private final byte[] body;
+
+        private SharedResponse(int status, String contentType, List<Consumer<HttpServletResponse>> headerWrites, byte[] body) {
+            this.status = status;
+            this.contentType = contentType;
+            this.headerWrites = headerWrites;
+            this.body = body;
+        }
+
+        static SharedResponse of(ContentCachingResponseWrapper response, List<Consumer<HttpServletResponse>> headerWrites) {
+            return new SharedResponse(
+                response.getStatus(),
+                response.getContentType(),
+                List.copyOf(headerWrites),
+                response.getContentAsByteArray()
+            );
+        }
+
+        void writeTo(HttpServletResponse response) throws IOException {
+            response.setStatus(status);
+            headerWrites.forEach(headerWrite -> headerWrite.accept(response));
+            if (contentType != null) {
+                response.setContentType(contentType);
+            }
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
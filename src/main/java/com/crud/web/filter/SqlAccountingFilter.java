@@ -0,0 +1,118 @@
+package com.crud.web.filter;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.management.SqlMetersService;
+import com.crud.management.SqlStatementStatistics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Filter accounting for the SQL statements run by each HTTP request.
+ * <p>
+ * The number of statements, the number of rows and the time spent in the database are recorded by
+ * {@link SqlMetersService}, and optionally returned in response headers. A warning is logged when a request runs more
+ * statements than its budget, or runs the same statement many times, which usually means lazy associations are loaded
+ * one entity at a time.
+ */
+public class SqlAccountingFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    public static final String ROWS_HEADER = "X-Sql-Rows";
+    public static final String TIME_HEADER = "X-Sql-Time-Ms";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlAccountingFilter.class);
+
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlMetersService sqlMetersService;
+
+    private final ApplicationProperties.SqlAccounting properties;
+
+    private final boolean responseHeaders;
+
+    public SqlAccountingFilter(SqlMetersService sqlMetersService, ApplicationProperties.SqlAccounting properties, boolean responseHeaders) {
+        this.sqlMetersService = sqlMetersService;
+        this.properties = properties;
+        this.responseHeaders = responseHeaders;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        try (SqlStatementStatistics statistics = SqlStatementStatistics.start()) {
+            if (responseHeaders) {
+                StatisticsHeadersResponseWrapper responseWrapper = new StatisticsHeadersResponseWrapper(response, statistics);
+                filterChain.doFilter(request, responseWrapper);
+                if (!response.isCommitted()) {
+                    responseWrapper.addStatisticsHeaders();
+                }
+            } else {
+                filterChain.doFilter(request, response);
+            }
+            report(request, statistics);
+        }
+    }
+
+    private void report(HttpServletRequest request, SqlStatementStatistics statistics) {
+        String method = request.getMethod();
+        String uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern ? pattern : UNKNOWN_URI;
+        sqlMetersService.record(method, uri, statistics);
+        if (statistics.getStatements() > properties.getStatementBudget()) {
+            LOG.warn(
+                "{} {} ran {} SQL statements, over the budget of {}",
+                method,
+                uri,
+                statistics.getStatements(),
+                properties.getStatementBudget()
+            );
+        }
+        if (statistics.getMostRepeatedShapeCount() >= properties.getRepeatedStatementThreshold()) {
+            LOG.warn(
+                "{} {} ran the same SQL statement {} times, probably an N+1 query: {}",
+                method,
+                uri,
+                statistics.getMostRepeatedShapeCount(),
+                statistics.getMostRepeatedShape()
+            );
+        }
+    }
+
+    /**
+     * Add the statistics headers just before the response is committed, as they cannot be added afterwards.
+     */
+    private static final class StatisticsHeadersResponseWrapper extends OnCommittedResponseWrapper {
+
+        private final SqlStatementStatistics statistics;
+
+        private boolean headersAdded;
+
+        StatisticsHeadersResponseWrapper(HttpServletResponse response, SqlStatementStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            addStatisticsHeaders();
+        }
+
+        void addStatisticsHeaders() {
+            if (headersAdded) {
+                return;
+            }
+            headersAdded = true;
+            setHeader(STATEMENTS_HEADER, Integer.toString(statistics.getStatements()));
+            setHeader(ROWS_HEADER, Long.toString(statistics.getRows()));
+            setHeader(TIME_HEADER, Long.toString(TimeUnit.NANOSECONDS.toMillis(statistics.getNanos())));
+        }
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Servlet filters.
+ */
+package com.crud.web.filter;
@@ -0,0 +1,180 @@
+package com.crud.web.rest;
+
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.domain.Manager;
+import com.crud.domain.Workers;
+import com.crud.security.SecurityUtils;
+import com.crud.service.BatchReadService;
+import com.crud.service.UserService;
+import com.crud.service.dto.AdminUserDTO;
+import com.crud.service.dto.BatchResultDTO;
+import com.crud.web.rest.errors.BadRequestAlertException;
+import com.crud.web.rest.vm.BatchRequestVM;
+import jakarta.validation.Valid;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST controller running batches of read sub-requests, so that a client needing several resources makes a single
+ * request, authenticated once.
+ */
+@RestController
+@RequestMapping("/api/batch")
+public class BatchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BatchResource.class);
+
+    private static final String ENTITY_NAME = "batch";
+
+    private static final int MAX_REQUESTS = 50;
+
+    private static final String ACCOUNT_PATH = "/api/account";
+
+    private static final Pattern ENTITY_PATH = Pattern.compile("/api/(companies|employees|managers|workers)/([^/?]+)");
+
+    private static final Map<String, Class<?>> ENTITY_CLASSES = Map.of(
+        "companies",
+        Company.class,
+        "employees",
+        Employee.class,
+        "managers",
+        Manager.class,
+        "workers",
+        Workers.class
+    );
+
+    private static final Map<Class<?>, Function<String, Object>> ID_PARSERS = Map.of(
+        Company.class,
+        Long::valueOf,
+        Employee.class,
+        Long::valueOf,
+        Manager.class,
+        UUID::fromString,
+        Workers.class,
+        Long::valueOf
+    );
+
+    private final BatchReadService batchReadService;
+
+    private final UserService userService;
+
+    public BatchResource(BatchReadService batchReadService, UserService userService) {
+        this.batchReadService = batchReadService;
+        this.userService = userService;
+    }
+
+    /**
+     * {@code POST  /batch} : run a batch of read sub-requests.
+     * <p>
+     * The sub-requests are {@code GET /api/account}, and {@code GET} by id of the companies, employees, managers and
+     * workers. The entities of each type are fetched together with a single query, and the types in parallel.
+     *
+     * @param requests the sub-requests, at most 50.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and in body the responses to the sub-requests, in
+     * the same order, each with its status and body,
+     * or with status {@code 400 (Bad Request)} if there are too many sub-requests, or one of them is not supported,
+     * or with status {@code 503 (Service Unavailable)} if too many batches are running, or the entities took too long to load.
+     */
+    @PostMapping("")
+    public ResponseEntity<List<BatchResultDTO>> runBatch(@Valid @RequestBody List<@Valid BatchRequestVM> requests) {
+        LOG.debug("REST request to run a batch of {} requests", requests.size());
+        if (requests.size() > MAX_REQUESTS) {
+            throw new BadRequestAlertException("A batch has at most " + MAX_REQUESTS + " requests", ENTITY_NAME, "batchtoolarge");
+        }
+        // The id of each sub-request by id, or null if it is invalid; the entity class is null for the account
+        List<Class<?>> entityClasses = new ArrayList<>();
+        List<Object> ids = new ArrayList<>();
+        Map<Class<?>, Set<Object>> idsByType = new LinkedHashMap<>();
+        for (BatchRequestVM request : requests) {
+            if (!"GET".equalsIgnoreCase(request.getMethod())) {
+                throw new BadRequestAlertException("Only GET requests can be batched", ENTITY_NAME, "methodinvalid");
+            }
+            if (ACCOUNT_PATH.equals(request.getPath())) {
+                entityClasses.add(null);
+                ids.add(null);
+                continue;
+            }
+            Matcher matcher = ENTITY_PATH.matcher(request.getPath());
+            if (!matcher.matches()) {
+                throw new BadRequestAlertException("This request can't be batched: " + request.getPath(), ENTITY_NAME, "pathinvalid");
+            }
+            Class<?> entityClass = ENTITY_CLASSES.get(matcher.group(1));
+            Object id = parseId(entityClass, matcher.group(2));
+            entityClasses.add(entityClass);
+            ids.add(id);
+            if (id != null) {
+                idsByType.computeIfAbsent(entityClass, key -> new LinkedHashSet<>()).add(id);
+            }
+        }
+
+        CompletableFuture<Map<Class<?>, Map<Object, Object>>> entities;
+        try {
+            entities = batchReadService.findAllById(idsByType);
+        } catch (TaskRejectedException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many batches are running", e);
+        }
+        // The account is read by this thread, with its security context, while the entities are loaded
+        BatchResultDTO account = entityClasses.contains(null) ? getAccount() : null;
+        Map<Class<?>, Map<Object, Object>> entitiesByType;
+        try {
+            entitiesByType = entities.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The batch took too long to run", e.getCause());
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+        List<BatchResultDTO> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Class<?> entityClass = entityClasses.get(i);
+            Object id = ids.get(i);
+            if (entityClass == null) {
+                results.add(account);
+            } else if (id == null) {
+                results.add(new BatchResultDTO(HttpStatus.BAD_REQUEST.value(), null));
+            } else {
+                Object entity = entitiesByType.getOrDefault(entityClass, Map.of()).get(id);
+                results.add(new BatchResultDTO(entity != null ? HttpStatus.OK.value() : HttpStatus.NOT_FOUND.value(), entity));
+            }
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    private static Object parseId(Class<?> entityClass, String id) {
+        try {
+            return ID_PARSERS.get(entityClass).apply(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private BatchResultDTO getAccount() {
+        return SecurityUtils.getCurrentUserLogin()
+            .flatMap(userService::getUserWithAuthoritiesByLogin)
+            .map(user -> {
+                AdminUserDTO account = new AdminUserDTO(user);
+                account.setAuthorities(SecurityUtils.getCurrentUserAuthorities());
+                return new BatchResultDTO(HttpStatus.OK.value(), account);
+            })
+            .orElseGet(() -> new BatchResultDTO(HttpStatus.INTERNAL_SERVER_ERROR.value(), null));
+    }
+}
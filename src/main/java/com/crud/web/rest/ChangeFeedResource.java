@@ -0,0 +1,69 @@
+package com.crud.web.rest;
+
+import com.crud.service.ChangeFeedService;
+import com.crud.service.dto.EntityChangeDTO;
+import java.util.List;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * REST controller for reading the change feed of the entities.
+ */
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeFeedResource {
+
+    public static final String HEADER_LAST_SEQ = "X-Last-Seq";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeFeedResource.class);
+
+    private static final int MAX_LIMIT = 1000;
+
+    private final ChangeFeedService changeFeedService;
+
+    public ChangeFeedResource(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**
+     * {@code GET  /changes?since=:seq&limit=:n} : get the changes of the entities after a sequence number, in order.
+     * <p>
+     * A consumer starts with a full download of the entities, after reading the sequence number of the last change
+     * from the {@code X-Last-Seq} header, for example with {@code limit=0}; it then follows the {@code next} links.
+     *
+     * @param since the sequence number of the last change seen.
+     * @param limit the maximum number of changes to return, at most 1000.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the changes in body, by increasing sequence number,
+     * or with status {@code 410 (Gone)} if some changes after {@code since} are no longer kept, in which case all the
+     * entities must be downloaded again.
+     */
+    @GetMapping("")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<EntityChangeDTO>> getChanges(
+        @RequestParam(name = "since", defaultValue = "0") long since,
+        @RequestParam(name = "limit", defaultValue = "100") int limit
+    ) {
+        LOG.debug("REST request to get the changes since : {}", since);
+        Optional<List<EntityChangeDTO>> changes = changeFeedService.getChangesAfter(since, Math.max(0, Math.min(limit, MAX_LIMIT)));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_LAST_SEQ, Long.toString(changeFeedService.getLastSeq()));
+        if (changes.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.GONE).headers(headers).build();
+        }
+        List<EntityChangeDTO> page = changes.orElseThrow();
+        if (!page.isEmpty()) {
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("since", page.get(page.size() - 1).getSeq())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return ResponseEntity.ok().headers(headers).body(page);
+    }
+}
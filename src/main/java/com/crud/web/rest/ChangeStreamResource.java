@@ -0,0 +1,54 @@
+package com.crud.web.rest;
+
+import com.crud.service.EntityChangeStreamService;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller streaming the changes of the entities as server-sent events.
+ */
+@RestController
+@RequestMapping("/api/stream")
+public class ChangeStreamResource {
+
+    public static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeStreamResource.class);
+
+    private final EntityChangeStreamService entityChangeStreamService;
+
+    public ChangeStreamResource(EntityChangeStreamService entityChangeStreamService) {
+        this.entityChangeStreamService = entityChangeStreamService;
+    }
+
+    /**
+     * {@code GET  /stream/:entity} : stream the changes of a type of entity.
+     * <p>
+     * Each event is a change, as returned by {@code GET /api/changes}, with its sequence number as id: browsers
+     * reconnecting send it back in the {@code Last-Event-ID} header, and receive the changes they missed first.
+     *
+     * @param entity the type of the entities: {@code company}, {@code employee}, {@code manager} or {@code workers}.
+     * @param lastEventId the sequence number of the last change received, if reconnecting.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the stream of the changes in body,
+     * or with status {@code 404 (Not Found)} if the type of entity is unknown,
+     * or with status {@code 410 (Gone)} if some changes after {@code Last-Event-ID} are no longer kept.
+     */
+    @GetMapping(value = "/{entity}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamChanges(
+        @PathVariable("entity") String entity,
+        @RequestHeader(name = HEADER_LAST_EVENT_ID, required = false) Long lastEventId
+    ) {
+        LOG.debug("REST request to stream the changes of {} after : {}", entity, lastEventId);
+        if (!entityChangeStreamService.isStreamed(entity)) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<SseEmitter> emitter = entityChangeStreamService.subscribe(entity, lastEventId);
+        return emitter.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+}
@@ -1,7 +1,9 @@
 package com.crud.web.rest;
 
 import com.crud.domain.Company;
+import com.crud.domain.Employee;
 import com.crud.repository.CompanyRepository;
+import com.crud.repository.EmployeeRepository;
 import com.crud.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -11,9 +13,12 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -32,10 +37,15 @@ public class CompanyResource {
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final CompanyRepository companyRepository;
 
-    public CompanyResource(CompanyRepository companyRepository) {
+    private final EmployeeRepository employeeRepository;
+
+    public CompanyResource(CompanyRepository companyRepository, EmployeeRepository employeeRepository) {
         this.companyRepository = companyRepository;
+        this.employeeRepository = employeeRepository;
     }
 
     /**
@@ -145,9 +155,10 @@ public class CompanyResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of companies in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<Company> getAllCompanies() {
         LOG.debug("REST request to get all Companies");
-        return companyRepository.findAll();
+        return companyRepository.findAllReadOnly();
     }
 
     /**
@@ -157,12 +168,54 @@ public class CompanyResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the company, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Company> getCompany(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Company : {}", id);
         Optional<Company> company = companyRepository.findById(id);
         return ResponseUtil.wrapOrNotFound(company);
     }
 
+    /**
+     * {@code GET  /companies/:id/employees} : get a page of the employees of the "id" company.
+     * <p>
+     * Pages are walked by id: the {@code next} link of each page starts after its last employee.
+     *
+     * @param id the id of the company.
+     * @param afterId the id after which the page starts.
+     * @param size the maximum number of employees to return, at most 1000.
+     * @param include {@code company} to return the full company of each employee, fetched by the same query, rather than its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the employees in body, by increasing id,
+     * or with status {@code 404 (Not Found)} if the company is not found.
+     */
+    @GetMapping("/{id}/employees")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Employee>> getCompanyEmployees(
+        @PathVariable("id") Long id,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_ID_PARAMETER, defaultValue = "0") long afterId,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "include", required = false) String include
+    ) {
+        LOG.debug("REST request to get the Employees of Company : {}", id);
+        if (include != null && !"company".equals(include)) {
+            throw new BadRequestAlertException("Invalid include", ENTITY_NAME, "includeinvalid");
+        }
+        if (!companyRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<Employee> employees = include == null
+            ? employeeRepository.findByCompanyIdAfter(id, afterId, limit)
+            : employeeRepository.findWithCompanyByCompanyIdAfter(id, afterId, limit);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            employees,
+            limit.max(),
+            employeeRepository.countByCompanyId(id),
+            Employee::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(employees);
+    }
+
     /**
      * {@code DELETE  /companies/:id} : delete the "id" company.
      *
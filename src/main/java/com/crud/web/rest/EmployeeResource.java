@@ -2,17 +2,23 @@ package com.crud.web.rest;
 
 import com.crud.domain.Employee;
 import com.crud.repository.EmployeeRepository;
+import com.crud.repository.changes.EntityChangeLog;
+import com.crud.repository.search.EmployeeSearchRepository;
+import com.crud.service.dto.EmployeeUpsertResultDTO;
 import com.crud.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -31,20 +37,33 @@ public class EmployeeResource {
 
     private static final String ENTITY_NAME = "employee";
 
+    private static final String PANCARD_INDEX = "ux_employee__pancard";
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final EmployeeRepository employeeRepository;
 
-    public EmployeeResource(EmployeeRepository employeeRepository) {
+    private final EmployeeSearchRepository employeeSearchRepository;
+
+    private final EntityChangeLog entityChangeLog;
+
+    public EmployeeResource(
+        EmployeeRepository employeeRepository,
+        EmployeeSearchRepository employeeSearchRepository,
+        EntityChangeLog entityChangeLog
+    ) {
         this.employeeRepository = employeeRepository;
+        this.employeeSearchRepository = employeeSearchRepository;
+        this.entityChangeLog = entityChangeLog;
     }
 
     /**
      * {@code POST  /employees} : Create a new employee.
      *
      * @param employee the employee to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new employee, or with status {@code 400 (Bad Request)} if the employee has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new employee, or with status {@code 400 (Bad Request)} if the employee has already an ID,
+     * or if its pancard is already used.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("")
@@ -53,7 +72,8 @@ public class EmployeeResource {
         if (employee.getId() != null) {
             throw new BadRequestAlertException("A new employee cannot already have an ID", ENTITY_NAME, "idexists");
         }
-        employee = employeeRepository.save(employee);
+        checkPancardIsFree(employee);
+        employee = saveAndFlush(employee);
         return ResponseEntity.created(new URI("/api/employees/" + employee.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
             .body(employee);
@@ -65,7 +85,7 @@ public class EmployeeResource {
      * @param id the id of the employee to save.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
-     * or with status {@code 400 (Bad Request)} if the employee is not valid,
+     * or with status {@code 400 (Bad Request)} if the employee is not valid, or if its pancard is used by another employee,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -85,20 +105,81 @@ public class EmployeeResource {
         if (!employeeRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkPancardIsFree(employee);
+
+        employee = saveAndFlush(employee);
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
+            .body(employee);
+    }
 
-        employee = employeeRepository.save(employee);
+    /**
+     * {@code PUT  /employees/by-pancard/:pancard} : Creates or replaces the employee with the given pancard.
+     *
+     * @param pancard the pancard of the employee to save.
+     * @param employee the employee to create or replace.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} if the employee was created, or with status {@code 200 (OK)}
+     * if it was replaced, and with body the saved employee, or with status {@code 400 (Bad Request)} if the employee is not valid.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PutMapping("/by-pancard/{pancard}")
+    public ResponseEntity<Employee> upsertEmployeeByPancard(@PathVariable("pancard") Long pancard, @Valid @RequestBody Employee employee)
+        throws URISyntaxException {
+        LOG.debug("REST request to upsert Employee : {}, {}", pancard, employee);
+        if (employee.getPancard() != null && !Objects.equals(pancard, employee.getPancard())) {
+            throw new BadRequestAlertException("Invalid pancard", ENTITY_NAME, "pancardinvalid");
+        }
+        employee.setPancard(pancard);
+        boolean created = employeeRepository.upsertAllByPancard(List.of(employee)) > 0;
+        // The row is written with JDBC, so Hibernate does not notify the search index nor the change feed
+        employeeSearchRepository.indexAfterCommit(List.of(employee));
+        entityChangeLog.appendUpserts(Employee.class, List.of(employee.getId()));
+        if (created) {
+            return ResponseEntity.created(new URI("/api/employees/" + employee.getId()))
+                .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
+                .body(employee);
+        }
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, employee.getId().toString()))
             .body(employee);
     }
 
+    /**
+     * {@code POST  /employees/upsert} : Creates or replaces employees in bulk, matching them by pancard.
+     * <p>
+     * Employees are written a few hundred at a time with {@code INSERT ... ON DUPLICATE KEY UPDATE}, so syncing a whole
+     * roster takes a few hundred statements rather than a lookup and a write per employee.
+     *
+     * @param employees the employees to create or replace, with distinct pancards.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of employees created and replaced,
+     * or with status {@code 400 (Bad Request)} if an employee is not valid.
+     */
+    @PostMapping("/upsert")
+    public ResponseEntity<EmployeeUpsertResultDTO> upsertEmployees(@Valid @RequestBody List<@Valid Employee> employees) {
+        LOG.debug("REST request to upsert {} Employees", employees.size());
+        Set<Long> pancards = new HashSet<>();
+        for (Employee employee : employees) {
+            if (employee.getPancard() == null) {
+                throw new BadRequestAlertException("Invalid pancard", ENTITY_NAME, "pancardnull");
+            }
+            if (!pancards.add(employee.getPancard())) {
+                throw new BadRequestAlertException("Duplicate pancard", ENTITY_NAME, "pancardduplicate");
+            }
+        }
+        int created = employeeRepository.upsertAllByPancard(employees);
+        // The rows are written with JDBC, so Hibernate does not notify the search index nor the change feed
+        employeeSearchRepository.indexAfterCommit(employees);
+        entityChangeLog.appendUpserts(Employee.class, employees.stream().map(Employee::getId).toList());
+        return ResponseEntity.ok().body(new EmployeeUpsertResultDTO(created, employees.size() - created));
+    }
+
     /**
      * {@code PATCH  /employees/:id} : Partial updates given fields of an existing employee, field will ignore if it is null
      *
      * @param id the id of the employee to save.
      * @param employee the employee to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated employee,
-     * or with status {@code 400 (Bad Request)} if the employee is not valid,
+     * or with status {@code 400 (Bad Request)} if the employee is not valid, or if its pancard is used by another employee,
      * or with status {@code 404 (Not Found)} if the employee is not found,
      * or with status {@code 500 (Internal Server Error)} if the employee couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -119,6 +200,7 @@ public class EmployeeResource {
         if (!employeeRepository.existsById(id)) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
+        checkPancardIsFree(employee);
 
         Optional<Employee> result = employeeRepository
             .findById(employee.getId())
@@ -138,7 +220,7 @@ public class EmployeeResource {
 
                 return existingEmployee;
             })
-            .map(employeeRepository::save);
+            .map(this::saveAndFlush);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -152,9 +234,10 @@ public class EmployeeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of employees in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<Employee> getAllEmployees() {
         LOG.debug("REST request to get all Employees");
-        return employeeRepository.findAll();
+        return employeeRepository.findAllReadOnly();
     }
 
     /**
@@ -164,6 +247,7 @@ public class EmployeeResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the employee, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Employee> getEmployee(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Employee : {}", id);
         Optional<Employee> employee = employeeRepository.findById(id);
@@ -184,4 +268,28 @@ public class EmployeeResource {
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private void checkPancardIsFree(Employee employee) {
+        if (
+            employee.getPancard() != null &&
+            employeeRepository.findIdByPancard(employee.getPancard()).filter(id -> !id.equals(employee.getId())).isPresent()
+        ) {
+            throw new BadRequestAlertException("Pancard already used", ENTITY_NAME, "pancardexists");
+        }
+    }
+
+    /**
+     * Save an employee and flush it, so that a pancard taken by a concurrent request after {@link #checkPancardIsFree(Employee)}
+     * is a bad request too, rather than an error at commit.
+     */
+    private Employee saveAndFlush(Employee employee) {
+        try {
+            return employeeRepository.saveAndFlush(employee);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getMessage() != null && e.getMessage().contains(PANCARD_INDEX)) {
+                throw new BadRequestAlertException("Pancard already used", ENTITY_NAME, "pancardexists");
+            }
+            throw e;
+        }
+    }
 }
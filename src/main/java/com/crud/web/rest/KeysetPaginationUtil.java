@@ -0,0 +1,52 @@
+package com.crud.web.rest;
+
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset pagination, where each page starts after the id of the last entity of the previous
+ * one.
+ * <p>
+ * Unlike offset pagination, the database seeks straight to the start of each page through the index, so deep pages
+ * cost no more than the first one; there are no links to arbitrary pages, only to the next one.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_ID_PARAMETER = "afterId";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a page: the total count, and a link to the next page unless this one is the
+     * last.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param content the entities of the page, by increasing id.
+     * @param size the requested page size.
+     * @param total the total number of entities over all pages.
+     * @param idGetter the getter of the id of an entity.
+     * @param <T> the entity type.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<T> content,
+        int size,
+        long total,
+        Function<T, ?> idGetter
+    ) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_TOTAL_COUNT, Long.toString(total));
+        // A short page is the last one; a full one may be too, in which case the next page is empty
+        if (!content.isEmpty() && content.size() >= size) {
+            Object lastId = idGetter.apply(content.get(content.size() - 1));
+            String next = uriBuilder.replaceQueryParam(AFTER_ID_PARAMETER, lastId).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
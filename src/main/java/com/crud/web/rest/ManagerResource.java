@@ -1,12 +1,18 @@
 package com.crud.web.rest;
 
 import com.crud.domain.Manager;
+import com.crud.domain.Workers;
 import com.crud.repository.ManagerRepository;
+import com.crud.repository.WorkersRepository;
+import com.crud.repository.changes.EntityChangeLog;
+import com.crud.service.dto.WorkersReassignmentResultDTO;
 import com.crud.web.rest.errors.BadRequestAlertException;
+import com.crud.web.rest.vm.WorkersReassignmentVM;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -14,9 +20,12 @@ import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
@@ -35,10 +44,20 @@ public class ManagerResource {
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final int REASSIGN_BATCH_SIZE = 1000;
+
     private final ManagerRepository managerRepository;
 
-    public ManagerResource(ManagerRepository managerRepository) {
+    private final WorkersRepository workersRepository;
+
+    private final EntityChangeLog entityChangeLog;
+
+    public ManagerResource(ManagerRepository managerRepository, WorkersRepository workersRepository, EntityChangeLog entityChangeLog) {
         this.managerRepository = managerRepository;
+        this.workersRepository = workersRepository;
+        this.entityChangeLog = entityChangeLog;
     }
 
     /**
@@ -144,15 +163,64 @@ public class ManagerResource {
         );
     }
 
+    /**
+     * {@code POST  /managers/:id/workers/reassign} : Move workers of the "id" manager to another manager.
+     * <p>
+     * Workers are moved with set-based updates of {@code workers.manager_id}, rather than loading and saving each of them.
+     *
+     * @param id the id of the manager whose workers are moved.
+     * @param reassignment the target manager, and either the ids of the workers to move or {@code all}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of workers moved,
+     * or with status {@code 400 (Bad Request)} if the reassignment is not valid or a manager is not found.
+     */
+    @PostMapping("/{id}/workers/reassign")
+    public ResponseEntity<WorkersReassignmentResultDTO> reassignWorkers(
+        @PathVariable("id") UUID id,
+        @Valid @RequestBody WorkersReassignmentVM reassignment
+    ) {
+        LOG.debug("REST request to reassign Workers of Manager : {}, {}", id, reassignment);
+        if (reassignment.isAll() == (reassignment.getWorkerIds() != null)) {
+            throw new BadRequestAlertException("Either workerIds or all must be given", ENTITY_NAME, "reassignmentinvalid");
+        }
+        if (!managerRepository.existsById(id)) {
+            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        }
+        UUID targetId = reassignment.getTargetManagerId();
+        if (!managerRepository.existsById(targetId)) {
+            throw new BadRequestAlertException("Target manager not found", ENTITY_NAME, "targetnotfound");
+        }
+
+        // The workers are updated by bulk statements, so Hibernate does not notify the change feed. They are locked, so
+        // that the workers moved are the ones logged
+        int reassigned = 0;
+        if (reassignment.isAll()) {
+            entityChangeLog.appendManagerWorkersUpserts(id, workersRepository.countByManagerIdForUpdate(id.toString()));
+            reassigned = workersRepository.reassignAll(id, targetId);
+        } else {
+            List<Long> reassignedIds = new ArrayList<>();
+            List<Long> workerIds = reassignment.getWorkerIds();
+            for (int from = 0; from < workerIds.size(); from += REASSIGN_BATCH_SIZE) {
+                List<Long> batch = workerIds.subList(from, Math.min(from + REASSIGN_BATCH_SIZE, workerIds.size()));
+                reassignedIds.addAll(workersRepository.findIdsByManagerIdAndIdInForUpdate(id, batch));
+                reassigned += workersRepository.reassign(id, targetId, batch);
+            }
+            entityChangeLog.appendUpserts(Workers.class, reassignedIds);
+        }
+        return ResponseEntity.ok()
+            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, id.toString()))
+            .body(new WorkersReassignmentResultDTO(reassigned));
+    }
+
     /**
      * {@code GET  /managers} : get all the managers.
      *
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of managers in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<Manager> getAllManagers() {
         LOG.debug("REST request to get all Managers");
-        return managerRepository.findAll();
+        return managerRepository.findAllReadOnly();
     }
 
     /**
@@ -162,12 +230,54 @@ public class ManagerResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the manager, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Manager> getManager(@PathVariable("id") UUID id) {
         LOG.debug("REST request to get Manager : {}", id);
         Optional<Manager> manager = managerRepository.findById(id);
         return ResponseUtil.wrapOrNotFound(manager);
     }
 
+    /**
+     * {@code GET  /managers/:id/workers} : get a page of the workers of the "id" manager.
+     * <p>
+     * Pages are walked by id: the {@code next} link of each page starts after its last worker.
+     *
+     * @param id the id of the manager.
+     * @param afterId the id after which the page starts.
+     * @param size the maximum number of workers to return, at most 1000.
+     * @param include {@code manager} to return the full manager of each worker, fetched by the same query, rather than its id.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the workers in body, by increasing id,
+     * or with status {@code 404 (Not Found)} if the manager is not found.
+     */
+    @GetMapping("/{id}/workers")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Workers>> getManagerWorkers(
+        @PathVariable("id") UUID id,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_ID_PARAMETER, defaultValue = "0") long afterId,
+        @RequestParam(name = "size", defaultValue = "20") int size,
+        @RequestParam(name = "include", required = false) String include
+    ) {
+        LOG.debug("REST request to get the Workers of Manager : {}", id);
+        if (include != null && !"manager".equals(include)) {
+            throw new BadRequestAlertException("Invalid include", ENTITY_NAME, "includeinvalid");
+        }
+        if (!managerRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        Limit limit = Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+        List<Workers> workers = include == null
+            ? workersRepository.findByManagerIdAfter(id, afterId, limit)
+            : workersRepository.findWithManagerByManagerIdAfter(id, afterId, limit);
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            workers,
+            limit.max(),
+            workersRepository.countByManagerId(id),
+            Workers::getId
+        );
+        return ResponseEntity.ok().headers(headers).body(workers);
+    }
+
     /**
      * {@code DELETE  /managers/:id} : delete the "id" manager.
      *
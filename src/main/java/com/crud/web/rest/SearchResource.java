@@ -0,0 +1,84 @@
+package com.crud.web.rest;
+
+import com.crud.domain.Employee;
+import com.crud.repository.EmployeeRepository;
+import com.crud.repository.search.EmployeeSearchRepository;
+import com.crud.repository.search.PrefixSearchRepository;
+import com.crud.security.AuthoritiesConstants;
+import com.crud.service.UserService;
+import com.crud.service.dto.AdminUserDTO;
+import java.util.Arrays;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for prefix and typeahead search, backed by in-memory indexes.
+ */
+@RestController
+@RequestMapping("/api/_search")
+public class SearchResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchResource.class);
+
+    private static final int MAX_SIZE = 100;
+
+    private final UserService userService;
+
+    private final EmployeeSearchRepository employeeSearchRepository;
+
+    private final EmployeeRepository employeeRepository;
+
+    public SearchResource(
+        UserService userService,
+        EmployeeSearchRepository employeeSearchRepository,
+        EmployeeRepository employeeRepository
+    ) {
+        this.userService = userService;
+        this.employeeSearchRepository = employeeSearchRepository;
+        this.employeeRepository = employeeRepository;
+    }
+
+    /**
+     * {@code GET /_search/users?q=} : search users by prefixes of their login, names or email.
+     *
+     * @param query the prefixes to look for.
+     * @param size the maximum number of users to return, at most 100.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best matching users in body, best first.
+     */
+    @GetMapping("/users")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<List<AdminUserDTO>> searchUsers(
+        @RequestParam("q") String query,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to search Users for query {}", query);
+        return ResponseEntity.ok().body(userService.searchUsers(query, Math.min(size, MAX_SIZE)));
+    }
+
+    /**
+     * {@code GET /_search/employees?q=} : search employees by prefixes of their name.
+     *
+     * @param query the prefixes to look for.
+     * @param size the maximum number of employees to return, at most 100.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the best matching employees in body, best first.
+     */
+    @GetMapping("/employees")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Employee>> searchEmployees(
+        @RequestParam("q") String query,
+        @RequestParam(name = "size", defaultValue = "10") int size
+    ) {
+        LOG.debug("REST request to search Employees for query {}", query);
+        long[] ids = employeeSearchRepository.search(query, Math.min(size, MAX_SIZE));
+        List<Employee> employees = employeeRepository.findAllById(Arrays.stream(ids).boxed().toList());
+        return ResponseEntity.ok().body(PrefixSearchRepository.inSearchOrder(ids, employees, Employee::getId));
+    }
+}
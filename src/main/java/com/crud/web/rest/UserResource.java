@@ -5,13 +5,21 @@ import com.crud.domain.User;
 import com.crud.repository.UserRepository;
 import com.crud.security.AuthoritiesConstants;
 import com.crud.service.MailService;
+import com.crud.service.UserImportService;
 import com.crud.service.UserService;
 import com.crud.service.dto.AdminUserDTO;
+import com.crud.service.dto.UserImportResultDTO;
 import com.crud.web.rest.errors.BadRequestAlertException;
 import com.crud.web.rest.errors.EmailAlreadyUsedException;
 import com.crud.web.rest.errors.LoginAlreadyUsedException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.*;
@@ -19,14 +27,18 @@ import java.util.Collections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -76,6 +88,8 @@ public class UserResource {
         )
     );
 
+    private static final String TEXT_CSV_VALUE = "text/csv";
+
     private static final Logger LOG = LoggerFactory.getLogger(UserResource.class);
 
     @Value("${jhipster.clientApp.name}")
@@ -87,10 +101,22 @@ public class UserResource {
 
     private final MailService mailService;
 
-    public UserResource(UserService userService, UserRepository userRepository, MailService mailService) {
+    private final UserImportService userImportService;
+
+    private final ObjectWriter importResultWriter;
+
+    public UserResource(
+        UserService userService,
+        UserRepository userRepository,
+        @Lazy MailService mailService,
+        UserImportService userImportService,
+        ObjectMapper objectMapper
+    ) {
         this.userService = userService;
         this.userRepository = userRepository;
         this.mailService = mailService;
+        this.userImportService = userImportService;
+        this.importResultWriter = objectMapper.writerFor(UserImportResultDTO.class).withRootValueSeparator("\n");
     }
 
     /**
@@ -107,6 +133,7 @@ public class UserResource {
      */
     @PostMapping("/users")
     @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    @Transactional
     public ResponseEntity<User> createUser(@Valid @RequestBody AdminUserDTO userDTO) throws URISyntaxException {
         LOG.debug("REST request to save User : {}", userDTO);
 
@@ -126,6 +153,42 @@ public class UserResource {
         }
     }
 
+    /**
+     * {@code POST  /admin/users/import}  : Creates users in bulk.
+     * <p>
+     * The body is a stream of users, either as NDJSON or as CSV with a header row, authorities being separated
+     * by {@code |} in CSV. Rows are validated, created and sent a creation mail in chunks, and one result is streamed back
+     * per row, so a row being rejected does not prevent the others from being created.
+     *
+     * @param contentType the format of the body.
+     * @param body the users to create.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the per-row results, as NDJSON.
+     */
+    @PostMapping(
+        value = "/users/import",
+        consumes = { MediaType.APPLICATION_NDJSON_VALUE, TEXT_CSV_VALUE },
+        produces = MediaType.APPLICATION_NDJSON_VALUE
+    )
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<StreamingResponseBody> importUsers(@RequestHeader("Content-Type") MediaType contentType, InputStream body) {
+        LOG.debug("REST request to import Users as {}", contentType);
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))
+            ? UserImportService.Format.CSV
+            : UserImportService.Format.NDJSON;
+        StreamingResponseBody results = out -> {
+            try (SequenceWriter writer = importResultWriter.writeValues(out)) {
+                userImportService.importUsers(body, format, result -> {
+                    try {
+                        writer.write(result);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+    }
+
     /**
      * {@code PUT /admin/users} : Updates an existing User.
      *
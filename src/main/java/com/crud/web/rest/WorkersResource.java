@@ -142,9 +142,10 @@ public class WorkersResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of workers in body.
      */
     @GetMapping("")
+    @Transactional(readOnly = true)
     public List<Workers> getAllWorkers() {
         LOG.debug("REST request to get all Workers");
-        return workersRepository.findAll();
+        return workersRepository.findAllReadOnly();
     }
 
     /**
@@ -154,6 +155,7 @@ public class WorkersResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the workers, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Workers> getWorkers(@PathVariable("id") Long id) {
         LOG.debug("REST request to get Workers : {}", id);
         Optional<Workers> workers = workersRepository.findById(id);
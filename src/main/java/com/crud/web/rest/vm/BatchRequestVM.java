@@ -0,0 +1,40 @@
+package com.crud.web.rest.vm;
+
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * View Model object for a sub-request of a batch, for example {@code GET /api/companies/1}.
+ */
+public class BatchRequestVM {
+
+    @NotNull
+    private String method = "GET";
+
+    @NotNull
+    private String path;
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchRequestVM{" +
+            "method='" + method + "'" +
+            ", path='" + path + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,52 @@
+package com.crud.web.rest.vm;
+
+import jakarta.validation.constraints.NotNull;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * View Model object for moving workers to another manager: either the listed workers, or all of them.
+ */
+public class WorkersReassignmentVM {
+
+    @NotNull
+    private UUID targetManagerId;
+
+    private List<Long> workerIds;
+
+    private boolean all;
+
+    public UUID getTargetManagerId() {
+        return targetManagerId;
+    }
+
+    public void setTargetManagerId(UUID targetManagerId) {
+        this.targetManagerId = targetManagerId;
+    }
+
+    public List<Long> getWorkerIds() {
+        return workerIds;
+    }
+
+    public void setWorkerIds(List<Long> workerIds) {
+        this.workerIds = workerIds;
+    }
+
+    public boolean isAll() {
+        return all;
+    }
+
+    public void setAll(boolean all) {
+        this.all = all;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "WorkersReassignmentVM{" +
+            "targetManagerId=" + targetManagerId +
+            ", workerIds=" + (workerIds == null ? null : workerIds.size()) +
+            ", all=" + all +
+            "}";
+    }
+}
@@ -0,0 +1,87 @@
+package com.crud.aop.logging;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.User;
+import com.crud.service.dto.UserDTO;
+import com.crud.service.mapper.UserMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Time per call of a cheap service method, {@link UserMapper#userToUserDTO(User)}, called directly and through
+ * {@link LoggingAspect} without logging, with profiling of every call and with profiling of 1% of the calls.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=LoggingAspectBenchmark}, adding
+ * {@code -prof gc} to the JMH arguments to see the allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoggingAspectBenchmark {
+
+    private UserMapper direct;
+
+    private UserMapper advised;
+
+    private UserMapper profiled;
+
+    private UserMapper sampled;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        direct = new UserMapper();
+        advised = proxy(false, 1.0);
+        profiled = proxy(true, 1.0);
+        sampled = proxy(true, 0.01);
+        user = new User();
+        user.setId(1L);
+        user.setLogin("johndoe");
+    }
+
+    private static UserMapper proxy(boolean profiling, double sampleRate) {
+        ApplicationProperties.Profiling properties = new ApplicationProperties.Profiling();
+        properties.setEnabled(profiling);
+        properties.setSampleRate(sampleRate);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new UserMapper());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new MockEnvironment(), properties, new SimpleMeterRegistry()));
+        return proxyFactory.getProxy();
+    }
+
+    @Benchmark
+    public UserDTO direct() {
+        return direct.userToUserDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO advised() {
+        return advised.userToUserDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO profiled() {
+        return profiled.userToUserDTO(user);
+    }
+
+    @Benchmark
+    public UserDTO sampled() {
+        return sampled.userToUserDTO(user);
+    }
+}
@@ -0,0 +1,93 @@
+package com.crud.aop.logging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.User;
+import com.crud.service.mapper.UserMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the {@link LoggingAspect} class.
+ */
+class LoggingAspectTest {
+
+    private MeterRegistry meterRegistry;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        user = new User();
+        user.setId(1L);
+        user.setLogin("johndoe");
+    }
+
+    @Test
+    void testEveryCallIsTimedWithoutSampling() {
+        UserMapper userMapper = proxy(true, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            userMapper.userToUserDTO(user);
+        }
+
+        assertThat(timer("none").count()).isEqualTo(10);
+    }
+
+    @Test
+    void testNoCallIsTimedWithANullSampleRate() {
+        UserMapper userMapper = proxy(true, 0.0);
+
+        for (int i = 0; i < 10; i++) {
+            userMapper.userToUserDTO(user);
+        }
+
+        assertThat(timer("none").count()).isZero();
+    }
+
+    @Test
+    void testAFailedCallIsTimedWithItsException() {
+        UserMapper userMapper = proxy(true, 1.0);
+
+        assertThatThrownBy(() -> userMapper.userToUserDTO(null)).isInstanceOf(NullPointerException.class);
+
+        assertThat(timer("NullPointerException").count()).isEqualTo(1);
+        assertThat(timer("none").count()).isZero();
+    }
+
+    @Test
+    void testNothingIsTimedWithoutProfiling() {
+        UserMapper userMapper = proxy(false, 1.0);
+
+        userMapper.userToUserDTO(user);
+
+        assertThat(meterRegistry.find(LoggingAspect.PROFILING_METER_NAME).timer()).isNull();
+    }
+
+    private UserMapper proxy(boolean profiling, double sampleRate) {
+        ApplicationProperties.Profiling properties = new ApplicationProperties.Profiling();
+        properties.setEnabled(profiling);
+        properties.setSampleRate(sampleRate);
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new UserMapper());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LoggingAspect(new MockEnvironment(), properties, meterRegistry));
+        return proxyFactory.getProxy();
+    }
+
+    private Timer timer(String exception) {
+        return meterRegistry
+            .get(LoggingAspect.PROFILING_METER_NAME)
+            .tag(LoggingAspect.PROFILING_METER_CLASS_DIMENSION, "UserMapper")
+            .tag(LoggingAspect.PROFILING_METER_METHOD_DIMENSION, "userToUserDTO")
+            .tag(LoggingAspect.PROFILING_METER_EXCEPTION_DIMENSION, exception)
+            .timer();
+    }
+}
@@ -0,0 +1,73 @@
+package com.crud.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time per log message of {@link CRLFLogConverter}, compared with the regular expression it used to run on every
+ * message, over typical application log lines and over a line holding user input with a CRLF.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=CRLFLogConverterBenchmark}, adding
+ * {@code -prof gc} to the JMH arguments to see the allocations per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CRLFLogConverterBenchmark {
+
+    @Param({ "REQUEST", "DEBUG_ENTER", "INJECTED" })
+    public LogLine logLine;
+
+    private CRLFLogConverter converter;
+
+    private LoggingEvent event;
+
+    @Setup
+    public void setUp() {
+        converter = new CRLFLogConverter();
+        event = new LoggingEvent();
+        event.setLoggerName("com.crud.web.rest.EmployeeResource");
+        event.setLevel(Level.DEBUG);
+        event.setMessage(logLine.message);
+    }
+
+    @Benchmark
+    public String converter() {
+        return converter.transform(event, logLine.message);
+    }
+
+    @Benchmark
+    public String regularExpression() {
+        return logLine.message.replaceAll("[\n\r\t]", "_");
+    }
+
+    public enum LogLine {
+        REQUEST("REST request to get a page of Employees"),
+        DEBUG_ENTER(
+            "Enter: getAllEmployees() with argument[s] = [Page request [number: 0, size 20, sort: id: ASC], " +
+            "{eagerload=[false], page=[0], size=[20]}]"
+        ),
+        INJECTED("Invalid password for user 'admin\r\n2026-10-19T09:00:00.000Z  INFO 1 --- [main] Authenticated user admin'");
+
+        private final String message;
+
+        LogLine(String message) {
+            this.message = message;
+        }
+    }
+}
@@ -99,6 +99,30 @@ class CRLFLogConverterTest {
         assertEquals("Test_input_string", result);
     }
 
+    @Test
+    void transformShouldReturnSameInstanceWhenInputHasNoCRLF() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getMarkerList()).thenReturn(Collections.emptyList());
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        String input = "Test input string";
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        String result = converter.transform(event, input);
+
+        assertSame(input, result);
+    }
+
+    @Test
+    void transformShouldReplaceEveryCRLFAndTabCharacter() {
+        ILoggingEvent event = mock(ILoggingEvent.class);
+        when(event.getMarkerList()).thenReturn(Collections.emptyList());
+        when(event.getLoggerName()).thenReturn("com.mycompany.myapp.example.Logger");
+        CRLFLogConverter converter = new CRLFLogConverter();
+
+        assertEquals("__Test__input_string_", converter.transform(event, "\r\nTest\r\ninput\tstring\n"));
+        assertEquals("_", converter.transform(event, "\n"));
+    }
+
     @Test
     void isLoggerSafeShouldReturnTrueWhenLoggerNameStartsWithSafeLogger() {
         ILoggingEvent event = mock(ILoggingEvent.class);
@@ -0,0 +1,69 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ConcurrencyLimitedDataSource} class.
+ */
+class ConcurrencyLimitedDataSourceTest {
+
+    private DataSource targetDataSource;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new ConcurrencyLimitedDataSource(targetDataSource, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void testConnectionsAreLimited() throws SQLException {
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThat(dataSource.getAvailablePermits()).isZero();
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void testClosingConnectionReleasesPermitOnce() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.close();
+        connection.close();
+
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+
+    @Test
+    void testCallsAreDelegated() throws SQLException {
+        Connection connection = dataSource.getConnection();
+
+        connection.setAutoCommit(false);
+        connection.close();
+
+        verify(targetDataSource).getConnection();
+    }
+
+    @Test
+    void testFailedConnectionReleasesPermit() throws SQLException {
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("Connection refused");
+        assertThat(dataSource.getAvailablePermits()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,119 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.util.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class DroppingAsyncAppenderTest {
+
+    private static final int RING_BUFFER_SIZE = 4;
+
+    private final CountDownLatch consoleUnblocked = new CountDownLatch(1);
+
+    private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+
+    private LoggerContext context;
+
+    private DroppingAsyncAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        AppenderBase<ILoggingEvent> slowConsole = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                try {
+                    consoleUnblocked.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                written.add(event);
+            }
+        };
+        slowConsole.setContext(context);
+        slowConsole.start();
+        appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setRingBufferSize(RING_BUFFER_SIZE);
+        appender.setAppendTimeout(Duration.buildByMilliseconds(50));
+        appender.addAppender(slowConsole);
+        appender.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        consoleUnblocked.countDown();
+        appender.stop();
+    }
+
+    @Test
+    void testDiscardableEventsAreDroppedWhenFull() throws InterruptedException {
+        // The first event is taken by the blocked console, the next ones fill the ring buffer
+        for (int i = 0; i < RING_BUFFER_SIZE + 4; i++) {
+            appender.doAppend(event(Level.INFO));
+        }
+        appender.doAppend(event(Level.DEBUG));
+
+        assertThat(appender.getQueueSize()).isBetween((long) RING_BUFFER_SIZE - 1, (long) RING_BUFFER_SIZE);
+        assertThat(appender.getDroppedEvents(Level.INFO)).isBetween(3L, 4L);
+        assertThat(appender.getDroppedEvents(Level.DEBUG)).isEqualTo(1);
+
+        consoleUnblocked.countDown();
+        waitForWrites(RING_BUFFER_SIZE + 4 - appender.getDroppedEvents(Level.INFO));
+        assertThat(appender.getQueueSize()).isZero();
+    }
+
+    @Test
+    void testSevereEventsWaitForRoom() throws InterruptedException {
+        for (int i = 0; i < RING_BUFFER_SIZE + 1; i++) {
+            appender.doAppend(event(Level.INFO));
+        }
+
+        long start = System.nanoTime();
+        appender.doAppend(event(Level.ERROR));
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(40);
+        assertThat(appender.getDroppedEvents(Level.ERROR)).isEqualTo(1);
+    }
+
+    @Test
+    void testDiscardingLevelIsConfigurable() {
+        appender.setDiscardingLevel(Level.WARN);
+        for (int i = 0; i < RING_BUFFER_SIZE + 2; i++) {
+            appender.doAppend(event(Level.WARN));
+        }
+
+        assertThat(appender.getDroppedEvents(Level.WARN)).isPositive();
+    }
+
+    private void waitForWrites(long count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(written).hasSize((int) count);
+    }
+
+    private LoggingEvent event(Level level) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("com.crud.web.rest.EmployeeResource");
+        event.setLevel(level);
+        event.setMessage("REST request to get a page of Employees");
+        event.setLoggerContext(context);
+        return event;
+    }
+}
@@ -0,0 +1,57 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.aop.logging.LoggingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Unit tests for the {@link LoggingAspectConfiguration} class.
+ */
+class LoggingAspectConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner().withUserConfiguration(
+        MeterRegistryConfiguration.class,
+        LoggingAspectConfiguration.class
+    );
+
+    @Test
+    void testTheAspectLogsWithTheDevProfile() {
+        contextRunner
+            .withPropertyValues("spring.profiles.active=dev")
+            .run(context -> assertThat(context).hasSingleBean(LoggingAspect.class));
+    }
+
+    @Test
+    void testTheAspectProfilesWhenEnabled() {
+        contextRunner
+            .withPropertyValues("spring.profiles.active=prod", "application.profiling.enabled=true")
+            .run(context -> assertThat(context).hasSingleBean(LoggingAspect.class));
+    }
+
+    @Test
+    void testThereIsNoAspectOutsideOfTheDevProfileWithoutProfiling() {
+        contextRunner
+            .withPropertyValues("spring.profiles.active=prod")
+            .run(context -> assertThat(context).doesNotHaveBean(LoggingAspect.class));
+        contextRunner
+            .withPropertyValues("spring.profiles.active=prod", "application.profiling.enabled=false")
+            .run(context -> assertThat(context).doesNotHaveBean(LoggingAspect.class));
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(ApplicationProperties.class)
+    static class MeterRegistryConfiguration {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
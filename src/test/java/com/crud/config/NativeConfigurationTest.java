@@ -0,0 +1,43 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.domain.Employee;
+import com.crud.domain.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+/**
+ * Unit tests for the {@link NativeConfiguration} class.
+ */
+class NativeConfigurationTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new NativeConfiguration.CrudRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void testEntitiesAreReflective() {
+        assertThat(RuntimeHintsPredicates.reflection().onType(Employee.class).withMemberCategory(MemberCategory.DECLARED_FIELDS)).accepts(
+            hints
+        );
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(User.class, "getLogin")).accepts(hints);
+    }
+
+    @Test
+    void testTemplatesAndChangelogsAreIncluded() {
+        assertThat(RuntimeHintsPredicates.resource().forResource("templates/mail/activationEmail.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("config/liquibase/master.xml")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("config/liquibase/changelog/00000000000000_initial_schema.xml")).accepts(
+            hints
+        );
+        assertThat(RuntimeHintsPredicates.resource().forResource("i18n/messages.properties")).accepts(hints);
+    }
+}
@@ -0,0 +1,80 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import com.crud.management.SqlMetersService;
+import com.zaxxer.hikari.HikariDataSource;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Unit tests for the {@link ReadReplicaConfiguration} class, with the other data source post-processors.
+ */
+class ReadReplicaConfigurationTest {
+
+    private static final String REPLICA_URL = "jdbc:mysql://replica:3306/crud";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+        .withUserConfiguration(PrimaryDataSourceConfiguration.class, ReadReplicaConfiguration.class)
+        .withPropertyValues("application.replica-datasource.url=" + REPLICA_URL, "application.replica-datasource.maximum-pool-size=3");
+
+    @Test
+    void testEachPoolIsLimitedWithVirtualThreads() {
+        contextRunner
+            .withUserConfiguration(VirtualThreadsConfiguration.class)
+            .withPropertyValues("application.async.mode=virtual")
+            .run(context -> {
+                ReadWriteRoutingDataSource routingDataSource = context.getBean(DataSource.class).unwrap(ReadWriteRoutingDataSource.class);
+                assertThat(routingDataSource.getPrimary()).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class, primary ->
+                    assertThat(primary.getAvailablePermits()).isEqualTo(7)
+                );
+                assertThat(routingDataSource.getReplica()).isInstanceOfSatisfying(ConcurrencyLimitedDataSource.class, replica ->
+                    assertThat(replica.getAvailablePermits()).isEqualTo(3)
+                );
+                assertThat(routingDataSource.getReplica().unwrap(HikariDataSource.class).getJdbcUrl()).isEqualTo(REPLICA_URL);
+            });
+    }
+
+    @Test
+    void testTheLimitedRoutingIsAccountedFor() {
+        contextRunner
+            .withUserConfiguration(VirtualThreadsConfiguration.class, SqlAccountingConfiguration.class)
+            .withBean(SqlMetersService.class, () -> mock(SqlMetersService.class))
+            .withPropertyValues("application.async.mode=virtual", "application.sql-accounting.enabled=true")
+            .run(context -> {
+                DataSource dataSource = context.getBean(DataSource.class);
+                assertThat(dataSource).isInstanceOf(SqlAccountingDataSource.class);
+                ReadWriteRoutingDataSource routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+                assertThat(routingDataSource.getPrimary()).isInstanceOf(ConcurrencyLimitedDataSource.class);
+                assertThat(routingDataSource.getReplica()).isInstanceOf(ConcurrencyLimitedDataSource.class);
+            });
+    }
+
+    @Test
+    void testThePoolsAreNotLimitedWithPlatformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context.getBean(DataSource.class)).isInstanceOfSatisfying(ReadWriteRoutingDataSource.class, routingDataSource -> {
+                assertThat(routingDataSource.getPrimary()).isInstanceOf(HikariDataSource.class);
+                assertThat(routingDataSource.getReplica()).isInstanceOf(HikariDataSource.class);
+            });
+        });
+    }
+
+    @Configuration
+    @EnableConfigurationProperties(ApplicationProperties.class)
+    static class PrimaryDataSourceConfiguration {
+
+        @Bean
+        DataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl("jdbc:mysql://primary:3306/crud");
+            dataSource.setMaximumPoolSize(7);
+            return dataSource;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ReadWriteRoutingDataSource} class.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private Connection primaryConnection;
+
+    private Connection replicaConnection;
+
+    private ResultSet replicaStatus;
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primaryConnection = connection(mock(ResultSet.class));
+        replicaStatus = mock(ResultSet.class);
+        replicaConnection = connection(replicaStatus);
+        DataSource primary = mock(DataSource.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        DataSource replica = mock(DataSource.class);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, replica, Duration.ofSeconds(5), Duration.ofHours(1));
+    }
+
+    @Test
+    void testReadWriteTransactionsUseThePrimary() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.createStatement().executeQuery("select 1");
+        }
+
+        verify(primaryConnection).createStatement();
+        verify(replicaConnection, never()).createStatement();
+        assertThat(dataSource.getReplicaReads()).isZero();
+    }
+
+    @Test
+    void testReadOnlyTransactionsUseTheReplica() throws SQLException {
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getObject(ReadWriteRoutingDataSource.REPLICA_LAG_COLUMN)).thenReturn(2L);
+
+        readOnlyQuery();
+
+        verify(replicaConnection).prepareStatement(anyString());
+        assertThat(dataSource.getLagSeconds()).isEqualTo(2);
+        assertThat(dataSource.getReplicaReads()).isEqualTo(1);
+    }
+
+    @Test
+    void testDatabaseWhichIsNotAReplicaHasNoLag() throws SQLException {
+        when(replicaStatus.next()).thenReturn(false);
+
+        readOnlyQuery();
+
+        assertThat(dataSource.getLagSeconds()).isZero();
+        assertThat(dataSource.getReplicaReads()).isEqualTo(1);
+    }
+
+    @Test
+    void testLaggingReplicaIsNotUsed() throws SQLException {
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getObject(ReadWriteRoutingDataSource.REPLICA_LAG_COLUMN)).thenReturn(30L);
+
+        readOnlyQuery();
+
+        verify(primaryConnection).prepareStatement(anyString());
+        verify(replicaConnection, never()).prepareStatement(anyString());
+        assertThat(dataSource.getPrimaryReads()).isEqualTo(1);
+    }
+
+    @Test
+    void testStoppedReplicationIsNotUsed() throws SQLException {
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getObject(ReadWriteRoutingDataSource.REPLICA_LAG_COLUMN)).thenReturn(null);
+
+        readOnlyQuery();
+
+        assertThat(dataSource.getLagSeconds()).isNegative();
+        assertThat(dataSource.getPrimaryReads()).isEqualTo(1);
+    }
+
+    private void readOnlyQuery() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            connection.prepareStatement("select * from employee").executeQuery();
+        }
+    }
+
+    private static Connection connection(ResultSet resultSet) throws SQLException {
+        Statement statement = mock(Statement.class);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        return connection;
+    }
+}
@@ -0,0 +1,90 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.when;
+
+import com.crud.management.SqlStatementStatistics;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link SqlAccountingDataSource} class.
+ */
+class SqlAccountingDataSourceTest {
+
+    private static final String SELECT_SQL = "select e1_0.id from employee e1_0 where e1_0.company_id=?";
+
+    private static final String UPDATE_SQL = "update employee set manager_id=? where id=?";
+
+    private DataSource targetDataSource;
+
+    private SqlAccountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenReturn(true, true, true, false);
+        PreparedStatement select = mock(PreparedStatement.class);
+        when(select.executeQuery()).thenReturn(resultSet);
+        PreparedStatement update = mock(PreparedStatement.class);
+        when(update.executeUpdate()).thenReturn(2);
+        when(update.executeBatch()).thenReturn(new int[] { 1, 1, PreparedStatement.SUCCESS_NO_INFO });
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(SELECT_SQL)).thenReturn(select);
+        when(connection.prepareStatement(UPDATE_SQL)).thenReturn(update);
+        targetDataSource = mock(DataSource.class);
+        when(targetDataSource.getConnection()).thenReturn(connection);
+        dataSource = new SqlAccountingDataSource(targetDataSource);
+    }
+
+    @Test
+    void testStatementsAndRowsAreRecorded() throws SQLException {
+        try (SqlStatementStatistics statistics = SqlStatementStatistics.start()) {
+            Connection connection = dataSource.getConnection();
+            ResultSet resultSet = connection.prepareStatement(SELECT_SQL).executeQuery();
+            while (resultSet.next()) {
+                // Read all rows
+            }
+            PreparedStatement update = connection.prepareStatement(UPDATE_SQL);
+            update.executeUpdate();
+            update.executeBatch();
+
+            assertThat(statistics.getStatements()).isEqualTo(3);
+            assertThat(statistics.getRows()).isEqualTo(3 + 2 + 2);
+            assertThat(statistics.getNanos()).isPositive();
+        }
+    }
+
+    @Test
+    void testOnlyTheRowsWrittenAreRecordedWithoutCountingTheRowsRead() throws SQLException {
+        dataSource = new SqlAccountingDataSource(targetDataSource, false);
+        try (SqlStatementStatistics statistics = SqlStatementStatistics.start()) {
+            Connection connection = dataSource.getConnection();
+            ResultSet resultSet = connection.prepareStatement(SELECT_SQL).executeQuery();
+            assertThat(mockingDetails(resultSet).isMock()).isTrue();
+            while (resultSet.next()) {
+                // Read all rows
+            }
+            connection.prepareStatement(UPDATE_SQL).executeUpdate();
+
+            assertThat(statistics.getStatements()).isEqualTo(2);
+            assertThat(statistics.getRows()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void testResultSetsAreNotWrappedOutsideOfRequests() throws SQLException {
+        ResultSet resultSet = dataSource.getConnection().prepareStatement(SELECT_SQL).executeQuery();
+
+        assertThat(resultSet.next()).isTrue();
+        assertThat(mockingDetails(resultSet).isMock()).isTrue();
+        assertThat(SqlStatementStatistics.current()).isNull();
+    }
+}
@@ -0,0 +1,50 @@
+package com.crud.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.GenericBeanDefinition;
+
+/**
+ * Unit tests for the {@link StartupConfiguration} class.
+ */
+class StartupConfigurationTest {
+
+    private DefaultListableBeanFactory beanFactory;
+
+    @BeforeEach
+    void setUp() {
+        beanFactory = new DefaultListableBeanFactory();
+    }
+
+    @Test
+    void testSpringdocBeansAreLazy() {
+        beanFactory.registerBeanDefinition("openApiResource", definition("org.springdoc.webmvc.api.OpenApiWebMvcResource"));
+
+        StartupConfiguration.lazyBeansPostProcessor().postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("openApiResource").isLazyInit()).isTrue();
+    }
+
+    @Test
+    void testOtherBeansStayEager() {
+        beanFactory.registerBeanDefinition("userService", definition("com.crud.service.UserService"));
+        GenericBeanDefinition prototype = definition("org.springdoc.core.models.GroupedOpenApi");
+        prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+        beanFactory.registerBeanDefinition("groupedOpenApi", prototype);
+
+        StartupConfiguration.lazyBeansPostProcessor().postProcessBeanFactory(beanFactory);
+
+        assertThat(beanFactory.getBeanDefinition("userService").isLazyInit()).isFalse();
+        assertThat(beanFactory.getBeanDefinition("groupedOpenApi").isLazyInit()).isFalse();
+    }
+
+    private static GenericBeanDefinition definition(String className) {
+        GenericBeanDefinition definition = new GenericBeanDefinition();
+        definition.setBeanClassName(className);
+        return definition;
+    }
+}
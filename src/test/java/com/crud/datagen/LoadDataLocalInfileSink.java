@@ -0,0 +1,101 @@
+package com.crud.datagen;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes the rows with {@code LOAD DATA LOCAL INFILE} statements of up to {@code chunkSize} rows each, one transaction
+ * per statement. The rows are streamed to the driver from memory in the default format of {@code LOAD DATA}: tab
+ * separated fields, one line per row, backslash escapes and {@code \N} for {@code NULL}.
+ * <p>
+ * The connection needs the {@code allowLoadLocalInfile} property, and the server the {@code local_infile} variable.
+ */
+final class LoadDataLocalInfileSink implements RowSink {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final int chunkSize;
+
+    private final StringBuilder line = new StringBuilder();
+
+    private final ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+
+    private int rowCount;
+
+    LoadDataLocalInfileSink(Connection connection, int chunkSize, String table, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        line.setLength(0);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append('\t');
+            }
+            appendValue(values[i]);
+        }
+        line.append('\n');
+        chunk.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+        if (++rowCount == chunkSize) {
+            flush();
+        }
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            line.append("\\N");
+        } else if (value instanceof Boolean bool) {
+            line.append(bool ? '1' : '0');
+        } else if (value instanceof LocalDateTime dateTime) {
+            line.append(DATE_TIME_FORMAT.format(dateTime));
+        } else {
+            String text = value.toString();
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                switch (c) {
+                    case '\\' -> line.append("\\\\");
+                    case '\t' -> line.append("\\t");
+                    case '\n' -> line.append("\\n");
+                    default -> line.append(c);
+                }
+            }
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (rowCount == 0) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new ByteArrayInputStream(chunk.toByteArray()));
+            statement.execute(
+                "load data local infile 'chunk' into table " + table + " character set utf8mb4 (" + String.join(", ", columns) + ")"
+            );
+        }
+        connection.commit();
+        chunk.reset();
+        rowCount = 0;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        flush();
+    }
+}
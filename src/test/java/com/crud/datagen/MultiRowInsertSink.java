@@ -0,0 +1,100 @@
+package com.crud.datagen;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Writes the rows with {@code INSERT} statements of up to {@code batchSize} rows each, one transaction per statement.
+ * The statement of a full batch is prepared once. A batch is smaller than {@code batchSize} when its statement would
+ * have more placeholders than MySQL allows in a prepared statement.
+ */
+final class MultiRowInsertSink implements RowSink {
+
+    /**
+     * The most placeholders MySQL accepts in a prepared statement.
+     */
+    static final int MAX_PLACEHOLDERS = 65_535;
+
+    private final Connection connection;
+
+    private final String table;
+
+    private final String[] columns;
+
+    private final int batchSize;
+
+    private final List<Object[]> rows;
+
+    private PreparedStatement fullBatchStatement;
+
+    MultiRowInsertSink(Connection connection, int batchSize, String table, String... columns) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.batchSize = Math.min(batchSize, MAX_PLACEHOLDERS / columns.length);
+        this.rows = new ArrayList<>(this.batchSize);
+    }
+
+    @Override
+    public void add(Object... values) throws SQLException {
+        rows.add(values);
+        if (rows.size() == batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() throws SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        if (rows.size() == batchSize) {
+            if (fullBatchStatement == null) {
+                fullBatchStatement = connection.prepareStatement(insertSql(batchSize));
+            }
+            execute(fullBatchStatement);
+        } else {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql(rows.size()))) {
+                execute(statement);
+            }
+        }
+        connection.commit();
+        rows.clear();
+    }
+
+    private void execute(PreparedStatement statement) throws SQLException {
+        int index = 1;
+        for (Object[] row : rows) {
+            for (Object value : row) {
+                statement.setObject(index++, value);
+            }
+        }
+        statement.executeUpdate();
+    }
+
+    private String insertSql(int rowCount) {
+        String placeholders = "(" + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        return (
+            "insert into " +
+            table +
+            " (" +
+            String.join(", ", columns) +
+            ") values " +
+            String.join(", ", Collections.nCopies(rowCount, placeholders))
+        );
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            flush();
+        } finally {
+            if (fullBatchStatement != null) {
+                fullBatchStatement.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.crud.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for the {@link MultiRowInsertSink} class.
+ */
+class MultiRowInsertSinkTest {
+
+    @Test
+    void testAStatementHasAtMostTheMaximumNumberOfPlaceholders() throws Exception {
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        int rowsPerStatement = MultiRowInsertSink.MAX_PLACEHOLDERS / 3;
+
+        try (MultiRowInsertSink sink = new MultiRowInsertSink(connection, 100_000, "employee", "name", "age", "gender")) {
+            for (int i = 0; i <= rowsPerStatement; i++) {
+                sink.add("name", 1, "gender");
+            }
+        }
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(connection, times(2)).prepareStatement(sql.capture());
+        assertThat(sql.getAllValues().get(0).chars().filter(c -> c == '?').count()).isEqualTo(3L * rowsPerStatement);
+        assertThat(sql.getAllValues().get(1).chars().filter(c -> c == '?').count()).isEqualTo(3L);
+        verify(connection, times(2)).commit();
+    }
+}
@@ -0,0 +1,24 @@
+package com.crud.datagen;
+
+import java.sql.SQLException;
+
+/**
+ * Destination of the rows of a table, which writes them in chunks; closing it writes the last chunk.
+ */
+interface RowSink extends AutoCloseable {
+    /**
+     * @param values the values of the row, in the order of the columns of the sink.
+     */
+    void add(Object... values) throws SQLException;
+
+    @Override
+    void close() throws SQLException;
+
+    /**
+     * Opens the sink of a table.
+     */
+    @FunctionalInterface
+    interface Factory {
+        RowSink open(String table, String... columns) throws SQLException;
+    }
+}
@@ -0,0 +1,344 @@
+package com.crud.datagen;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Fills the database with a synthetic graph of companies and their employees, managers and their workers, and users
+ * with their authorities, replacing the few rows of the {@code faker} Liquibase context for performance work.
+ * <p>
+ * The sizes are skewed: employees pick their company, and workers their manager, from a Zipf distribution, so that a
+ * few companies are huge and most are small. The same seed and row count always produce the same rows; the ids
+ * continue after the ones already in the database, so that runs add up. About {@code rows} rows are written in total,
+ * from 10k to 50M:
+ * <ul>
+ * <li>0.5% companies and 1% managers,</li>
+ * <li>20% workers, 1% of them without a manager,</li>
+ * <li>2% users, all with the password {@code user}, and as many authorities: {@code ROLE_USER} for each, and
+ * {@code ROLE_ADMIN} for 1% of them,</li>
+ * <li>and employees for the rest, 2% of them without a company.</li>
+ * </ul>
+ * <p>
+ * Rows are written with multi-row {@code INSERT} statements or with {@code LOAD DATA LOCAL INFILE}, with the foreign
+ * key and unique checks of the session off. Run against the dev database with
+ * {@code ./mvnw -Pdatagen test-compile exec:exec -Ddatagen.rows=1000000 -Ddatagen.password=...}; see the
+ * {@code datagen} profile for the other options.
+ */
+public final class SyntheticDataGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SyntheticDataGenerator.class);
+
+    /**
+     * BCrypt hash of {@code user}, as for the default user.
+     */
+    static final String PASSWORD_HASH = "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K";
+
+    static final double COMPANY_SIZE_EXPONENT = 1.1;
+
+    static final double MANAGER_SIZE_EXPONENT = 1.0;
+
+    private static final LocalDateTime FIRST_USER_CREATION = LocalDateTime.of(2022, 1, 1, 0, 0);
+
+    private static final List<String> FIRST_NAMES = List.of(
+        "Aarav", "Aditi", "Alice", "Amir", "Ana", "Arjun", "Bruno", "Chen", "Chloe", "Daniel", "Diya", "Elena", "Emma", "Farah",
+        "Hana", "Ishaan", "Ivan", "Jonas", "Kavya", "Kenji", "Lena", "Liam", "Lucas", "Maya", "Meera", "Mohammed", "Nadia",
+        "Noah", "Olivia", "Priya", "Rahul", "Rohan", "Sara", "Sofia", "Tariq", "Umar", "Vikram", "Yara", "Yusuf", "Zoe"
+    );
+
+    private static final List<String> LAST_NAMES = List.of(
+        "Agarwal", "Bauer", "Costa", "Das", "Dubois", "Fernandes", "Garcia", "Gupta", "Hansen", "Ito", "Iyer", "Jain", "Khan",
+        "Kim", "Kowalski", "Kumar", "Larsen", "Lee", "Martin", "Mehta", "Menon", "Müller", "Nair", "Nguyen", "Novak", "Okafor",
+        "Patel", "Reddy", "Rossi", "Sato", "Shah", "Sharma", "Silva", "Singh", "Smith", "Tanaka", "Verma", "Wang", "Yadav", "Zhang"
+    );
+
+    private static final List<String> COMPANY_WORDS = List.of(
+        "Apex", "Blue", "Bright", "Cedar", "Core", "Delta", "Eagle", "Fusion", "Global", "Granite", "Harbor", "Horizon",
+        "Iron", "Lotus", "Meridian", "Nova", "Orbit", "Peak", "Pioneer", "Prime", "Quantum", "River", "Silver", "Summit",
+        "Titan", "Unity", "Vertex", "Vista", "Zenith", "Zephyr"
+    );
+
+    private static final List<String> COMPANY_SUFFIXES = List.of("Labs", "Systems", "Technologies", "Industries", "Group", "Ltd");
+
+    private static final List<String> CITIES = List.of(
+        "Ahmedabad", "Amsterdam", "Bengaluru", "Berlin", "Chennai", "Delhi", "Dubai", "Hyderabad", "Kolkata", "London", "Madrid",
+        "Mumbai", "New York", "Paris", "Pune", "San Francisco", "Singapore", "Sydney", "Tokyo", "Toronto"
+    );
+
+    private static final List<String> DOMAINS = List.of(
+        "Banking", "Construction", "Consulting", "E-commerce", "Education", "Energy", "Healthcare", "Insurance", "Logistics",
+        "Manufacturing", "Media", "Retail", "Software", "Telecom", "Travel"
+    );
+
+    private final long seed;
+
+    private final Plan plan;
+
+    private final Map<String, Long> lastIds = new HashMap<>();
+
+    SyntheticDataGenerator(long seed, Plan plan) {
+        this.seed = seed;
+        this.plan = plan;
+    }
+
+    public static void main(String[] args) throws SQLException {
+        Map<String, String> options = parseOptions(args);
+        long rows = Long.parseLong(options.getOrDefault("rows", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        boolean loadData = switch (options.getOrDefault("mode", "insert")) {
+            case "insert" -> false;
+            case "load-data" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode, use 'insert' or 'load-data': " + options.get("mode"));
+        };
+        int batchSize = Integer.parseInt(options.getOrDefault("batch-size", loadData ? "100000" : "1000"));
+        Properties connectionProperties = new Properties();
+        connectionProperties.setProperty("user", options.getOrDefault("username", "root"));
+        connectionProperties.setProperty("password", options.getOrDefault("password", ""));
+        connectionProperties.setProperty("allowLoadLocalInfile", Boolean.toString(loadData));
+
+        try (
+            Connection connection = DriverManager.getConnection(
+                options.getOrDefault("url", "jdbc:mysql://localhost:3306/crud"),
+                connectionProperties
+            )
+        ) {
+            write(connection, seed, rows, loadData, batchSize);
+        }
+    }
+
+    /**
+     * Writes about {@code rows} rows generated from the {@code seed}, committing each chunk.
+     *
+     * @param loadData whether to use {@code LOAD DATA LOCAL INFILE} rather than {@code INSERT} statements.
+     * @param batchSize the number of rows per statement.
+     */
+    public static void write(Connection connection, long seed, long rows, boolean loadData, int batchSize) throws SQLException {
+        SyntheticDataGenerator generator = new SyntheticDataGenerator(seed, Plan.of(rows));
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        generator.continueIdsOf(connection);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set foreign_key_checks = 0, unique_checks = 0");
+        }
+        try {
+            generator.generate((table, columns) ->
+                loadData
+                    ? new LoadDataLocalInfileSink(connection, batchSize, table, columns)
+                    : new MultiRowInsertSink(connection, batchSize, table, columns)
+            );
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("set foreign_key_checks = 1, unique_checks = 1");
+            }
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            // An empty value, as passed by the datagen profile for an unset property, keeps the default
+            if (separator < arg.length() - 1) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Makes the generated ids follow the ones already in the tables.
+     */
+    void continueIdsOf(Connection connection) throws SQLException {
+        for (String table : List.of("company", "employee", "workers", "jhi_user")) {
+            try (
+                Statement statement = connection.createStatement();
+                ResultSet result = statement.executeQuery("select max(id) from " + table)
+            ) {
+                result.next();
+                lastIds.put(table, result.getLong(1));
+            }
+        }
+    }
+
+    void generate(RowSink.Factory sinks) throws SQLException {
+        long[] companyIds = generateCompanies(sinks);
+        generateEmployees(sinks, companyIds);
+        UUID[] managerIds = generateManagers(sinks);
+        generateWorkers(sinks, managerIds);
+        generateUsers(sinks);
+    }
+
+    private long[] generateCompanies(RowSink.Factory sinks) throws SQLException {
+        SplittableRandom random = randomOf("company");
+        long[] ids = new long[plan.companies()];
+        long firstId = lastIds.getOrDefault("company", 0L) + 1;
+        long start = System.nanoTime();
+        try (RowSink sink = sinks.open("company", "id", "name", "place", "domain")) {
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = firstId + i;
+                String name = pick(random, COMPANY_WORDS) + " " + pick(random, COMPANY_WORDS) + " " + pick(random, COMPANY_SUFFIXES);
+                sink.add(ids[i], name, pick(random, CITIES), pick(random, DOMAINS));
+            }
+        }
+        logProgress("company", ids.length, start);
+        // The sizes follow the ranks, which are not in the order of the ids
+        shuffle(random, ids);
+        return ids;
+    }
+
+    private void generateEmployees(RowSink.Factory sinks, long[] companyIds) throws SQLException {
+        SplittableRandom random = randomOf("employee");
+        ZipfDistribution companySizes = new ZipfDistribution(companyIds.length, COMPANY_SIZE_EXPONENT);
+        long firstId = lastIds.getOrDefault("employee", 0L) + 1;
+        long start = System.nanoTime();
+        try (RowSink sink = sinks.open("employee", "id", "name", "age", "gender", "pancard", "company_id")) {
+            for (long i = 0; i < plan.employees(); i++) {
+                Long companyId = random.nextInt(100) < 2 ? null : companyIds[companySizes.sample(random)];
+                sink.add(firstId + i, personName(random), age(random, 21, 62), gender(random), 5_000_000_000L + firstId + i, companyId);
+            }
+        }
+        logProgress("employee", plan.employees(), start);
+    }
+
+    private UUID[] generateManagers(RowSink.Factory sinks) throws SQLException {
+        SplittableRandom random = randomOf("manager");
+        UUID[] ids = new UUID[plan.managers()];
+        long start = System.nanoTime();
+        try (RowSink sink = sinks.open("manager", "id", "name", "age", "gender")) {
+            for (int i = 0; i < ids.length; i++) {
+                // Version 4 and IETF variant bits, as UUID.randomUUID()
+                ids[i] = new UUID(
+                    (random.nextLong() & ~0xF000L) | 0x4000L,
+                    (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L
+                );
+                sink.add(ids[i].toString(), personName(random), age(random, 30, 64), gender(random));
+            }
+        }
+        logProgress("manager", ids.length, start);
+        return ids;
+    }
+
+    private void generateWorkers(RowSink.Factory sinks, UUID[] managerIds) throws SQLException {
+        SplittableRandom random = randomOf("workers");
+        ZipfDistribution managerSizes = new ZipfDistribution(managerIds.length, MANAGER_SIZE_EXPONENT);
+        long firstId = lastIds.getOrDefault("workers", 0L) + 1;
+        long start = System.nanoTime();
+        try (RowSink sink = sinks.open("workers", "id", "name", "age", "manager_id")) {
+            for (long i = 0; i < plan.workers(); i++) {
+                String managerId = random.nextInt(100) < 1 ? null : managerIds[managerSizes.sample(random)].toString();
+                sink.add(firstId + i, personName(random), age(random, 18, 60), managerId);
+            }
+        }
+        logProgress("workers", plan.workers(), start);
+    }
+
+    private void generateUsers(RowSink.Factory sinks) throws SQLException {
+        SplittableRandom random = randomOf("jhi_user");
+        long firstId = lastIds.getOrDefault("jhi_user", 0L) + 1;
+        long start = System.nanoTime();
+        try (
+            RowSink users = sinks.open(
+                "jhi_user",
+                "id",
+                "login",
+                "password_hash",
+                "first_name",
+                "last_name",
+                "email",
+                "activated",
+                "lang_key",
+                "created_by",
+                "created_date"
+            );
+            RowSink authorities = sinks.open("jhi_user_authority", "user_id", "authority_name")
+        ) {
+            for (long i = 0; i < plan.users(); i++) {
+                long id = firstId + i;
+                String login = "user-" + id;
+                String firstName = pick(random, FIRST_NAMES);
+                String lastName = pick(random, LAST_NAMES);
+                LocalDateTime createdDate = FIRST_USER_CREATION.plusSeconds(random.nextLong(TimeUnit.DAYS.toSeconds(3 * 365)));
+                boolean activated = random.nextInt(100) >= 2;
+                users.add(id, login, PASSWORD_HASH, firstName, lastName, login + "@example.com", activated, "en", "system", createdDate);
+                authorities.add(id, "ROLE_USER");
+                if (random.nextInt(100) < 1) {
+                    authorities.add(id, "ROLE_ADMIN");
+                }
+            }
+        }
+        logProgress("jhi_user", plan.users(), start);
+    }
+
+    /**
+     * Each table has its own random generator, so that its rows do not depend on the sizes of the other tables.
+     */
+    private SplittableRandom randomOf(String table) {
+        return new SplittableRandom(seed * 31 + table.hashCode());
+    }
+
+    private static String personName(SplittableRandom random) {
+        return pick(random, FIRST_NAMES) + " " + pick(random, LAST_NAMES);
+    }
+
+    /**
+     * Roughly normal between the bounds, peaking in the middle.
+     */
+    private static int age(SplittableRandom random, int min, int max) {
+        int span = max - min;
+        return min + (random.nextInt(span + 1) + random.nextInt(span + 1)) / 2;
+    }
+
+    private static String gender(SplittableRandom random) {
+        int draw = random.nextInt(100);
+        return draw < 49 ? "M" : draw < 98 ? "F" : "X";
+    }
+
+    private static String pick(SplittableRandom random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static void shuffle(SplittableRandom random, long[] values) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static void logProgress(String table, long rows, long start) {
+        long millis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        LOG.info("Wrote {} rows to {} in {} ms ({} rows/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    /**
+     * Number of rows of each table, for about {@code rows} rows in total.
+     */
+    record Plan(int companies, long employees, int managers, long workers, long users) {
+        static Plan of(long rows) {
+            int companies = (int) Math.max(1, rows / 200);
+            int managers = (int) Math.max(1, rows / 100);
+            long workers = rows / 5;
+            // Each user has one or two authorities
+            long users = Math.max(1, rows / 50);
+            long employees = Math.max(1, rows - companies - managers - workers - users * 2);
+            return new Plan(companies, employees, managers, workers, users);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.crud.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link SyntheticDataGenerator} class.
+ */
+class SyntheticDataGeneratorTest {
+
+    private static final long ROWS = 20_000;
+
+    @Test
+    void testSameSeedGivesSameRows() throws Exception {
+        Map<String, List<List<Object>>> first = generate(42);
+        Map<String, List<List<Object>>> second = generate(42);
+
+        assertThat(second).isEqualTo(first);
+        assertThat(generate(43).get("employee")).isNotEqualTo(first.get("employee"));
+    }
+
+    @Test
+    void testRowCountsFollowThePlan() throws Exception {
+        SyntheticDataGenerator.Plan plan = SyntheticDataGenerator.Plan.of(ROWS);
+
+        Map<String, List<List<Object>>> tables = generate(42);
+
+        assertThat(tables.get("company")).hasSize(plan.companies());
+        assertThat(tables.get("employee")).hasSize((int) plan.employees());
+        assertThat(tables.get("manager")).hasSize(plan.managers());
+        assertThat(tables.get("workers")).hasSize((int) plan.workers());
+        assertThat(tables.get("jhi_user")).hasSize((int) plan.users());
+        long rows = tables.values().stream().mapToLong(List::size).sum();
+        assertThat(rows).isBetween(ROWS * 95 / 100, ROWS * 105 / 100);
+    }
+
+    @Test
+    void testEmployeesReferenceGeneratedCompaniesWithSkewedSizes() throws Exception {
+        Map<String, List<List<Object>>> tables = generate(42);
+        Set<Object> companyIds = tables.get("company").stream().map(row -> row.get(0)).collect(Collectors.toSet());
+
+        Map<Object, Long> sizes = tables
+            .get("employee")
+            .stream()
+            .map(row -> row.get(5))
+            .filter(Objects::nonNull)
+            .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        assertThat(companyIds).containsAll(sizes.keySet());
+        long[] sortedSizes = sizes.values().stream().mapToLong(Long::longValue).sorted().toArray();
+        long largest = sortedSizes[sortedSizes.length - 1];
+        long median = sortedSizes[sortedSizes.length / 2];
+        assertThat(largest).isGreaterThan(30 * median);
+    }
+
+    @Test
+    void testWorkersReferenceGeneratedManagers() throws Exception {
+        Map<String, List<List<Object>>> tables = generate(42);
+        Set<Object> managerIds = tables.get("manager").stream().map(row -> row.get(0)).collect(Collectors.toSet());
+
+        Set<Object> referencedIds = new HashSet<>();
+        tables.get("workers").stream().map(row -> row.get(3)).filter(Objects::nonNull).forEach(referencedIds::add);
+
+        assertThat(managerIds).containsAll(referencedIds);
+    }
+
+    private static Map<String, List<List<Object>>> generate(long seed) throws Exception {
+        Map<String, List<List<Object>>> tables = new HashMap<>();
+        new SyntheticDataGenerator(seed, SyntheticDataGenerator.Plan.of(ROWS)).generate((table, columns) -> {
+            List<List<Object>> rows = tables.computeIfAbsent(table, name -> new ArrayList<>());
+            return new RowSink() {
+                @Override
+                public void add(Object... values) {
+                    rows.add(Arrays.asList(values));
+                }
+
+                @Override
+                public void close() {}
+            };
+        });
+        return tables;
+    }
+}
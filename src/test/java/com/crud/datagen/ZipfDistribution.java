@@ -0,0 +1,38 @@
+package com.crud.datagen;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks {@code 0} to {@code size - 1}: the probability of rank {@code k} is proportional to
+ * {@code 1 / (k + 1)^exponent}, so that a few ranks get most of the samples and the long tail gets a few each.
+ * <p>
+ * Sampling is a binary search in the cumulative weights.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulativeWeights;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The size must be positive: " + size);
+        }
+        cumulativeWeights = new double[size];
+        double sum = 0;
+        for (int rank = 0; rank < size; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cumulativeWeights[rank] = sum;
+        }
+    }
+
+    int sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int index = Arrays.binarySearch(cumulativeWeights, target);
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeWeights.length - 1);
+    }
+
+    int size() {
+        return cumulativeWeights.length;
+    }
+}
@@ -0,0 +1,39 @@
+package com.crud.datagen;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link ZipfDistribution} class.
+ */
+class ZipfDistributionTest {
+
+    @Test
+    void testFirstRanksGetMostSamples() {
+        ZipfDistribution distribution = new ZipfDistribution(1000, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[distribution.size()];
+
+        for (int i = 0; i < 100_000; i++) {
+            counts[distribution.sample(random)]++;
+        }
+
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[9]);
+        assertThat(counts[0]).isGreaterThan(100 * Math.max(1, counts[999]));
+    }
+
+    @Test
+    void testSingleRank() {
+        ZipfDistribution distribution = new ZipfDistribution(1, 1.1);
+
+        assertThat(distribution.sample(new SplittableRandom(42))).isZero();
+    }
+
+    @Test
+    void testEmptyDistributionIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ZipfDistribution(0, 1.1));
+    }
+}
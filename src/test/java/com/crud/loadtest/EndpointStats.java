@@ -0,0 +1,82 @@
+package com.crud.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies, in microseconds, and error counts of the requests of an endpoint, recorded concurrently.
+ */
+final class EndpointStats {
+
+    static final double[] PERCENTILES = { 50, 75, 90, 95, 99, 99.9, 99.99 };
+
+    private final Recorder latencies = new Recorder(3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * @param status the HTTP status of the response, or {@code 0} if there was none.
+     */
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        if (status < 200 || status >= 400) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Counts a request which was not sent, as too many were in flight.
+     */
+    void drop() {
+        dropped.increment();
+    }
+
+    /**
+     * @return the latencies recorded since the last call.
+     */
+    Histogram takeHistogram() {
+        return latencies.getIntervalHistogram();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long dropped() {
+        return dropped.sum();
+    }
+
+    /**
+     * @param latencyMillis the latency by percentile, plus the mean and the maximum.
+     */
+    record Result(long requests, long errors, long dropped, double throughput, Map<String, Double> latencyMillis) {
+        static Result of(Histogram histogram, long errors, long dropped, Duration duration) {
+            Map<String, Double> latencyMillis = new LinkedHashMap<>();
+            for (double percentile : PERCENTILES) {
+                latencyMillis.put(percentileName(percentile), millis(histogram.getValueAtPercentile(percentile)));
+            }
+            latencyMillis.put("mean", millis(histogram.getMean()));
+            latencyMillis.put("max", millis(histogram.getMaxValue()));
+            long requests = histogram.getTotalCount();
+            return new Result(requests, errors, dropped, requests * 1000.0 / duration.toMillis(), latencyMillis);
+        }
+
+        /**
+         * For example {@code p99} and {@code p99.9}.
+         */
+        static String percentileName(double percentile) {
+            return "p" + (percentile == Math.rint(percentile) ? Long.toString((long) percentile) : Double.toString(percentile));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1000.0;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.crud.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends the requests of a workload, with a closed or an open model, and records their latencies by endpoint. Only the
+ * requests sent after the warm-up are recorded.
+ * <ul>
+ * <li>Closed model: a fixed number of users each send a request, wait for its response, and send the next one. The
+ * throughput is what the application sustains with that concurrency.</li>
+ * <li>Open model: requests are sent at a fixed rate whatever the responses, up to a maximum in flight; requests over
+ * it are dropped and counted. Latencies are measured from the time each request was due, so that the time requests
+ * wait behind a slow one is not hidden.</li>
+ * </ul>
+ */
+final class LoadDriver {
+
+    /**
+     * Sends a request of the operation, completing with the HTTP status of the response.
+     */
+    @FunctionalInterface
+    interface Sender {
+        CompletableFuture<Integer> send(Workload.Operation operation);
+    }
+
+    private final Workload workload;
+
+    private final Sender sender;
+
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+
+    LoadDriver(Workload workload, Sender sender) {
+        this.workload = workload;
+        this.sender = sender;
+        workload.operations().forEach(operation -> stats.put(operation.name(), new EndpointStats()));
+    }
+
+    Report runClosed(int users, Duration warmup, Duration duration) throws InterruptedException {
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            executor.execute(() -> {
+                while (System.nanoTime() - end < 0) {
+                    Workload.Operation operation = workload.next(ThreadLocalRandom.current());
+                    long sentAt = System.nanoTime();
+                    int status;
+                    try {
+                        status = send(operation).join();
+                    } catch (CompletionException e) {
+                        status = 0;
+                    }
+                    record(operation, sentAt, measureFrom, status);
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.plus(warmup).toMillis() + TimeUnit.MINUTES.toMillis(1), TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+        }
+        return report(duration);
+    }
+
+    Report runOpen(double requestsPerSecond, int maxInFlight, Duration warmup, Duration duration) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        for (long dueAt = start; dueAt - end < 0; dueAt += intervalNanos) {
+            long wait = dueAt - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Operation operation = workload.next(ThreadLocalRandom.current());
+            if (!inFlight.tryAcquire()) {
+                if (dueAt - measureFrom >= 0) {
+                    stats.get(operation.name()).drop();
+                }
+                continue;
+            }
+            long sentAt = dueAt;
+            send(operation).whenComplete((status, error) -> {
+                // Recorded before the release, so that the report, built once all the permits are back, sees it
+                record(operation, sentAt, measureFrom, error == null ? status : 0);
+                inFlight.release();
+            });
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException(
+                (maxInFlight - inFlight.availablePermits()) + " requests still in flight a minute after the end of the run"
+            );
+        }
+        return report(duration);
+    }
+
+    private CompletableFuture<Integer> send(Workload.Operation operation) {
+        try {
+            return sender.send(operation);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private void record(Workload.Operation operation, long sentAt, long measureFrom, int status) {
+        if (sentAt - measureFrom >= 0) {
+            stats.get(operation.name()).record(System.nanoTime() - sentAt, status);
+        }
+    }
+
+    private Report report(Duration duration) {
+        Map<String, EndpointStats.Result> endpoints = new LinkedHashMap<>();
+        Histogram total = new Histogram(3);
+        long errors = 0;
+        long dropped = 0;
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            EndpointStats endpointStats = entry.getValue();
+            Histogram histogram = endpointStats.takeHistogram();
+            total.add(histogram);
+            errors += endpointStats.errors();
+            dropped += endpointStats.dropped();
+            endpoints.put(entry.getKey(), EndpointStats.Result.of(histogram, endpointStats.errors(), endpointStats.dropped(), duration));
+        }
+        return new Report(endpoints, EndpointStats.Result.of(total, errors, dropped, duration));
+    }
+
+    /**
+     * @param endpoints the results by endpoint, in the order of the workload.
+     * @param total the results of all the requests.
+     */
+    record Report(Map<String, EndpointStats.Result> endpoints, EndpointStats.Result total) {}
+}
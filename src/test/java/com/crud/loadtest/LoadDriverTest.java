@@ -0,0 +1,71 @@
+package com.crud.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link LoadDriver} class.
+ */
+class LoadDriverTest {
+
+    private static final Workload WORKLOAD = new Workload(
+        List.of(new Workload.Operation("ok", "GET /ok", 3, null), new Workload.Operation("missing", "GET /missing", 1, null))
+    );
+
+    private static CompletableFuture<Integer> respond(Workload.Operation operation) {
+        return CompletableFuture.completedFuture("ok".equals(operation.key()) ? 200 : 404);
+    }
+
+    @Test
+    void testClosedModelRecordsEachEndpoint() throws InterruptedException {
+        LoadDriver driver = new LoadDriver(WORKLOAD, LoadDriverTest::respond);
+
+        LoadDriver.Report report = driver.runClosed(2, Duration.ZERO, Duration.ofMillis(200));
+
+        assertThat(report.endpoints()).containsOnlyKeys("GET /ok", "GET /missing");
+        EndpointStats.Result ok = report.endpoints().get("GET /ok");
+        EndpointStats.Result missing = report.endpoints().get("GET /missing");
+        assertThat(ok.requests()).isPositive();
+        assertThat(ok.errors()).isZero();
+        assertThat(missing.errors()).isEqualTo(missing.requests());
+        assertThat(report.total().requests()).isEqualTo(ok.requests() + missing.requests());
+        assertThat(ok.latencyMillis()).containsKeys("p50", "p99", "p99.9", "max");
+    }
+
+    @Test
+    void testOpenModelSendsAtTheRate() throws InterruptedException {
+        LoadDriver driver = new LoadDriver(WORKLOAD, LoadDriverTest::respond);
+
+        LoadDriver.Report report = driver.runOpen(1000, 100, Duration.ZERO, Duration.ofMillis(500));
+
+        // One request is due every millisecond, however late the loop runs; the responses are immediate
+        assertThat(report.total().requests()).isEqualTo(500);
+        assertThat(report.total().dropped()).isZero();
+    }
+
+    @Test
+    void testOpenModelDropsRequestsOverTheMaximumInFlight() throws InterruptedException {
+        LoadDriver driver = new LoadDriver(WORKLOAD, operation ->
+            CompletableFuture.supplyAsync(() -> 200, CompletableFuture.delayedExecutor(200, TimeUnit.MILLISECONDS))
+        );
+
+        LoadDriver.Report report = driver.runOpen(1000, 10, Duration.ZERO, Duration.ofMillis(100));
+
+        assertThat(report.total().requests() + report.total().dropped()).isEqualTo(100);
+        assertThat(report.total().dropped()).isGreaterThanOrEqualTo(80);
+    }
+
+    @Test
+    void testFailedRequestsAreErrors() throws InterruptedException {
+        LoadDriver driver = new LoadDriver(WORKLOAD, operation -> CompletableFuture.failedFuture(new IllegalStateException()));
+
+        LoadDriver.Report report = driver.runClosed(1, Duration.ZERO, Duration.ofMillis(50));
+
+        assertThat(report.total().errors()).isEqualTo(report.total().requests()).isPositive();
+    }
+}
@@ -0,0 +1,341 @@
+package com.crud.loadtest;
+
+import com.crud.CrudApp;
+import com.crud.config.MysqlTestContainer;
+import com.crud.datagen.SyntheticDataGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Load test of the REST API: starts the application in this JVM, seeds its database with the
+ * {@link SyntheticDataGenerator}, drives a mix of requests with a {@link LoadDriver}, and writes the latency
+ * percentiles and throughput of each endpoint as JSON, so that runs can be compared across branches.
+ * <p>
+ * The application runs with the test configuration and the {@code testprod} profile, like the integration tests,
+ * against a MySQL container (Docker is required) or a local database. Run with
+ * {@code ./mvnw -Ploadtest test-compile exec:exec}, and set the options through the properties of the
+ * {@code loadtest} profile, for example {@code -Dloadtest.model=open -Dloadtest.rate=500}. The mix is set with
+ * {@code -Dloadtest.mix=employee=40,authenticate=0}; the keys are {@code authenticate}, {@code account},
+ * {@code admin-users}, {@code create-employee}, and for each entity its plural (list all) and singular (get by id),
+ * such as {@code companies} and {@code company}. The {@code screen} and {@code batch-screen} operations, off by
+ * default, load the same resources as a mobile screen, with sequential requests or a single {@code POST /api/batch}:
+ * compare their latencies with {@code -Dloadtest.mix=screen=5,batch-screen=5}.
+ */
+public final class LoadTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadTest.class);
+
+    private static final int SAMPLE_IDS = 1000;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final String baseUrl;
+
+    /**
+     * The requests of the operations made of several requests, sent one after the other, by operation key.
+     */
+    private final Map<String, Supplier<List<HttpRequest>>> sequences = new HashMap<>();
+
+    private LoadTest(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        MysqlTestContainer container = null;
+        String url = options.getOrDefault("url", "jdbc:mysql://localhost:3306/crud");
+        String username = options.getOrDefault("username", "root");
+        String password = options.getOrDefault("password", "");
+        if (!"local".equals(options.getOrDefault("database", "container"))) {
+            container = new MysqlTestContainer();
+            container.afterPropertiesSet();
+            url = container.getTestContainer().getJdbcUrl();
+            username = container.getTestContainer().getUsername();
+            password = container.getTestContainer().getPassword();
+        }
+        SpringApplication application = new SpringApplication(CrudApp.class);
+        application.setAdditionalProfiles("testprod");
+        try (
+            ConfigurableApplicationContext context = application.run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + username,
+                "--spring.datasource.password=" + password,
+                "--spring.datasource.hikari.maximum-pool-size=" + options.getOrDefault("pool-size", "20"),
+                "--server.port=0"
+            )
+        ) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            new LoadTest(port).run(context.getBean(DataSource.class), options);
+        } finally {
+            if (container != null) {
+                container.destroy();
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            // An empty value, as passed by the loadtest profile for an unset property, keeps the default
+            if (separator < arg.length() - 1) {
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+        }
+        return options;
+    }
+
+    private void run(DataSource dataSource, Map<String, String> options) throws Exception {
+        long rows = Long.parseLong(options.getOrDefault("rows", "10000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        if (rows > 0) {
+            try (Connection connection = dataSource.getConnection()) {
+                SyntheticDataGenerator.write(connection, seed, rows, false, 1000);
+            }
+        }
+        Workload workload = Workload.withWeights(operations(new JdbcTemplate(dataSource)), parseMix(options.getOrDefault("mix", "")));
+        LoadDriver driver = new LoadDriver(workload, operation ->
+            sequences.containsKey(operation.key()) ? sendInSequence(sequences.get(operation.key()).get()) : send(operation.request().get())
+        );
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        String model = options.getOrDefault("model", "closed");
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("model", model);
+        LoadDriver.Report report;
+        LOG.info("Running the {} workload for {} after a warm-up of {}", model, duration, warmup);
+        switch (model) {
+            case "closed" -> {
+                int users = Integer.parseInt(options.getOrDefault("concurrency", "32"));
+                config.put("concurrency", users);
+                report = driver.runClosed(users, warmup, duration);
+            }
+            case "open" -> {
+                double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+                int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+                config.put("rate", rate);
+                config.put("maxInFlight", maxInFlight);
+                report = driver.runOpen(rate, maxInFlight, warmup, duration);
+            }
+            default -> throw new IllegalArgumentException("Unknown model, use 'closed' or 'open': " + model);
+        }
+        config.put("warmupSeconds", warmup.toSeconds());
+        config.put("durationSeconds", duration.toSeconds());
+        config.put("rows", rows);
+        config.put("seed", seed);
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        workload.operations().forEach(operation -> mix.put(operation.key(), operation.weight()));
+        config.put("mix", mix);
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+        config.put("javaVersion", Runtime.version().toString());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("label", options.getOrDefault("label", "default"));
+        result.put("finishedAt", Instant.now().toString());
+        result.put("config", config);
+        result.put("endpoints", report.endpoints());
+        result.put("total", report.total());
+        Path output = Path.of(options.getOrDefault("output", "target/loadtest/" + result.get("label") + ".json"));
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        objectMapper.enable(SerializationFeature.INDENT_OUTPUT).writeValue(output.toFile(), result);
+        LOG.info(
+            "{} requests, {} req/s, p99 {} ms; report written to {}",
+            report.total().requests(),
+            Math.round(report.total().throughput()),
+            report.total().latencyMillis().get("p99"),
+            output
+        );
+    }
+
+    private static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String entry : mix.split(",")) {
+            if (!entry.isBlank()) {
+                String[] keyAndWeight = entry.split("=", 2);
+                weights.put(keyAndWeight[0].trim(), Integer.parseInt(keyAndWeight[1].trim()));
+            }
+        }
+        return weights;
+    }
+
+    /**
+     * The operations and their default weights: mostly reads by id, some lists and writes, and a few logins, which
+     * are slow on purpose (BCrypt).
+     */
+    private List<Workload.Operation> operations(JdbcTemplate jdbcTemplate) throws IOException, InterruptedException {
+        List<String> logins = jdbcTemplate.queryForList(
+            "select login from jhi_user where login like 'user-%' and activated = true limit " + SAMPLE_IDS,
+            String.class
+        );
+        if (logins.isEmpty()) {
+            logins = List.of("user");
+        }
+        String userToken = authenticate(logins.get(0), "user");
+        String adminToken = authenticate("admin", "admin");
+        List<Long> companyIds = jdbcTemplate.queryForList("select id from company limit " + SAMPLE_IDS, Long.class);
+        List<Long> employeeIds = jdbcTemplate.queryForList("select id from employee limit " + SAMPLE_IDS, Long.class);
+        List<String> managerIds = jdbcTemplate.queryForList("select id from manager limit " + SAMPLE_IDS, String.class);
+        List<Long> workerIds = jdbcTemplate.queryForList("select id from workers limit " + SAMPLE_IDS, Long.class);
+        List<String> sampleLogins = logins;
+
+        List<Workload.Operation> operations = new ArrayList<>();
+        operations.add(
+            new Workload.Operation("authenticate", "POST /api/authenticate", 2, () ->
+                post("/api/authenticate", null, loginBody(pick(sampleLogins), "user"))
+            )
+        );
+        operations.add(new Workload.Operation("account", "GET /api/account", 10, () -> get("/api/account", userToken)));
+        operations.add(
+            new Workload.Operation("admin-users", "GET /api/admin/users", 5, () ->
+                get("/api/admin/users?size=20&page=" + ThreadLocalRandom.current().nextInt(10), adminToken)
+            )
+        );
+        addEntityOperations(operations, "companies", "company", companyIds, userToken, 3, 10);
+        addEntityOperations(operations, "employees", "employee", employeeIds, userToken, 1, 20);
+        addEntityOperations(operations, "managers", "manager", managerIds, userToken, 2, 10);
+        addEntityOperations(operations, "workers", "worker", workerIds, userToken, 1, 10);
+        operations.add(
+            new Workload.Operation("create-employee", "POST /api/employees", 5, () ->
+                post("/api/employees", userToken, employeeBody())
+            )
+        );
+        if (!companyIds.isEmpty() && !employeeIds.isEmpty() && !managerIds.isEmpty() && !workerIds.isEmpty()) {
+            Supplier<List<String>> screen = () ->
+                List.of(
+                    "/api/account",
+                    "/api/companies/" + pick(companyIds),
+                    "/api/companies/" + pick(companyIds),
+                    "/api/employees/" + pick(employeeIds),
+                    "/api/employees/" + pick(employeeIds),
+                    "/api/employees/" + pick(employeeIds),
+                    "/api/employees/" + pick(employeeIds),
+                    "/api/managers/" + pick(managerIds),
+                    "/api/workers/" + pick(workerIds),
+                    "/api/workers/" + pick(workerIds),
+                    "/api/workers/" + pick(workerIds)
+                );
+            operations.add(new Workload.Operation("screen", "screen (11 sequential GETs)", 0, null));
+            sequences.put("screen", () -> screen.get().stream().map(path -> get(path, userToken)).toList());
+            operations.add(
+                new Workload.Operation("batch-screen", "screen (POST /api/batch)", 0, () ->
+                    post("/api/batch", userToken, batchBody(screen.get()))
+                )
+            );
+        }
+        return operations;
+    }
+
+    /**
+     * Adds the listing of all the entities, and the fetching of one by id, unless there are none.
+     */
+    private void addEntityOperations(
+        List<Workload.Operation> operations,
+        String path,
+        String key,
+        List<?> ids,
+        String token,
+        int listWeight,
+        int byIdWeight
+    ) {
+        operations.add(new Workload.Operation(path, "GET /api/" + path, listWeight, () -> get("/api/" + path, token)));
+        if (!ids.isEmpty()) {
+            Supplier<HttpRequest> byId = () -> get("/api/" + path + "/" + pick(ids), token);
+            operations.add(new Workload.Operation(key, "GET /api/" + path + "/{id}", byIdWeight, byId));
+        }
+    }
+
+    private String authenticate(String login, String password) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+            post("/api/authenticate", null, loginBody(login, password)),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not authenticate " + login + ": " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("id_token").asText();
+    }
+
+    private CompletableFuture<Integer> send(HttpRequest request) {
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).thenApply(HttpResponse::statusCode);
+    }
+
+    /**
+     * Sends the requests one after the other, stopping at the first error.
+     */
+    private CompletableFuture<Integer> sendInSequence(List<HttpRequest> requests) {
+        CompletableFuture<Integer> status = CompletableFuture.completedFuture(200);
+        for (HttpRequest request : requests) {
+            status = status.thenCompose(previous -> previous >= 400 ? CompletableFuture.completedFuture(previous) : send(request));
+        }
+        return status;
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        return request(path, token).header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(body)).build();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .timeout(Duration.ofSeconds(30))
+            .header("Accept", "application/json");
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private static String loginBody(String login, String password) {
+        return "{\"username\":\"" + login + "\",\"password\":\"" + password + "\",\"rememberMe\":false}";
+    }
+
+    private static String batchBody(List<String> paths) {
+        return paths.stream().map(path -> "{\"path\":\"" + path + "\"}").collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private static String employeeBody() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return (
+            "{\"name\":\"Load Test\",\"age\":" +
+            random.nextInt(21, 62) +
+            ",\"gender\":\"F\",\"pancard\":" +
+            random.nextLong(9_000_000_000L, 9_999_999_999L) +
+            "}"
+        );
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
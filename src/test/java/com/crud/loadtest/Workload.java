@@ -0,0 +1,77 @@
+package com.crud.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Mix of operations, each picked with a probability proportional to its weight; operations of weight zero are left
+ * out.
+ */
+final class Workload {
+
+    /**
+     * @param key the short name of the operation, used to set its weight.
+     * @param name the name of the endpoint in the report, for example {@code GET /api/employees/{id}}.
+     * @param weight the relative frequency of the operation.
+     * @param request the supplier of the next request, for example with a random id.
+     */
+    record Operation(String key, String name, int weight, Supplier<HttpRequest> request) {}
+
+    private final List<Operation> operations;
+
+    private final int[] cumulativeWeights;
+
+    Workload(List<Operation> operations) {
+        this.operations = operations.stream().filter(operation -> operation.weight() > 0).toList();
+        if (this.operations.isEmpty()) {
+            throw new IllegalArgumentException("The workload has no operation of positive weight");
+        }
+        cumulativeWeights = new int[this.operations.size()];
+        int sum = 0;
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            sum += this.operations.get(i).weight();
+            cumulativeWeights[i] = sum;
+        }
+    }
+
+    /**
+     * @param weights the weights replacing the default ones, by operation key.
+     */
+    static Workload withWeights(List<Operation> operations, Map<String, Integer> weights) {
+        for (String key : weights.keySet()) {
+            if (operations.stream().noneMatch(operation -> operation.key().equals(key))) {
+                throw new IllegalArgumentException("Unknown operation: " + key);
+            }
+        }
+        return new Workload(
+            operations
+                .stream()
+                .map(operation ->
+                    new Operation(
+                        operation.key(),
+                        operation.name(),
+                        weights.getOrDefault(operation.key(), operation.weight()),
+                        operation.request()
+                    )
+                )
+                .toList()
+        );
+    }
+
+    Operation next(Random random) {
+        int target = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (target < cumulativeWeights[i]) {
+                return operations.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    List<Operation> operations() {
+        return operations;
+    }
+}
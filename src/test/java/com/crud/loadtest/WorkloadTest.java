@@ -0,0 +1,47 @@
+package com.crud.loadtest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link Workload} class.
+ */
+class WorkloadTest {
+
+    private static final List<Workload.Operation> OPERATIONS = List.of(
+        new Workload.Operation("read", "GET /read", 9, null),
+        new Workload.Operation("write", "POST /write", 1, null)
+    );
+
+    @Test
+    void testOperationsArePickedByWeight() {
+        Workload workload = new Workload(OPERATIONS);
+        Random random = new Random(42);
+
+        long reads = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if ("read".equals(workload.next(random).key())) {
+                reads++;
+            }
+        }
+
+        assertThat(reads).isBetween(8_800L, 9_200L);
+    }
+
+    @Test
+    void testWeightsCanBeReplaced() {
+        Workload workload = Workload.withWeights(OPERATIONS, Map.of("read", 0));
+
+        assertThat(workload.operations()).extracting(Workload.Operation::key).containsExactly("write");
+    }
+
+    @Test
+    void testUnknownOperationIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> Workload.withWeights(OPERATIONS, Map.of("delete", 1)));
+    }
+}
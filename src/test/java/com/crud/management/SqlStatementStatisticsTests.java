@@ -0,0 +1,43 @@
+package com.crud.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementStatisticsTests {
+
+    @Test
+    void testShapeReplacesLiteralsAndParameterLists() {
+        assertThat(SqlStatementStatistics.shapeOf("select e1_0.id from employee e1_0 where e1_0.id in (?,?,?,?) limit 20")).isEqualTo(
+            "select e1_0.id from employee e1_0 where e1_0.id in (?) limit ?"
+        );
+        assertThat(SqlStatementStatistics.shapeOf("select * from jhi_user\n where login = 'o''brien' and id in (1, 2)")).isEqualTo(
+            "select * from jhi_user where login = ? and id in (?)"
+        );
+    }
+
+    @Test
+    void testMostRepeatedShapeIsTracked() {
+        try (SqlStatementStatistics statistics = SqlStatementStatistics.start()) {
+            statistics.recordStatement("select * from jhi_user where id=?");
+            for (int i = 0; i < 3; i++) {
+                statistics.recordStatement("select * from jhi_authority where name='ROLE_" + i + "'");
+            }
+
+            assertThat(statistics.getMostRepeatedShapeCount()).isEqualTo(3);
+            assertThat(statistics.getMostRepeatedShape()).isEqualTo("select * from jhi_authority where name=?");
+        }
+    }
+
+    @Test
+    void testStatisticsAreScopedToTheCurrentThread() {
+        assertThat(SqlStatementStatistics.current()).isNull();
+        try (SqlStatementStatistics outer = SqlStatementStatistics.start()) {
+            try (SqlStatementStatistics inner = SqlStatementStatistics.start()) {
+                assertThat(SqlStatementStatistics.current()).isSameAs(inner);
+            }
+            assertThat(SqlStatementStatistics.current()).isSameAs(outer);
+        }
+        assertThat(SqlStatementStatistics.current()).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.crud.management;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskDecorator;
+
+class TaskMetersServiceTests {
+
+    private MeterRegistry meterRegistry;
+
+    private TaskMetersService taskMetersService;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+
+        taskMetersService = new TaskMetersService(meterRegistry);
+    }
+
+    @Test
+    void testDecoratedTasksAreTimedByName() {
+        TaskDecorator decorator = taskMetersService.timingTaskDecorator("taskExecutor");
+
+        decorator.decorate(() -> TaskMetersService.nameRunningTask("MailService.sendEmail")).run();
+        decorator.decorate(() -> {}).run();
+
+        assertThat(
+            meterRegistry.get("executor.task.execution").tag("name", "taskExecutor").tag("task", "MailService.sendEmail").timer().count()
+        ).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.task.queue-wait").tag("task", "MailService.sendEmail").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("executor.task.execution").tag("task", TaskMetersService.UNNAMED_TASK).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testNamingOutsideDecoratedTaskIsIgnored() {
+        TaskMetersService.nameRunningTask("MailService.sendEmail");
+
+        assertThat(meterRegistry.find("executor.task.execution").timers()).isEmpty();
+    }
+
+    @Test
+    void testRejectionsAreCounted() {
+        RejectedExecutionHandler handler = taskMetersService.countingRejectedExecutionHandler(
+            "taskExecutor",
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+
+        assertThat(meterRegistry.get("executor.rejections").tag("name", "taskExecutor").counter().count()).isZero();
+
+        assertThatThrownBy(() -> handler.rejectedExecution(() -> {}, executor)).isInstanceOf(RejectedExecutionException.class);
+
+        assertThat(meterRegistry.get("executor.rejections").tag("name", "taskExecutor").counter().count()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    @Test
+    void testScheduledRunsAreTracked() throws NoSuchMethodException {
+        Method method = TaskMetersServiceTests.class.getDeclaredMethod("testScheduledRunsAreTracked");
+        Instant nextScheduledRun = Instant.parse("2026-10-19T01:00:00Z");
+
+        taskMetersService.trackScheduledRun(method, nextScheduledRun.minusSeconds(10), nextScheduledRun);
+
+        assertThat(meterRegistry.get("tasks.scheduled.last-run").tag("code.function", method.getName()).timeGauge().value(TimeUnit.SECONDS))
+            .isEqualTo(nextScheduledRun.minusSeconds(10).getEpochSecond());
+        assertThat(meterRegistry.get("tasks.scheduled.overruns").counter().count()).isZero();
+
+        taskMetersService.trackScheduledRun(method, nextScheduledRun.plusSeconds(10), nextScheduledRun);
+
+        assertThat(meterRegistry.get("tasks.scheduled.overruns").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,170 @@
+package com.crud.repository;
+
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.hibernate.FlushMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.Transaction;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.testcontainers.containers.MySQLContainer;
+
+/**
+ * Time to load all the employees and commit, with managed entities or with the read-only session and query of the GET
+ * handlers (see {@link EmployeeRepository#findAllReadOnly()}), and time of the commit alone. Hibernate keeps a snapshot
+ * of each managed entity, and compares it to the entity on commit.
+ * <p>
+ * Runs against a MySQL container, so Docker is required. Run with
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=EmployeeRepositoryBenchmark}, and add {@code -prof gc}
+ * to the arguments of the {@code benchmark} profile for the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeRepositoryBenchmark {
+
+    private static final String QUERY = "select employee from Employee employee";
+
+    @Param({ "10000", "100000" })
+    private int employees;
+
+    private MySQLContainer<?> mysqlContainer;
+
+    private SessionFactory sessionFactory;
+
+    @Setup
+    public void setup() {
+        mysqlContainer = new MySQLContainer<>("mysql:9.0.1").withDatabaseName("crud");
+        mysqlContainer.start();
+        sessionFactory = new Configuration()
+            .addAnnotatedClass(Company.class)
+            .addAnnotatedClass(Employee.class)
+            .setProperty(AvailableSettings.JAKARTA_JDBC_URL, mysqlContainer.getJdbcUrl())
+            .setProperty(AvailableSettings.JAKARTA_JDBC_USER, mysqlContainer.getUsername())
+            .setProperty(AvailableSettings.JAKARTA_JDBC_PASSWORD, mysqlContainer.getPassword())
+            .setProperty(AvailableSettings.HBM2DDL_AUTO, "create")
+            .buildSessionFactory();
+        sessionFactory.inTransaction(session -> {
+            session.createNativeMutationQuery("set session cte_max_recursion_depth = " + employees).executeUpdate();
+            session
+                .createNativeMutationQuery(
+                    "insert into employee (name, age, gender, pancard) " +
+                    "with recursive seq (n) as (select 1 union all select n + 1 from seq where n < " +
+                    employees +
+                    ") select concat('Employee ', n), 20 + n % 40, if(n % 2 = 0, 'F', 'M'), 1000000000 + n from seq"
+                )
+                .executeUpdate();
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        sessionFactory.close();
+        mysqlContainer.stop();
+    }
+
+    @Benchmark
+    public int listAndCommitManaged() {
+        try (Session session = sessionFactory.openSession()) {
+            Transaction transaction = session.beginTransaction();
+            List<Employee> result = session.createSelectionQuery(QUERY, Employee.class).getResultList();
+            transaction.commit();
+            return result.size();
+        }
+    }
+
+    @Benchmark
+    public int listAndCommitReadOnly() {
+        try (Session session = openReadOnlySession(sessionFactory)) {
+            Transaction transaction = session.beginTransaction();
+            List<Employee> result = session.createSelectionQuery(QUERY, Employee.class).setReadOnly(true).getResultList();
+            transaction.commit();
+            return result.size();
+        }
+    }
+
+    @Benchmark
+    public void commitManaged(ManagedTransaction transaction) {
+        transaction.commit();
+    }
+
+    @Benchmark
+    public void commitReadOnly(ReadOnlyTransaction transaction) {
+        transaction.commit();
+    }
+
+    /**
+     * What Spring does for {@code @Transactional(readOnly = true)}.
+     */
+    private static Session openReadOnlySession(SessionFactory sessionFactory) {
+        Session session = sessionFactory.openSession();
+        session.setDefaultReadOnly(true);
+        session.setHibernateFlushMode(FlushMode.MANUAL);
+        return session;
+    }
+
+    /**
+     * A transaction which has loaded all the employees, ready to be committed.
+     */
+    public abstract static class LoadedTransaction {
+
+        private Session session;
+
+        private Transaction transaction;
+
+        abstract boolean isReadOnly();
+
+        @Setup(Level.Invocation)
+        public void load(EmployeeRepositoryBenchmark benchmark) {
+            session = isReadOnly() ? openReadOnlySession(benchmark.sessionFactory) : benchmark.sessionFactory.openSession();
+            transaction = session.beginTransaction();
+            session.createSelectionQuery(QUERY, Employee.class).setReadOnly(isReadOnly()).getResultList();
+        }
+
+        void commit() {
+            transaction.commit();
+        }
+
+        @TearDown(Level.Invocation)
+        public void close() {
+            session.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ManagedTransaction extends LoadedTransaction {
+
+        @Override
+        boolean isReadOnly() {
+            return false;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ReadOnlyTransaction extends LoadedTransaction {
+
+        @Override
+        boolean isReadOnly() {
+            return true;
+        }
+    }
+}
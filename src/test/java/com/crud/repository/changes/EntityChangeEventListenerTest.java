@@ -0,0 +1,107 @@
+package com.crud.repository.changes;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crud.domain.Employee;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.jdbc.Work;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+/**
+ * Unit tests for the {@link EntityChangeEventListener} class.
+ */
+class EntityChangeEventListenerTest {
+
+    private final EntityChangeEventListener listener = new EntityChangeEventListener();
+
+    private EntityPersister persister;
+
+    private Connection connection;
+
+    private PreparedStatement nextSeq;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        persister = mock(EntityPersister.class);
+        doReturn(Employee.class).when(persister).getMappedClass();
+        connection = mock(Connection.class);
+        nextSeq = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(mock(PreparedStatement.class));
+        when(connection.prepareStatement(EntityChangeLog.NEXT_SEQ_SQL)).thenReturn(nextSeq);
+    }
+
+    @Test
+    void testTheChangesOfANestedTransactionAreAppendedWithIt() throws SQLException {
+        EventSource outer = session();
+        EventSource inner = session();
+
+        listener.onPostInsert(new PostInsertEvent(new Employee(), 1L, null, persister, outer));
+        // A transaction started while the outer one is suspended has its own session
+        listener.onPostInsert(new PostInsertEvent(new Employee(), 2L, null, persister, inner));
+        listener.onPostDelete(new PostDeleteEvent(new Employee(), 2L, null, persister, inner));
+
+        beforeCompletion(inner).doBeforeTransactionCompletion(sessionWithConnection());
+        verify(nextSeq).setInt(1, 2);
+        beforeCompletion(outer).doBeforeTransactionCompletion(sessionWithConnection());
+        verify(nextSeq).setInt(1, 1);
+    }
+
+    @Test
+    void testTheNextTransactionOfASessionStartsOver() {
+        EventSource session = session();
+        listener.onPostInsert(new PostInsertEvent(new Employee(), 1L, null, persister, session));
+        ArgumentCaptor<AfterTransactionCompletionProcess> afterCompletion = ArgumentCaptor.forClass(
+            AfterTransactionCompletionProcess.class
+        );
+        verify(session.getActionQueue()).registerProcess(afterCompletion.capture());
+
+        afterCompletion.getValue().doAfterTransactionCompletion(true, mock(SessionImplementor.class));
+        listener.onPostInsert(new PostInsertEvent(new Employee(), 1L, null, persister, session));
+
+        verify(session.getActionQueue(), times(2)).registerProcess(any(BeforeTransactionCompletionProcess.class));
+    }
+
+    private static EventSource session() {
+        EventSource session = mock(EventSource.class);
+        when(session.getActionQueue()).thenReturn(mock(ActionQueue.class));
+        return session;
+    }
+
+    private static BeforeTransactionCompletionProcess beforeCompletion(EventSource session) {
+        ArgumentCaptor<BeforeTransactionCompletionProcess> beforeCompletion = ArgumentCaptor.forClass(
+            BeforeTransactionCompletionProcess.class
+        );
+        verify(session.getActionQueue()).registerProcess(beforeCompletion.capture());
+        return beforeCompletion.getValue();
+    }
+
+    private SessionImplementor sessionWithConnection() {
+        SessionImplementor session = mock(SessionImplementor.class);
+        doAnswer(invocation -> {
+            invocation.<Work>getArgument(0).execute(connection);
+            return null;
+        })
+            .when(session)
+            .doWork(any(Work.class));
+        return session;
+    }
+}
@@ -0,0 +1,110 @@
+package com.crud.repository.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crud.domain.enumeration.ChangeOperation;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+/**
+ * Unit tests for the {@link EntityChangeLog} class.
+ */
+class EntityChangeLogTest {
+
+    private Connection connection;
+
+    private PreparedStatement nextSeq;
+
+    private PreparedStatement insert;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = mock(Connection.class);
+        nextSeq = mock(PreparedStatement.class);
+        insert = mock(PreparedStatement.class);
+        when(connection.prepareStatement(anyString())).thenReturn(insert);
+        when(connection.prepareStatement(EntityChangeLog.NEXT_SEQ_SQL)).thenReturn(nextSeq);
+    }
+
+    @Test
+    void testChangesTakeTheLastSequenceNumbersInOrder() throws SQLException {
+        EntityChangeLog.append(
+            connection,
+            List.of(
+                new EntityChangeLog.Change("employee", "1", ChangeOperation.UPSERT),
+                new EntityChangeLog.Change("employee", "2", ChangeOperation.DELETE)
+            )
+        );
+
+        InOrder inOrder = inOrder(connection, nextSeq, insert);
+        inOrder.verify(nextSeq).setInt(1, 2);
+        inOrder.verify(nextSeq).executeUpdate();
+        inOrder.verify(connection).prepareStatement(EntityChangeLog.insertSql(2));
+        // The first change is two before the last sequence number given, the second one is the last
+        inOrder.verify(insert).setInt(1, 1);
+        inOrder.verify(insert).setString(3, "1");
+        inOrder.verify(insert).setString(4, "UPSERT");
+        inOrder.verify(insert).setInt(6, 0);
+        inOrder.verify(insert).setString(8, "2");
+        inOrder.verify(insert).setString(9, "DELETE");
+        inOrder.verify(insert).executeUpdate();
+    }
+
+    @Test
+    void testLargeAppendsAreSplitInBatches() throws SQLException {
+        List<EntityChangeLog.Change> changes = IntStream.range(0, EntityChangeLog.BATCH_SIZE + 1)
+            .mapToObj(i -> new EntityChangeLog.Change("workers", Integer.toString(i), ChangeOperation.UPSERT))
+            .toList();
+
+        EntityChangeLog.append(connection, changes);
+
+        verify(nextSeq).setInt(1, EntityChangeLog.BATCH_SIZE);
+        verify(nextSeq).setInt(1, 1);
+        verify(connection).prepareStatement(EntityChangeLog.insertSql(EntityChangeLog.BATCH_SIZE));
+        verify(connection).prepareStatement(EntityChangeLog.insertSql(1));
+    }
+
+    @Test
+    void testTheWorkersOfAManagerTakeTheLastSequenceNumbers() throws SQLException {
+        UUID managerId = UUID.randomUUID();
+
+        EntityChangeLog.appendManagerWorkers(connection, managerId, 3);
+
+        InOrder inOrder = inOrder(connection, nextSeq, insert);
+        inOrder.verify(nextSeq).setInt(1, 3);
+        inOrder.verify(nextSeq).executeUpdate();
+        inOrder.verify(connection).prepareStatement(EntityChangeLog.INSERT_MANAGER_WORKERS_SQL);
+        inOrder.verify(insert).setInt(1, 3);
+        inOrder.verify(insert).setString(2, "workers");
+        inOrder.verify(insert).setString(3, "UPSERT");
+        inOrder.verify(insert).setString(5, managerId.toString());
+        inOrder.verify(insert).executeUpdate();
+    }
+
+    @Test
+    void testAManagerWithoutWorkersTakesNoSequenceNumber() throws SQLException {
+        EntityChangeLog.appendManagerWorkers(connection, UUID.randomUUID(), 0);
+
+        verify(connection, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void testInsertSqlHasOneRowPerChange() {
+        assertThat(EntityChangeLog.insertSql(2)).endsWith(
+            "values (last_insert_id() - ?, ?, ?, ?, ?), (last_insert_id() - ?, ?, ?, ?, ?)"
+        );
+    }
+}
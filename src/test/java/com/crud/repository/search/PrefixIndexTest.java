@@ -0,0 +1,76 @@
+package com.crud.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link PrefixIndex} class.
+ */
+class PrefixIndexTest {
+
+    private PrefixIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new PrefixIndex();
+        index.put(1L, "johndoe", "John", "Doe", "john.doe@localhost");
+        index.put(2L, "johnny", "Johnny", "Smith", "johnny@example.com");
+        index.put(3L, "jane", "Jane", "Doe", "jane@localhost");
+    }
+
+    @Test
+    void testSearchByPrefixOfAnyField() {
+        assertThat(index.search("smi", 10)).containsExactly(2L);
+        assertThat(index.search("DOE", 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("john.doe@", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testSearchRanksShorterCompletionsFirst() {
+        assertThat(index.search("john", 10)).containsExactly(1L, 2L);
+        assertThat(index.search("john", 1)).containsExactly(1L);
+    }
+
+    @Test
+    void testSearchRequiresEveryQueryTerm() {
+        assertThat(index.search("j doe", 10)).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("jo doe", 10)).containsExactly(1L);
+        assertThat(index.search("jo unknown", 10)).isEmpty();
+    }
+
+    @Test
+    void testSearchWithBlankQuery() {
+        assertThat(index.search(" .", 10)).isEmpty();
+    }
+
+    @Test
+    void testPutReplacesPreviousVersion() {
+        index.put(2L, "johnny", "Johnny", "Walker", "johnny@example.com");
+
+        assertThat(index.search("smith", 10)).isEmpty();
+        assertThat(index.search("walk", 10)).containsExactly(2L);
+        assertThat(index.size()).isEqualTo(3);
+    }
+
+    @Test
+    void testRemove() {
+        index.remove(1L);
+
+        assertThat(index.search("doe", 10)).containsExactly(3L);
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void testManyUpdatesAreCompacted() {
+        for (int i = 0; i < 5000; i++) {
+            index.put(4L, "user" + i);
+        }
+
+        assertThat(index.search("user", 10)).containsExactly(4L);
+        assertThat(index.search("user4999", 10)).containsExactly(4L);
+        assertThat(index.search("john", 10)).containsExactly(1L, 2L);
+        assertThat(index.size()).isEqualTo(4);
+    }
+}
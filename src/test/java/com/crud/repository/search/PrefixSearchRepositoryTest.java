@@ -0,0 +1,60 @@
+package com.crud.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.domain.User;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the {@link PrefixSearchRepository} class.
+ */
+class PrefixSearchRepositoryTest {
+
+    private final PrefixSearchRepository<User> repository = new PrefixSearchRepository<>(User.class) {
+        @Override
+        protected Long getId(User user) {
+            return user.getId();
+        }
+
+        @Override
+        protected String[] getFields(User user) {
+            return new String[] { user.getLogin() };
+        }
+    };
+
+    @Test
+    void testAChangeCommittedBeforeTheScanIsKept() {
+        repository.reindex(() -> {
+            // Committed after the rebuild started, but before the scan sees it
+            repository.index(user(2L, "jane"));
+            return Stream.<Object[]>of(new Object[] { 1L, "johndoe" });
+        });
+
+        assertThat(repository.search("jane", 10)).containsExactly(2L);
+        assertThat(repository.search("john", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void testAChangeDuringTheScanIsReplayed() {
+        repository.index(user(2L, "jane"));
+
+        repository.reindex(() ->
+            Stream.<Object[]>of(new Object[] { 1L, "johndoe" }, new Object[] { 2L, "jane" }).peek(row -> {
+                if (row[0].equals(2L)) {
+                    repository.delete(2L);
+                }
+            })
+        );
+
+        assertThat(repository.search("jane", 10)).isEmpty();
+        assertThat(repository.count()).isEqualTo(1);
+    }
+
+    private static User user(Long id, String login) {
+        User user = new User();
+        user.setId(id);
+        user.setLogin(login);
+        return user;
+    }
+}
@@ -98,4 +98,24 @@ class SecurityUtilsUnitTest {
         assertThat(SecurityUtils.hasCurrentUserNoneOfAuthorities(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN)).isFalse();
         assertThat(SecurityUtils.hasCurrentUserNoneOfAuthorities(AuthoritiesConstants.ANONYMOUS, AuthoritiesConstants.ADMIN)).isTrue();
     }
+
+    @Test
+    void testGetCurrentUserAuthorities() {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        Collection<GrantedAuthority> authorities = new ArrayList<>();
+        authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.USER));
+        authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ADMIN));
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken("admin", "admin", authorities));
+        SecurityContextHolder.setContext(securityContext);
+
+        assertThat(SecurityUtils.getCurrentUserAuthorities()).containsExactlyInAnyOrder(
+            AuthoritiesConstants.USER,
+            AuthoritiesConstants.ADMIN
+        );
+    }
+
+    @Test
+    void testGetCurrentUserAuthoritiesWithoutAuthentication() {
+        assertThat(SecurityUtils.getCurrentUserAuthorities()).isEmpty();
+    }
 }
@@ -0,0 +1,288 @@
+package com.crud.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.enumeration.ChangeOperation;
+import com.crud.service.dto.EntityChangeDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Unit tests for the {@link EntityChangeStreamService} class.
+ */
+class EntityChangeStreamServiceTest {
+
+    private ChangeFeedService changeFeedService;
+
+    private ApplicationProperties applicationProperties;
+
+    private MeterRegistry meterRegistry;
+
+    private EntityChangeStreamService entityChangeStreamService;
+
+    @BeforeEach
+    void setUp() {
+        changeFeedService = mock(ChangeFeedService.class);
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getChangeStream().setBufferSize(1);
+        meterRegistry = new SimpleMeterRegistry();
+        entityChangeStreamService = new EntityChangeStreamService(changeFeedService, applicationProperties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        entityChangeStreamService.shutdown();
+    }
+
+    @Test
+    void testOnlyTheChangedEntitiesAreStreamed() {
+        assertThat(entityChangeStreamService.isStreamed("employee")).isTrue();
+        assertThat(entityChangeStreamService.isStreamed("user")).isFalse();
+    }
+
+    @Test
+    void testResumingAfterRemovedChangesIsRefused() {
+        when(changeFeedService.getChangesAfter(5L, 0)).thenReturn(Optional.empty());
+
+        assertThat(entityChangeStreamService.subscribe("employee", 5L)).isEmpty();
+        assertThat(subscribers("employee")).isZero();
+    }
+
+    @Test
+    void testTheChangeFeedIsNotReadWithoutSubscribers() {
+        entityChangeStreamService.publishNewChanges();
+
+        verify(changeFeedService, never()).getLastSeq();
+        verify(changeFeedService, never()).getChangesAfter(anyLong(), anyInt());
+    }
+
+    @Test
+    void testThePollerIsNotDelayedByTheOtherScheduledJobs() throws InterruptedException {
+        entityChangeStreamService.shutdown();
+        applicationProperties.getChangeStream().setPollInterval(Duration.ofMillis(10));
+        meterRegistry = new SimpleMeterRegistry();
+        entityChangeStreamService = new EntityChangeStreamService(changeFeedService, applicationProperties, meterRegistry);
+        when(changeFeedService.getChangesAfter(eq("employee"), anyLong(), anyInt())).thenReturn(Optional.of(List.of()));
+        assertThat(entityChangeStreamService.subscribe("employee", null)).isPresent();
+        // The Spring scheduler, with its two threads taken by a slow mail delivery and a long cleanup of the change feed
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+        CountDownLatch slowJobs = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            scheduler.execute(() -> {
+                started.countDown();
+                try {
+                    slowJobs.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        try {
+            assertThat(started.await(10, TimeUnit.SECONDS)).isTrue();
+            entityChangeStreamService.start();
+
+            // Once when subscribing, then at least once per poll
+            verify(changeFeedService, timeout(5000).atLeast(4)).getLastSeq();
+        } finally {
+            slowJobs.countDown();
+            scheduler.shutdown();
+        }
+    }
+
+    @Test
+    void testAStuckClientDoesNotHoldUpTheOthers() throws InterruptedException {
+        entityChangeStreamService.shutdown();
+        applicationProperties.getChangeStream().setSenderThreads(1);
+        applicationProperties.getChangeStream().setWriteTimeout(Duration.ofMillis(100));
+        meterRegistry = new SimpleMeterRegistry();
+        RecordingEmitter stuck = new RecordingEmitter(true);
+        RecordingEmitter reading = new RecordingEmitter(false);
+        Queue<SseEmitter> emitters = new ConcurrentLinkedQueue<>(List.of(stuck, reading));
+        entityChangeStreamService = new EntityChangeStreamService(changeFeedService, applicationProperties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.remove();
+            }
+        };
+        when(changeFeedService.getLastSeq()).thenReturn(0L, 0L, 1L);
+        when(changeFeedService.getChangesAfter(eq("employee"), anyLong(), anyInt())).thenReturn(Optional.of(List.of()));
+        when(changeFeedService.getChangesAfter(0L, 1000)).thenReturn(Optional.of(List.of(change(1, "employee"))));
+        assertThat(entityChangeStreamService.subscribe("employee", null)).isPresent();
+        assertThat(entityChangeStreamService.subscribe("employee", null)).isPresent();
+
+        entityChangeStreamService.publishNewChanges();
+
+        try {
+            assertThat(stuck.writing.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(reading.sent.await(10, TimeUnit.SECONDS)).isTrue();
+            // The write to the stuck client times out, and it is disconnected
+            assertThat(stuck.completed.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(stuck.sent.getCount()).isOne();
+            assertThat(reading.completed.getCount()).isOne();
+            assertThat(subscribers("employee")).isOne();
+        } finally {
+            stuck.release.countDown();
+        }
+    }
+
+    @Test
+    void testWritesWhichNeverReturnHoldABoundedNumberOfThreads() throws InterruptedException {
+        entityChangeStreamService.shutdown();
+        applicationProperties.getChangeStream().setSenderThreads(1);
+        applicationProperties.getChangeStream().setWriteTimeout(Duration.ofMillis(100));
+        applicationProperties.getChangeStream().setWriterThreads(2);
+        meterRegistry = new SimpleMeterRegistry();
+        List<RecordingEmitter> stuck = List.of(
+            new RecordingEmitter(true, false),
+            new RecordingEmitter(true, false),
+            new RecordingEmitter(true, false),
+            new RecordingEmitter(true, false)
+        );
+        Queue<SseEmitter> emitters = new ConcurrentLinkedQueue<>(stuck);
+        entityChangeStreamService = new EntityChangeStreamService(changeFeedService, applicationProperties, meterRegistry) {
+            @Override
+            SseEmitter createEmitter() {
+                return emitters.remove();
+            }
+        };
+        when(changeFeedService.getLastSeq()).thenReturn(0L, 0L, 0L, 0L, 1L);
+        when(changeFeedService.getChangesAfter(eq("employee"), anyLong(), anyInt())).thenReturn(Optional.of(List.of()));
+        when(changeFeedService.getChangesAfter(0L, 1000)).thenReturn(Optional.of(List.of(change(1, "employee"))));
+        for (int i = 0; i < stuck.size(); i++) {
+            assertThat(entityChangeStreamService.subscribe("employee", null)).isPresent();
+        }
+
+        entityChangeStreamService.publishNewChanges();
+
+        try {
+            // The writes which got a thread time out, the others are rejected: all the subscribers are disconnected
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (subscribers("employee") > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(subscribers("employee")).isZero();
+            assertThat(entityChangeStreamService.writerThreads()).isLessThanOrEqualTo(2);
+            // The subscribers whose write was rejected are not stuck, and are completed right away
+            assertThat(stuck.stream().filter(emitter -> emitter.writing.getCount() == 1).toList())
+                .isNotEmpty()
+                .allMatch(emitter -> emitter.completed.getCount() == 0);
+        } finally {
+            stuck.forEach(emitter -> emitter.release.countDown());
+        }
+    }
+
+    @Test
+    void testSlowSubscribersAreDisconnected() throws InterruptedException {
+        CountDownLatch catchingUp = new CountDownLatch(1);
+        CountDownLatch slowClient = new CountDownLatch(1);
+        when(changeFeedService.getLastSeq()).thenReturn(0L, 3L);
+        when(changeFeedService.getChangesAfter(eq("employee"), anyLong(), anyInt())).thenAnswer(invocation -> {
+            catchingUp.countDown();
+            slowClient.await(10, TimeUnit.SECONDS);
+            return Optional.of(List.of());
+        });
+        when(changeFeedService.getChangesAfter(0L, 1000)).thenReturn(
+            Optional.of(List.of(change(1, "employee"), change(2, "company"), change(3, "employee")))
+        );
+        assertThat(entityChangeStreamService.subscribe("employee", null)).isPresent();
+        assertThat(catchingUp.await(10, TimeUnit.SECONDS)).isTrue();
+
+        entityChangeStreamService.publishNewChanges();
+        slowClient.countDown();
+
+        assertThat(meterRegistry.get(EntityChangeStreamService.DROPPED_METER_NAME).tag("entity", "employee").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get(EntityChangeStreamService.DROPPED_METER_NAME).tag("entity", "company").counter().count()).isZero();
+        assertThat(subscribers("employee")).isZero();
+    }
+
+    private static EntityChangeDTO change(long seq, String entityType) {
+        return new EntityChangeDTO(seq, entityType, Long.toString(seq), ChangeOperation.UPSERT, null);
+    }
+
+    /**
+     * Emitter recording the events sent; the events sent to a stuck emitter block until it is released, or the writer
+     * is interrupted if it is interruptible, like the writes to a client which stopped reading.
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        private final boolean stuck;
+
+        private final boolean interruptible;
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final CountDownLatch writing = new CountDownLatch(1);
+
+        private final CountDownLatch sent = new CountDownLatch(1);
+
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        RecordingEmitter(boolean stuck) {
+            this(stuck, true);
+        }
+
+        RecordingEmitter(boolean stuck, boolean interruptible) {
+            this.stuck = stuck;
+            this.interruptible = interruptible;
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) {
+            writing.countDown();
+            if (stuck) {
+                boolean interrupted = false;
+                while (release.getCount() > 0 && !(interrupted && interruptible)) {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                return;
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+        }
+    }
+
+    private double subscribers(String entityType) {
+        return meterRegistry.get(EntityChangeStreamService.SUBSCRIBERS_METER_NAME).tag("entity", entityType).gauge().value();
+    }
+}
@@ -0,0 +1,129 @@
+package com.crud.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.IntegrationTest;
+import com.crud.config.ApplicationProperties;
+import com.crud.domain.MailOutboxMessage;
+import com.crud.domain.enumeration.MailOutboxStatus;
+import com.crud.repository.MailOutboxRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link MailOutboxService}, delivering to an in-process SMTP server.
+ */
+@IntegrationTest
+@TestPropertySource(properties = { "spring.mail.host=127.0.0.1", "spring.mail.port=3025" })
+class MailOutboxServiceIT {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Autowired
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setup() {
+        mailOutboxRepository.deleteAll();
+    }
+
+    @Test
+    void testDeliverPendingMails() throws Exception {
+        double sentBefore = sentCount();
+        mailOutboxService.enqueueAll(
+            IntStream.range(0, 3)
+                .mapToObj(i -> mailOutboxService.newMessage("user" + i + "@example.com", "subject " + i, "content " + i, false, false))
+                .toList()
+        );
+
+        mailOutboxService.deliverPendingMails();
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(3);
+        assertThat(received).extracting(MimeMessage::getSubject).containsExactlyInAnyOrder("subject 0", "subject 1", "subject 2");
+        assertThat(mailOutboxRepository.count()).isZero();
+        assertThat(sentCount()).isEqualTo(sentBefore + 3);
+    }
+
+    @Test
+    void testDeliverPendingMailsInSeveralBatches() {
+        int messageCount = applicationProperties.getMailOutbox().getBatchSize() + 1;
+        mailOutboxService.enqueueAll(
+            IntStream.range(0, messageCount)
+                .mapToObj(i -> mailOutboxService.newMessage("user" + i + "@example.com", "subject", "content", false, true))
+                .toList()
+        );
+
+        mailOutboxService.deliverPendingMails();
+
+        assertThat(greenMail.getReceivedMessages()).hasSize(messageCount);
+        assertThat(mailOutboxRepository.count()).isZero();
+    }
+
+    @Test
+    void testRetryLaterWhenServerIsDown() {
+        greenMail.stop();
+        mailOutboxService.enqueue(mailOutboxService.newMessage("john.doe@example.com", "subject", "content", false, false));
+        Instant beforeDelivery = Instant.now();
+
+        mailOutboxService.deliverPendingMails();
+
+        List<MailOutboxMessage> messages = mailOutboxRepository.findAll();
+        assertThat(messages).singleElement().satisfies(message -> {
+            assertThat(message.getStatus()).isEqualTo(MailOutboxStatus.PENDING);
+            assertThat(message.getAttempts()).isEqualTo(1);
+            assertThat(message.getLastError()).isNotBlank();
+            assertThat(message.getNextAttemptDate()).isAfterOrEqualTo(
+                beforeDelivery.plus(applicationProperties.getMailOutbox().getInitialBackoff())
+            );
+        });
+
+        // Not due yet
+        mailOutboxService.deliverPendingMails();
+        assertThat(mailOutboxRepository.findAll()).singleElement().extracting(MailOutboxMessage::getAttempts).isEqualTo(1);
+    }
+
+    @Test
+    void testGiveUpAfterMaxAttempts() {
+        greenMail.stop();
+        MailOutboxMessage message = mailOutboxService.newMessage("john.doe@example.com", "subject", "content", false, false);
+        message.setAttempts(applicationProperties.getMailOutbox().getMaxAttempts() - 1);
+        mailOutboxService.enqueue(message);
+
+        mailOutboxService.deliverPendingMails();
+
+        assertThat(mailOutboxRepository.findAll()).singleElement().satisfies(failed -> {
+            assertThat(failed.getStatus()).isEqualTo(MailOutboxStatus.FAILED);
+            assertThat(failed.getAttempts()).isEqualTo(applicationProperties.getMailOutbox().getMaxAttempts());
+        });
+        assertThat(meterRegistry.get(MailOutboxService.PENDING_METER_NAME).gauge().value()).isZero();
+    }
+
+    private double sentCount() {
+        return meterRegistry
+            .get(MailOutboxService.DELIVERIES_METER_NAME)
+            .tag(MailOutboxService.DELIVERIES_METER_OUTCOME_DIMENSION, "sent")
+            .counter()
+            .count();
+    }
+}
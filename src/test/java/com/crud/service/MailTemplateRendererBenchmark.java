@@ -0,0 +1,78 @@
+package com.crud.service;
+
+import com.crud.domain.User;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Renders per second of the activation email, processed by Thymeleaf for every email or rendered from the compiled
+ * template of {@link MailTemplateRenderer}.
+ * <p>
+ * Run with {@code ./mvnw -Pbenchmark test-compile exec:exec -Dbenchmark=MailTemplateRendererBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MailTemplateRendererBenchmark {
+
+    private static final String TEMPLATE = "mail/activationEmail";
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    private SpringTemplateEngine templateEngine;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, new ThymeleafProperties());
+        user = new User();
+        user.setLogin("john.doe@example.com");
+        user.setActivationKey("a1b2c3d4e5f6g7h8i9j0");
+    }
+
+    @Benchmark
+    public String thymeleafProcess() {
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        return templateEngine.process(TEMPLATE, context);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return mailTemplateRenderer.render(TEMPLATE, Locale.ENGLISH, user, BASE_URL);
+    }
+}
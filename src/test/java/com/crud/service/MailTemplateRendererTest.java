@@ -0,0 +1,106 @@
+package com.crud.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.domain.User;
+import java.util.Locale;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.autoconfigure.thymeleaf.ThymeleafProperties;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+/**
+ * Unit tests for {@link MailTemplateRenderer}.
+ */
+class MailTemplateRendererTest {
+
+    private static final String BASE_URL = "http://127.0.0.1:8080";
+
+    private SpringTemplateEngine templateEngine;
+
+    private ResourceBundleMessageSource messageSource;
+
+    private MailTemplateRenderer mailTemplateRenderer;
+
+    @BeforeEach
+    void setUp() {
+        ClassLoaderTemplateResolver templateResolver = new ClassLoaderTemplateResolver();
+        templateResolver.setPrefix("templates/");
+        templateResolver.setSuffix(".html");
+        templateResolver.setTemplateMode(TemplateMode.HTML);
+        templateResolver.setCharacterEncoding("UTF-8");
+        messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("i18n/messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(templateResolver);
+        templateEngine.setTemplateEngineMessageSource(messageSource);
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, new ThymeleafProperties());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "mail/activationEmail", "mail/creationEmail", "mail/passwordResetEmail" })
+    void testRenderLikeThymeleaf(String templateName) {
+        User user = newUser("o'hara&sons@example.com");
+
+        String content = mailTemplateRenderer.render(templateName, Locale.ENGLISH, user, BASE_URL);
+
+        assertThat(mailTemplateRenderer.isCompiled(templateName, Locale.ENGLISH)).isTrue();
+        assertThat(content).isEqualTo(process(templateName, user)).contains("o&#39;hara&amp;sons@example.com");
+        User otherUser = newUser("jane");
+        assertThat(mailTemplateRenderer.render(templateName, Locale.ENGLISH, otherUser, BASE_URL)).isEqualTo(
+            process(templateName, otherUser)
+        );
+    }
+
+    @Test
+    void testRenderWithNullVariable() {
+        User user = newUser("john");
+        user.setResetKey(null);
+
+        String content = mailTemplateRenderer.render("mail/passwordResetEmail", Locale.ENGLISH, user, BASE_URL);
+
+        assertThat(content).isEqualTo(process("mail/passwordResetEmail", user));
+    }
+
+    @Test
+    void testRenderWithoutCache() {
+        ThymeleafProperties thymeleafProperties = new ThymeleafProperties();
+        thymeleafProperties.setCache(false);
+        mailTemplateRenderer = new MailTemplateRenderer(templateEngine, messageSource, thymeleafProperties);
+        User user = newUser("john");
+
+        String content = mailTemplateRenderer.render("mail/activationEmail", Locale.ENGLISH, user, BASE_URL);
+
+        assertThat(content).isEqualTo(process("mail/activationEmail", user));
+        assertThat(mailTemplateRenderer.isCompiled("mail/activationEmail", Locale.ENGLISH)).isFalse();
+    }
+
+    @Test
+    void testGetSubject() {
+        assertThat(mailTemplateRenderer.getSubject("email.activation.title", Locale.ENGLISH)).isEqualTo(
+            messageSource.getMessage("email.activation.title", null, Locale.ENGLISH)
+        );
+    }
+
+    private String process(String templateName, User user) {
+        Context context = new Context(Locale.ENGLISH);
+        context.setVariable("user", user);
+        context.setVariable("baseUrl", BASE_URL);
+        return templateEngine.process(templateName, context);
+    }
+
+    private static User newUser(String login) {
+        User user = new User();
+        user.setLogin(login);
+        user.setActivationKey("activation1key");
+        user.setResetKey("reset1key");
+        return user;
+    }
+}
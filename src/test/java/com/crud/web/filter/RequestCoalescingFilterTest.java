@@ -0,0 +1,192 @@
+package com.crud.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Unit tests for the {@link RequestCoalescingFilter} class.
+ */
+class RequestCoalescingFilterTest {
+
+    private static final String PATH = "/api/companies/*";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    private MeterRegistry meterRegistry;
+
+    private RequestCoalescingFilter filter;
+
+    private AtomicInteger executions;
+
+    private CountDownLatch running;
+
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new RequestCoalescingFilter(List.of(PATH), Duration.ofSeconds(10), meterRegistry);
+        executions = new AtomicInteger();
+        running = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testConcurrentIdenticalRequestsShareTheResponse() throws Exception {
+        CompletableFuture<MockHttpServletResponse> first = send("GET", "/api/companies/1", "ROLE_USER", "https://first.example.com");
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<MockHttpServletResponse> second = send("GET", "/api/companies/1", "ROLE_USER", "https://second.example.com");
+        awaitWaitingRequests(1);
+        release.countDown();
+
+        MockHttpServletResponse firstResponse = first.get(10, TimeUnit.SECONDS);
+        MockHttpServletResponse secondResponse = second.get(10, TimeUnit.SECONDS);
+        assertThat(executions).hasValue(1);
+        assertThat(secondResponse.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+        assertThat(secondResponse.getContentType()).isEqualTo(firstResponse.getContentType()).isEqualTo("application/json");
+        assertThat(secondResponse.getContentAsString()).isEqualTo(firstResponse.getContentAsString()).isEqualTo("{\"id\":1}");
+        assertThat(secondResponse.getHeader("X-Total-Count")).isEqualTo("1");
+        assertThat(firstResponse.getHeader("Access-Control-Allow-Origin")).isEqualTo("https://first.example.com");
+        assertThat(secondResponse.getHeader("Access-Control-Allow-Origin")).isEqualTo("https://second.example.com");
+        assertThat(firstResponse.getHeader("Set-Cookie")).isEqualTo("session=1");
+        assertThat(secondResponse.getHeader("Set-Cookie")).isNull();
+        assertThat(count("executed")).isEqualTo(1);
+        assertThat(count("coalesced")).isEqualTo(1);
+    }
+
+    @Test
+    void testARequestWaitingTooLongRunsOnItsOwn() throws Exception {
+        filter = new RequestCoalescingFilter(List.of(PATH), Duration.ofMillis(50), meterRegistry);
+        CompletableFuture<MockHttpServletResponse> first = send("GET", "/api/companies/1", "ROLE_USER", "https://first.example.com");
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<MockHttpServletResponse> second = send("GET", "/api/companies/1", "ROLE_USER", "https://second.example.com");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (executions.get() < 2 && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertThat(executions).hasValue(2);
+        release.countDown();
+
+        assertThat(second.get(10, TimeUnit.SECONDS).getContentAsString()).isEqualTo("{\"id\":1}");
+        first.get(10, TimeUnit.SECONDS);
+        assertThat(count("executed")).isEqualTo(2);
+        // No request was coalesced
+        assertThat(meterRegistry.find(RequestCoalescingFilter.METER_NAME).counters()).hasSize(1);
+    }
+
+    @Test
+    void testRequestsOfCallersWithOtherAuthoritiesAreNotCoalesced() throws Exception {
+        CompletableFuture<MockHttpServletResponse> first = send("GET", "/api/companies/1", "ROLE_ADMIN", "https://first.example.com");
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // Runs while the first request is still running
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password", "ROLE_USER"));
+        filter.doFilter(request("GET", "/api/companies/1"), new MockHttpServletResponse(), countingChain());
+        release.countDown();
+
+        first.get(10, TimeUnit.SECONDS);
+        assertThat(executions).hasValue(2);
+        assertThat(count("executed")).isEqualTo(2);
+    }
+
+    @Test
+    void testOtherRequestsAreNotCoalesced() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/api/companies/1/employees"), response, countingChain());
+        filter.doFilter(request("POST", "/api/companies/1"), response, countingChain());
+
+        assertThat(executions).hasValue(2);
+        assertThat(meterRegistry.find(RequestCoalescingFilter.METER_NAME).counters()).isEmpty();
+    }
+
+    private CompletableFuture<MockHttpServletResponse> send(String method, String uri, String authority, String origin) {
+        return CompletableFuture.supplyAsync(
+            () -> {
+                SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("user", "password", authority));
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                // Set by the CORS filter, before this filter
+                response.setHeader("Access-Control-Allow-Origin", origin);
+                try {
+                    filter.doFilter(request(method, uri), response, blockingChain());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    SecurityContextHolder.clearContext();
+                }
+                return response;
+            },
+            executor
+        );
+    }
+
+    private void awaitWaitingRequests(int waitingRequests) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (filter.waitingRequests() < waitingRequests && System.nanoTime() - deadline < 0) {
+            Thread.sleep(1);
+        }
+        assertThat(filter.waitingRequests()).isEqualTo(waitingRequests);
+    }
+
+    private FilterChain countingChain() {
+        return (request, response) -> executions.incrementAndGet();
+    }
+
+    private FilterChain blockingChain() {
+        return (request, response) -> {
+            executions.incrementAndGet();
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            HttpServletResponse httpResponse = (HttpServletResponse) response;
+            httpResponse.setContentType("application/json");
+            httpResponse.setHeader("X-Total-Count", "1");
+            httpResponse.addHeader("Set-Cookie", "session=1");
+            response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.addHeader("Accept", "application/json");
+        return request;
+    }
+
+    private double count(String outcome) {
+        return meterRegistry
+            .get(RequestCoalescingFilter.METER_NAME)
+            .tag(RequestCoalescingFilter.METER_OUTCOME_DIMENSION, outcome)
+            .counter()
+            .count();
+    }
+}
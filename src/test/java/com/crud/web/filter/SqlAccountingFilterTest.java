@@ -0,0 +1,99 @@
+package com.crud.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.crud.config.ApplicationProperties;
+import com.crud.management.SqlMetersService;
+import com.crud.management.SqlStatementStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Unit tests for the {@link SqlAccountingFilter} class.
+ */
+class SqlAccountingFilterTest {
+
+    private static final String URI = "/api/companies/{id}/employees";
+
+    private MeterRegistry meterRegistry;
+
+    private SqlMetersService sqlMetersService;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sqlMetersService = new SqlMetersService(meterRegistry);
+        request = new MockHttpServletRequest("GET", "/api/companies/1/employees");
+        response = new MockHttpServletResponse();
+    }
+
+    @Test
+    void testStatementsAreRecordedPerEndpoint() throws Exception {
+        new SqlAccountingFilter(sqlMetersService, new ApplicationProperties.SqlAccounting(), false).doFilter(
+            request,
+            response,
+            runningStatements(3)
+        );
+
+        assertThat(
+            meterRegistry.get("http.server.requests.sql.statements").tag("method", "GET").tag("uri", URI).summary().totalAmount()
+        ).isEqualTo(3);
+        assertThat(meterRegistry.get("http.server.requests.sql.rows").tag("uri", URI).summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("http.server.requests.sql.time").tag("uri", URI).timer().count()).isEqualTo(1);
+        assertThat(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER)).isNull();
+        assertThat(SqlStatementStatistics.current()).isNull();
+    }
+
+    @Test
+    void testHeadersAreAddedBeforeTheResponseIsCommitted() throws Exception {
+        new SqlAccountingFilter(sqlMetersService, new ApplicationProperties.SqlAccounting(), true).doFilter(
+            request,
+            response,
+            (servletRequest, servletResponse) -> {
+                runningStatements(2).doFilter(servletRequest, servletResponse);
+                servletResponse.getOutputStream().write("[]".getBytes(StandardCharsets.UTF_8));
+                servletResponse.flushBuffer();
+                runningStatements(1).doFilter(servletRequest, servletResponse);
+            }
+        );
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(SqlAccountingFilter.ROWS_HEADER)).isEqualTo("2");
+        assertThat(meterRegistry.get("http.server.requests.sql.statements").summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void testHeadersAreAddedWhenNothingIsWritten() throws Exception {
+        new SqlAccountingFilter(sqlMetersService, new ApplicationProperties.SqlAccounting(), true).doFilter(
+            request,
+            response,
+            runningStatements(4)
+        );
+
+        assertThat(response.getHeader(SqlAccountingFilter.STATEMENTS_HEADER)).isEqualTo("4");
+        assertThat(response.getHeader(SqlAccountingFilter.TIME_HEADER)).isEqualTo("0");
+    }
+
+    private static FilterChain runningStatements(int statements) {
+        return (servletRequest, servletResponse) -> {
+            servletRequest.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, URI);
+            SqlStatementStatistics statistics = SqlStatementStatistics.current();
+            for (int i = 0; i < statements; i++) {
+                statistics.recordStatement("select * from employee where company_id=?");
+                statistics.recordExecution(1000, 1);
+            }
+        };
+    }
+}
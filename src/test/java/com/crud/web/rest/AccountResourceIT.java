@@ -8,6 +8,7 @@ import com.crud.IntegrationTest;
 import com.crud.config.Constants;
 import com.crud.domain.User;
 import com.crud.repository.AuthorityRepository;
+import com.crud.repository.MailOutboxRepository;
 import com.crud.repository.UserRepository;
 import com.crud.security.AuthoritiesConstants;
 import com.crud.service.UserService;
@@ -27,6 +28,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
@@ -54,9 +56,15 @@ class AccountResourceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restAccountMockMvc;
 
@@ -67,6 +75,12 @@ class AccountResourceIT {
         numberOfUsers = userRepository.count();
     }
 
+    @BeforeEach
+    public void clearUserCache() {
+        // Users are saved through the repository in these tests, which bypasses cache invalidation
+        Objects.requireNonNull(cacheManager.getCache(UserService.USERS_BY_LOGIN_CACHE)).invalidate();
+    }
+
     @AfterEach
     public void cleanupAndCheck() {
         assertThat(userRepository.count()).isEqualTo(numberOfUsers);
@@ -92,7 +106,7 @@ class AccountResourceIT {
     }
 
     @Test
-    @WithMockUser(TEST_USER_LOGIN)
+    @WithMockUser(username = TEST_USER_LOGIN, authorities = AuthoritiesConstants.ADMIN)
     void testGetExistingAccount() throws Exception {
         Set<String> authorities = new HashSet<>();
         authorities.add(AuthoritiesConstants.ADMIN);
@@ -122,6 +136,44 @@ class AccountResourceIT {
         userService.deleteUser(TEST_USER_LOGIN);
     }
 
+    @Test
+    @WithMockUser(username = TEST_USER_LOGIN, authorities = AuthoritiesConstants.USER)
+    void testGetAccountAuthoritiesComeFromAuthentication() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(TEST_USER_LOGIN);
+        user.setEmail("john.doe@jhipster.com");
+        user.setAuthorities(Set.of(AuthoritiesConstants.ADMIN));
+        userService.createUser(user);
+
+        restAccountMockMvc
+            .perform(get("/api/account").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.authorities").value(AuthoritiesConstants.USER));
+
+        userService.deleteUser(TEST_USER_LOGIN);
+    }
+
+    @Test
+    @WithMockUser(TEST_USER_LOGIN)
+    void testGetAccountAfterSaveAccount() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(TEST_USER_LOGIN);
+        user.setFirstName("john");
+        user.setEmail("john.doe@jhipster.com");
+        userService.createUser(user);
+
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("john"));
+
+        user.setFirstName("jane");
+        restAccountMockMvc
+            .perform(post("/api/account").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(user)))
+            .andExpect(status().isOk());
+
+        restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_JSON)).andExpect(jsonPath("$.firstName").value("jane"));
+
+        userService.deleteUser(TEST_USER_LOGIN);
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc.perform(get("/api/account").accept(MediaType.APPLICATION_PROBLEM_JSON)).andExpect(status().isUnauthorized());
@@ -146,6 +198,7 @@ class AccountResourceIT {
             .andExpect(status().isCreated());
 
         assertThat(userRepository.findOneByLogin("test-register-valid")).isPresent();
+        assertThat(mailOutboxRepository.findAll()).anyMatch(message -> message.getRecipient().equals("test-register-valid@example.com"));
 
         userService.deleteUser("test-register-valid");
     }
@@ -0,0 +1,139 @@
+package com.crud.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crud.IntegrationTest;
+import com.crud.domain.Company;
+import com.crud.domain.Employee;
+import com.crud.repository.CompanyRepository;
+import com.crud.repository.EmployeeRepository;
+import com.crud.web.rest.vm.BatchRequestVM;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link BatchResource} REST controller.
+ * <p>
+ * Not transactional, as the entities are loaded by other threads, in their own transactions.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class BatchResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/batch";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private CompanyRepository companyRepository;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private MockMvc restBatchMockMvc;
+
+    private Company insertedCompany;
+
+    private Employee insertedEmployee;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedEmployee != null) {
+            employeeRepository.delete(insertedEmployee);
+            insertedEmployee = null;
+        }
+        if (insertedCompany != null) {
+            companyRepository.delete(insertedCompany);
+            insertedCompany = null;
+        }
+    }
+
+    @Test
+    void runBatch() throws Exception {
+        insertedCompany = companyRepository.saveAndFlush(CompanyResourceIT.createEntity());
+        insertedEmployee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity().pancard(null).company(insertedCompany));
+
+        restBatchMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        om.writeValueAsBytes(
+                            List.of(
+                                subRequest("/api/account"),
+                                subRequest("/api/companies/" + insertedCompany.getId()),
+                                subRequest("/api/employees/" + insertedEmployee.getId()),
+                                subRequest("/api/companies/" + insertedCompany.getId()),
+                                subRequest("/api/companies/" + Long.MAX_VALUE),
+                                subRequest("/api/managers/" + UUID.randomUUID()),
+                                subRequest("/api/workers/invalid")
+                            )
+                        )
+                    )
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$", hasSize(7)))
+            .andExpect(jsonPath("$.[0].status").value(200))
+            .andExpect(jsonPath("$.[0].body.login").value("user"))
+            .andExpect(jsonPath("$.[1].status").value(200))
+            .andExpect(jsonPath("$.[1].body.id").value(insertedCompany.getId().intValue()))
+            .andExpect(jsonPath("$.[1].body.name").value(insertedCompany.getName()))
+            .andExpect(jsonPath("$.[2].status").value(200))
+            .andExpect(jsonPath("$.[2].body.company.id").value(insertedCompany.getId().intValue()))
+            .andExpect(jsonPath("$.[3].body.id").value(insertedCompany.getId().intValue()))
+            .andExpect(jsonPath("$.[4].status").value(404))
+            .andExpect(jsonPath("$.[4].body").doesNotExist())
+            .andExpect(jsonPath("$.[5].status").value(404))
+            .andExpect(jsonPath("$.[6].status").value(400));
+    }
+
+    @Test
+    void runBatchWithUnsupportedRequest() throws Exception {
+        BatchRequestVM write = subRequest("/api/companies/1");
+        write.setMethod("DELETE");
+
+        restBatchMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(List.of(write))))
+            .andExpect(status().isBadRequest());
+        restBatchMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(List.of(subRequest("/api/companies/1/employees"))))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void runBatchWithTooManyRequests() throws Exception {
+        List<BatchRequestVM> requests = new ArrayList<>();
+        for (int i = 0; i < 51; i++) {
+            requests.add(subRequest("/api/companies/" + i));
+        }
+
+        restBatchMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(requests)))
+            .andExpect(status().isBadRequest());
+    }
+
+    private static BatchRequestVM subRequest(String path) {
+        BatchRequestVM request = new BatchRequestVM();
+        request.setPath(path);
+        return request;
+    }
+}
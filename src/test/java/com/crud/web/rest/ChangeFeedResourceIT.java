@@ -0,0 +1,125 @@
+package com.crud.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crud.IntegrationTest;
+import com.crud.domain.Employee;
+import com.crud.repository.EmployeeRepository;
+import com.crud.service.ChangeFeedService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link ChangeFeedResource} REST controller.
+ * <p>
+ * Not transactional, as the changes are only appended when the transactions commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ChangeFeedResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/changes";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private MockMvc restChangeFeedMockMvc;
+
+    private Employee insertedEmployee;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedEmployee != null) {
+            employeeRepository.deleteById(insertedEmployee.getId());
+            insertedEmployee = null;
+        }
+    }
+
+    @Test
+    void getChangesOfCreatedAndDeletedEntity() throws Exception {
+        long since = changeFeedService.getLastSeq();
+
+        String body = restChangeFeedMockMvc
+            .perform(
+                post("/api/employees")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(EmployeeResourceIT.createEntity().pancard(null)))
+            )
+            .andExpect(status().isCreated())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        insertedEmployee = om.readValue(body, Employee.class);
+
+        restChangeFeedMockMvc
+            .perform(get(ENTITY_API_URL + "?since={since}", since))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ChangeFeedResource.HEADER_LAST_SEQ, Long.toString(since + 1)))
+            .andExpect(header().string("Link", containsString("since=" + (since + 1))))
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].seq").value(since + 1))
+            .andExpect(jsonPath("$.[0].entity").value("employee"))
+            .andExpect(jsonPath("$.[0].id").value(insertedEmployee.getId().toString()))
+            .andExpect(jsonPath("$.[0].operation").value("UPSERT"))
+            .andExpect(jsonPath("$.[0].data.name").value(insertedEmployee.getName()));
+
+        restChangeFeedMockMvc.perform(delete("/api/employees/{id}", insertedEmployee.getId())).andExpect(status().isNoContent());
+        Long deletedId = insertedEmployee.getId();
+        insertedEmployee = null;
+
+        restChangeFeedMockMvc
+            .perform(get(ENTITY_API_URL + "?since={since}", since + 1))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(deletedId.toString()))
+            .andExpect(jsonPath("$.[0].operation").value("DELETE"))
+            .andExpect(jsonPath("$.[0].data").doesNotExist());
+        assertThat(changeFeedService.getLastSeq()).isEqualTo(since + 2);
+    }
+
+    @Test
+    void getChangesAfterCompactionReturnsTheLastChangeOfEachEntity() throws Exception {
+        long since = changeFeedService.getLastSeq();
+        insertedEmployee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity().pancard(null));
+        employeeRepository.saveAndFlush(insertedEmployee.name("compacted"));
+
+        changeFeedService.removeExpiredAndSupersededChanges();
+        // Nothing new to compact
+        changeFeedService.removeExpiredAndSupersededChanges();
+
+        restChangeFeedMockMvc
+            .perform(get(ENTITY_API_URL + "?since={since}", since))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].seq").value(since + 2))
+            .andExpect(jsonPath("$.[0].data.name").value("compacted"));
+    }
+
+    @Test
+    void getChangesWithZeroLimitReturnsTheLastSeq() throws Exception {
+        restChangeFeedMockMvc
+            .perform(get(ENTITY_API_URL + "?limit=0&since={since}", changeFeedService.getLastSeq()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(ChangeFeedResource.HEADER_LAST_SEQ, Long.toString(changeFeedService.getLastSeq())))
+            .andExpect(header().doesNotExist("Link"))
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.crud.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crud.IntegrationTest;
+import com.crud.domain.Employee;
+import com.crud.repository.EmployeeRepository;
+import com.crud.service.ChangeFeedService;
+import com.crud.service.EntityChangeStreamService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Integration tests for the {@link ChangeStreamResource} REST controller.
+ * <p>
+ * Not transactional, as the changes are only appended when the transactions commit. The changes are published by
+ * calling the poller, which is not scheduled in tests.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ChangeStreamResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/stream/{entity}";
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Autowired
+    private EntityChangeStreamService entityChangeStreamService;
+
+    @Autowired
+    private MockMvc restChangeStreamMockMvc;
+
+    private Employee insertedEmployee;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedEmployee != null) {
+            employeeRepository.deleteById(insertedEmployee.getId());
+            insertedEmployee = null;
+        }
+    }
+
+    @Test
+    void streamChangesOfEntity() throws Exception {
+        MvcResult result = restChangeStreamMockMvc
+            .perform(get(ENTITY_API_URL, "employee").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        insertedEmployee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity().pancard(null));
+        long seq = changeFeedService.getLastSeq();
+        entityChangeStreamService.publishNewChanges();
+
+        String expectedEvent = "id:" + seq + "\n";
+        for (int i = 0; i < 50 && !result.getResponse().getContentAsString().contains(expectedEvent); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(result.getResponse().getContentAsString())
+            .contains(expectedEvent)
+            .contains("\"entity\":\"employee\"")
+            .contains("\"id\":\"" + insertedEmployee.getId() + "\"");
+    }
+
+    @Test
+    void streamChangesResumesAfterLastEventId() throws Exception {
+        long since = changeFeedService.getLastSeq();
+        insertedEmployee = employeeRepository.saveAndFlush(EmployeeResourceIT.createEntity().pancard(null));
+
+        MvcResult result = restChangeStreamMockMvc
+            .perform(get(ENTITY_API_URL, "employee").header(ChangeStreamResource.HEADER_LAST_EVENT_ID, since))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+
+        String expectedEvent = "id:" + (since + 1) + "\n";
+        for (int i = 0; i < 50 && !result.getResponse().getContentAsString().contains(expectedEvent); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(result.getResponse().getContentAsString()).contains(expectedEvent);
+    }
+
+    @Test
+    void streamChangesOfUnknownEntity() throws Exception {
+        restChangeStreamMockMvc.perform(get(ENTITY_API_URL, "user")).andExpect(status().isNotFound());
+    }
+}
@@ -3,13 +3,16 @@ package com.crud.web.rest;
 import static com.crud.domain.CompanyAsserts.*;
 import static com.crud.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.crud.IntegrationTest;
 import com.crud.domain.Company;
+import com.crud.domain.Employee;
 import com.crud.repository.CompanyRepository;
+import com.crud.repository.EmployeeRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
 import java.util.Random;
@@ -53,6 +56,9 @@ class CompanyResourceIT {
     @Autowired
     private CompanyRepository companyRepository;
 
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -376,6 +382,40 @@ class CompanyResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void getCompanyEmployeesByPage() throws Exception {
+        companyRepository.saveAndFlush(company);
+        Employee first = employeeRepository.saveAndFlush(
+            EmployeeResourceIT.createEntity().pancard(longCount.incrementAndGet()).company(company)
+        );
+        Employee second = employeeRepository.saveAndFlush(
+            EmployeeResourceIT.createEntity().pancard(longCount.incrementAndGet()).company(company)
+        );
+        em.clear();
+
+        restCompanyMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/employees?size=1", company.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string("Link", containsString("afterId=" + first.getId())))
+            .andExpect(jsonPath("$.[*].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[0].company.id").value(company.getId().intValue()))
+            .andExpect(jsonPath("$.[0].company.name").doesNotExist());
+
+        restCompanyMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/employees?size=1&include=company&afterId=" + first.getId(), company.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[0].company.name").value(DEFAULT_NAME));
+    }
+
+    @Test
+    @Transactional
+    void getNonExistingCompanyEmployees() throws Exception {
+        restCompanyMockMvc.perform(get(ENTITY_API_URL_ID + "/employees", Long.MAX_VALUE)).andExpect(status().isNotFound());
+    }
+
     protected long getRepositoryCount() {
         return companyRepository.count();
     }
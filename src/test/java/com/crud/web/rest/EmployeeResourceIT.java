@@ -12,6 +12,7 @@ import com.crud.domain.Employee;
 import com.crud.repository.EmployeeRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -138,6 +139,25 @@ class EmployeeResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeCreate);
     }
 
+    @Test
+    @Transactional
+    void createEmployeeWithExistingPancard() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee.pancard(longCount.incrementAndGet()));
+
+        long databaseSizeBeforeCreate = getRepositoryCount();
+
+        // The pancard is unique, so this API call must fail
+        Employee duplicateEmployee = createUpdatedEntity().pancard(employee.getPancard());
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(duplicateEmployee)))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.pancardexists"));
+
+        // Validate the Employee in the database
+        assertSameRepositoryCount(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void checkNameIsRequired() throws Exception {
@@ -224,6 +244,31 @@ class EmployeeResourceIT {
         assertPersistedEmployeeToMatchAllProperties(updatedEmployee);
     }
 
+    @Test
+    @Transactional
+    void putEmployeeWithPancardOfAnotherEmployee() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee.pancard(longCount.incrementAndGet()));
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity().pancard(longCount.incrementAndGet()));
+
+        // Update the employee with the pancard of the other one
+        Employee updatedEmployee = employeeRepository.findById(employee.getId()).orElseThrow();
+        em.detach(updatedEmployee);
+        updatedEmployee.name(UPDATED_NAME).pancard(otherEmployee.getPancard());
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedEmployee.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEmployee))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.pancardexists"));
+
+        // Validate the Employee in the database
+        assertEmployeeUpdatableFieldsEquals(employee, getPersistedEmployee(employee));
+    }
+
     @Test
     @Transactional
     void putNonExistingEmployee() throws Exception {
@@ -303,6 +348,31 @@ class EmployeeResourceIT {
         assertEmployeeUpdatableFieldsEquals(createUpdateProxyForBean(partialUpdatedEmployee, employee), getPersistedEmployee(employee));
     }
 
+    @Test
+    @Transactional
+    void patchEmployeeWithPancardOfAnotherEmployee() throws Exception {
+        // Initialize the database
+        insertedEmployee = employeeRepository.saveAndFlush(employee.pancard(longCount.incrementAndGet()));
+        Employee otherEmployee = employeeRepository.saveAndFlush(createUpdatedEntity().pancard(longCount.incrementAndGet()));
+
+        // Update the employee with the pancard of the other one
+        Employee partialUpdatedEmployee = new Employee();
+        partialUpdatedEmployee.setId(employee.getId());
+        partialUpdatedEmployee.pancard(otherEmployee.getPancard());
+
+        restEmployeeMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedEmployee.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(om.writeValueAsBytes(partialUpdatedEmployee))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.pancardexists"));
+
+        // Validate the Employee in the database
+        assertEmployeeUpdatableFieldsEquals(employee, getPersistedEmployee(employee));
+    }
+
     @Test
     @Transactional
     void fullUpdateEmployeeWithPatch() throws Exception {
@@ -401,6 +471,112 @@ class EmployeeResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void upsertNewEmployeeByPancard() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        employee.setPancard(null);
+        long pancard = longCount.incrementAndGet();
+
+        var returnedEmployee = om.readValue(
+            restEmployeeMockMvc
+                .perform(
+                    put(ENTITY_API_URL + "/by-pancard/{pancard}", pancard)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsBytes(employee))
+                )
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.pancard").value(pancard))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Employee.class
+        );
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertEmployeeUpdatableFieldsEquals(returnedEmployee, getPersistedEmployee(returnedEmployee));
+    }
+
+    @Test
+    @Transactional
+    void upsertExistingEmployeeByPancard() throws Exception {
+        employee.setPancard(longCount.incrementAndGet());
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        em.detach(insertedEmployee);
+
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        Employee updatedEmployee = createUpdatedEntity().pancard(employee.getPancard());
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/by-pancard/{pancard}", employee.getPancard())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedEmployee))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(employee.getId().intValue()));
+
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+        updatedEmployee.setId(employee.getId());
+        em.clear();
+        assertPersistedEmployeeToMatchAllProperties(updatedEmployee);
+    }
+
+    @Test
+    @Transactional
+    void upsertWithPancardMismatchEmployee() throws Exception {
+        long databaseSizeBeforeUpdate = getRepositoryCount();
+
+        restEmployeeMockMvc
+            .perform(
+                put(ENTITY_API_URL + "/by-pancard/{pancard}", longCount.incrementAndGet())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(employee))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeUpdate);
+    }
+
+    @Test
+    @Transactional
+    void upsertEmployees() throws Exception {
+        employee.setPancard(longCount.incrementAndGet());
+        insertedEmployee = employeeRepository.saveAndFlush(employee);
+        em.detach(insertedEmployee);
+
+        long databaseSizeBeforeUpsert = getRepositoryCount();
+
+        List<Employee> employees = List.of(
+            createUpdatedEntity().pancard(employee.getPancard()),
+            createEntity().pancard(longCount.incrementAndGet()),
+            createEntity().pancard(longCount.incrementAndGet())
+        );
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(employees)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.created").value(2))
+            .andExpect(jsonPath("$.updated").value(1));
+
+        assertThat(getRepositoryCount()).isEqualTo(databaseSizeBeforeUpsert + 2);
+        em.clear();
+        assertThat(getPersistedEmployee(employee).getName()).isEqualTo(UPDATED_NAME);
+    }
+
+    @Test
+    @Transactional
+    void upsertEmployeesWithDuplicatePancard() throws Exception {
+        long databaseSizeBeforeUpsert = getRepositoryCount();
+
+        long pancard = longCount.incrementAndGet();
+        List<Employee> employees = List.of(createEntity().pancard(pancard), createUpdatedEntity().pancard(pancard));
+        restEmployeeMockMvc
+            .perform(post(ENTITY_API_URL + "/upsert").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(employees)))
+            .andExpect(status().isBadRequest());
+
+        assertSameRepositoryCount(databaseSizeBeforeUpsert);
+    }
+
     protected long getRepositoryCount() {
         return employeeRepository.count();
     }
@@ -0,0 +1,47 @@
+package com.crud.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Unit tests for the {@link KeysetPaginationUtil} class.
+ */
+class KeysetPaginationUtilTest {
+
+    private static final String URI = "http://localhost/api/companies/1/employees?size=2&afterId=3";
+
+    @Test
+    void testFullPageLinksToTheNextPage() {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(URI),
+            List.of(4L, 7L),
+            2,
+            10,
+            Function.identity()
+        );
+
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("10");
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/companies/1/employees?size=2&afterId=7>; rel=\"next\""
+        );
+    }
+
+    @Test
+    void testShortPageIsTheLast() {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(
+            UriComponentsBuilder.fromUriString(URI),
+            List.of(4L),
+            2,
+            10,
+            Function.identity()
+        );
+
+        assertThat(headers.getFirst("X-Total-Count")).isEqualTo("10");
+        assertThat(headers.containsKey(HttpHeaders.LINK)).isFalse();
+    }
+}
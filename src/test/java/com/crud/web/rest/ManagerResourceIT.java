@@ -3,21 +3,30 @@ package com.crud.web.rest;
 import static com.crud.domain.ManagerAsserts.*;
 import static com.crud.web.rest.TestUtil.createUpdateProxyForBean;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.crud.IntegrationTest;
+import com.crud.domain.EntityChange;
 import com.crud.domain.Manager;
+import com.crud.domain.Workers;
+import com.crud.repository.EntityChangeRepository;
 import com.crud.repository.ManagerRepository;
+import com.crud.repository.WorkersRepository;
+import com.crud.web.rest.vm.WorkersReassignmentVM;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -49,6 +58,12 @@ class ManagerResourceIT {
     @Autowired
     private ManagerRepository managerRepository;
 
+    @Autowired
+    private WorkersRepository workersRepository;
+
+    @Autowired
+    private EntityChangeRepository entityChangeRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -386,6 +401,97 @@ class ManagerResourceIT {
         assertDecrementedRepositoryCount(databaseSizeBeforeDelete);
     }
 
+    @Test
+    @Transactional
+    void reassignListedWorkers() throws Exception {
+        Manager source = managerRepository.saveAndFlush(createEntity());
+        Manager target = managerRepository.saveAndFlush(createEntity());
+        Workers moved = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(source));
+        Workers kept = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(source));
+
+        WorkersReassignmentVM reassignment = new WorkersReassignmentVM();
+        reassignment.setTargetManagerId(target.getId());
+        reassignment.setWorkerIds(List.of(moved.getId()));
+        restManagerMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/workers/reassign", source.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(reassignment))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reassigned").value(1));
+
+        assertThat(workersRepository.findById(moved.getId()).orElseThrow().getManager().getId()).isEqualTo(target.getId());
+        assertThat(workersRepository.findById(kept.getId()).orElseThrow().getManager().getId()).isEqualTo(source.getId());
+    }
+
+    @Test
+    @Transactional
+    void reassignAllWorkers() throws Exception {
+        Manager source = managerRepository.saveAndFlush(createEntity());
+        Manager target = managerRepository.saveAndFlush(createEntity());
+        Workers first = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(source));
+        Workers second = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(source));
+        long lastSeq = entityChangeRepository.findLastSeq();
+
+        WorkersReassignmentVM reassignment = new WorkersReassignmentVM();
+        reassignment.setTargetManagerId(target.getId());
+        reassignment.setAll(true);
+        restManagerMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/workers/reassign", source.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(reassignment))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.reassigned").value(2));
+
+        assertThat(managerRepository.findById(source.getId()).orElseThrow().getIds()).isEmpty();
+        assertThat(managerRepository.findById(target.getId()).orElseThrow().getIds()).hasSize(2);
+        assertThat(entityChangeRepository.findAllByEntityTypeAfter("workers", lastSeq, Limit.of(10)))
+            .extracting(EntityChange::getSeq, EntityChange::getEntityId)
+            .containsExactly(tuple(lastSeq + 1, first.getId().toString()), tuple(lastSeq + 2, second.getId().toString()));
+    }
+
+    @Test
+    @Transactional
+    void reassignWorkersWithoutWorkerIdsNorAll() throws Exception {
+        Manager source = managerRepository.saveAndFlush(createEntity());
+
+        WorkersReassignmentVM reassignment = new WorkersReassignmentVM();
+        reassignment.setTargetManagerId(source.getId());
+        restManagerMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/workers/reassign", source.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(reassignment))
+            )
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getManagerWorkersByPage() throws Exception {
+        Manager manager = managerRepository.saveAndFlush(createEntity());
+        Workers first = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(manager));
+        Workers second = workersRepository.saveAndFlush(WorkersResourceIT.createEntity().manager(manager));
+        em.clear();
+
+        restManagerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/workers?size=1", manager.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "2"))
+            .andExpect(header().string("Link", containsString("afterId=" + first.getId())))
+            .andExpect(jsonPath("$.[*].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[0].manager.gender").doesNotExist());
+
+        restManagerMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/workers?size=1&include=manager&afterId=" + first.getId(), manager.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(second.getId().intValue()))
+            .andExpect(jsonPath("$.[0].manager.gender").value(DEFAULT_GENDER));
+    }
+
     protected long getRepositoryCount() {
         return managerRepository.count();
     }
@@ -9,12 +9,15 @@ import com.crud.domain.User;
 import com.crud.repository.UserRepository;
 import com.crud.security.AuthoritiesConstants;
 import com.crud.service.UserService;
+import com.github.benmanes.caffeine.cache.Cache;
+import java.util.Objects;
 import java.util.Set;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -34,6 +37,9 @@ class PublicUserResourceIT {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -48,6 +54,8 @@ class PublicUserResourceIT {
     @BeforeEach
     public void initTest() {
         user = UserResourceIT.initTestUser();
+        // Users are saved through the repository in these tests, which bypasses cache invalidation
+        Objects.requireNonNull(cacheManager.getCache(UserService.PUBLIC_USERS_CACHE)).invalidate();
     }
 
     @AfterEach
@@ -88,4 +96,24 @@ class PublicUserResourceIT {
             .andExpect(status().isBadRequest());
         restUserMockMvc.perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON)).andExpect(status().isOk());
     }
+
+    @Test
+    void getAllPublicUsersIsServedFromCacheUntilUserChanges() throws Exception {
+        // Initialize the database
+        userRepository.saveAndFlush(user);
+
+        restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)].login", user.getId()).value(user.getLogin()));
+        Cache<?, ?> publicUsersCache = (Cache<?, ?>) cacheManager.getCache(UserService.PUBLIC_USERS_CACHE).getNativeCache();
+        assertThat(publicUsersCache.estimatedSize()).isOne();
+
+        userService.deleteUser(user.getLogin());
+
+        restUserMockMvc
+            .perform(get("/api/users?sort=id,desc").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[?(@.id == %d)]", user.getId()).isEmpty());
+    }
 }
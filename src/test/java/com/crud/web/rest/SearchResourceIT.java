@@ -0,0 +1,102 @@
+package com.crud.web.rest;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.crud.IntegrationTest;
+import com.crud.domain.Employee;
+import com.crud.domain.User;
+import com.crud.repository.EmployeeRepository;
+import com.crud.repository.UserRepository;
+import com.crud.security.AuthoritiesConstants;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+/**
+ * Integration tests for the {@link SearchResource} REST controller.
+ * <p>
+ * The tests are not transactional, as the search indexes are only updated on commit.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SearchResourceIT {
+
+    @Autowired
+    private EmployeeRepository employeeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MockMvc restSearchMockMvc;
+
+    private Employee insertedEmployee;
+
+    private User insertedUser;
+
+    @AfterEach
+    public void cleanup() {
+        if (insertedEmployee != null) {
+            employeeRepository.delete(insertedEmployee);
+            insertedEmployee = null;
+        }
+        if (insertedUser != null) {
+            userRepository.delete(insertedUser);
+            insertedUser = null;
+        }
+    }
+
+    @Test
+    void searchEmployees() throws Exception {
+        String name = "Searchable " + RandomStringUtils.randomAlphabetic(12);
+        insertedEmployee = employeeRepository.saveAndFlush(new Employee().name(name).age(30));
+
+        restSearchMockMvc
+            .perform(get("/api/_search/employees?q={q}", name.substring(0, 15).toLowerCase()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].id").value(insertedEmployee.getId().intValue()))
+            .andExpect(jsonPath("$.[0].name").value(name));
+
+        employeeRepository.delete(insertedEmployee);
+        insertedEmployee = null;
+
+        restSearchMockMvc
+            .perform(get("/api/_search/employees?q={q}", name))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void searchUsers() throws Exception {
+        String lastName = RandomStringUtils.randomAlphabetic(12);
+        User user = new User();
+        user.setLogin(lastName.toLowerCase());
+        user.setPassword(RandomStringUtils.randomAlphanumeric(60));
+        user.setActivated(true);
+        user.setEmail(lastName.toLowerCase() + "@localhost");
+        user.setFirstName("Searchable");
+        user.setLastName(lastName);
+        insertedUser = userRepository.saveAndFlush(user);
+
+        restSearchMockMvc
+            .perform(get("/api/_search/users?q={q}", "search " + lastName.substring(0, 6)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$.[0].login").value(user.getLogin()))
+            .andExpect(jsonPath("$.[0].lastName").value(lastName));
+    }
+
+    @Test
+    @WithMockUser
+    void searchUsersRequiresAdmin() throws Exception {
+        restSearchMockMvc.perform(get("/api/_search/users?q=admin")).andExpect(status().isForbidden());
+    }
+}
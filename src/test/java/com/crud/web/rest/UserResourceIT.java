@@ -6,11 +6,13 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.crud.IntegrationTest;
+import com.crud.config.Constants;
 import com.crud.domain.User;
 import com.crud.repository.UserRepository;
 import com.crud.security.AuthoritiesConstants;
 import com.crud.service.UserService;
 import com.crud.service.dto.AdminUserDTO;
+import com.crud.service.dto.UserImportResultDTO;
 import com.crud.service.mapper.UserMapper;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
@@ -22,9 +24,11 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.cache.CacheManager;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -70,6 +74,9 @@ class UserResourceIT {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Autowired
     private MockMvc restUserMockMvc;
 
@@ -114,6 +121,8 @@ class UserResourceIT {
     @BeforeEach
     public void initTest() {
         user = initTestUser();
+        // Users are saved through the repository in these tests, which bypasses cache invalidation
+        Objects.requireNonNull(cacheManager.getCache(UserService.USERS_BY_LOGIN_CACHE)).invalidate();
     }
 
     @AfterEach
@@ -160,6 +169,74 @@ class UserResourceIT {
         assertThat(convertedUser.getLangKey()).isEqualTo(DEFAULT_LANGKEY);
     }
 
+    @Test
+    void importUsersFromNdjson() throws Exception {
+        String body = String.join(
+            "\n",
+            "{\"login\":\"" + DEFAULT_LOGIN + "\",\"email\":\"" + DEFAULT_EMAIL + "\",\"authorities\":[\"ROLE_USER\"]}",
+            "{\"login\":\"" + DEFAULT_LOGIN + "\",\"email\":\"" + UPDATED_EMAIL + "\"}",
+            "{\"login\":\"anotherlogin\",\"email\":\"not-an-email\"}",
+            "{\"login\":\"anotherlogin\",\"email\":\"anothermail@localhost\",\"langKey\":\"" + UPDATED_LANGKEY + "\"}"
+        );
+
+        List<UserImportResultDTO> results = importUsers(MediaType.APPLICATION_NDJSON, body);
+
+        assertThat(results).extracting(UserImportResultDTO::getRow).containsExactly(1L, 2L, 3L, 4L);
+        assertThat(results)
+            .extracting(UserImportResultDTO::getStatus)
+            .containsExactly(
+                UserImportResultDTO.Status.CREATED,
+                UserImportResultDTO.Status.LOGIN_ALREADY_USED,
+                UserImportResultDTO.Status.INVALID,
+                UserImportResultDTO.Status.CREATED
+            );
+        User imported = userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN).orElseThrow();
+        assertThat(imported.getId()).isEqualTo(results.get(0).getId());
+        assertThat(imported.isActivated()).isTrue();
+        assertThat(imported.getPassword()).hasSize(60);
+        assertThat(imported.getAuthorities()).extracting("name").containsExactly(AuthoritiesConstants.USER);
+        assertThat(userRepository.findOneByLogin("anotherlogin")).hasValueSatisfying(user ->
+            assertThat(user.getLangKey()).isEqualTo(UPDATED_LANGKEY)
+        );
+    }
+
+    @Test
+    void importUsersFromCsv() throws Exception {
+        String body = String.join(
+            "\n",
+            "login,firstName,lastName,email,authorities",
+            DEFAULT_LOGIN + "," + DEFAULT_FIRSTNAME + "," + DEFAULT_LASTNAME + "," + DEFAULT_EMAIL + ",ROLE_USER|ROLE_ADMIN",
+            "anotherlogin,,," + DEFAULT_EMAIL + ","
+        );
+
+        List<UserImportResultDTO> results = importUsers(MediaType.parseMediaType("text/csv"), body);
+
+        assertThat(results)
+            .extracting(UserImportResultDTO::getStatus)
+            .containsExactly(UserImportResultDTO.Status.CREATED, UserImportResultDTO.Status.EMAIL_ALREADY_USED);
+        User imported = userRepository.findOneWithAuthoritiesByLogin(DEFAULT_LOGIN).orElseThrow();
+        assertThat(imported.getFirstName()).isEqualTo(DEFAULT_FIRSTNAME);
+        assertThat(imported.getLangKey()).isEqualTo(Constants.DEFAULT_LANGUAGE);
+        assertThat(imported.getAuthorities())
+            .extracting("name")
+            .containsExactlyInAnyOrder(AuthoritiesConstants.USER, AuthoritiesConstants.ADMIN);
+        assertThat(userRepository.findOneByLogin("anotherlogin")).isEmpty();
+    }
+
+    private List<UserImportResultDTO> importUsers(MediaType contentType, String body) throws Exception {
+        MvcResult result = restUserMockMvc
+            .perform(post("/api/admin/users/import").contentType(contentType).content(body))
+            .andExpect(request().asyncStarted())
+            .andReturn();
+        String content = restUserMockMvc
+            .perform(asyncDispatch(result))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        return om.readerFor(UserImportResultDTO.class).<UserImportResultDTO>readValues(content).readAll();
+    }
+
     @Test
     @Transactional
     void createUserWithExistingId() throws Exception {